@@ -0,0 +1,46 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting byte arrays.
+ */
+public class ByteSortBenchmark extends SortBenchmark {
+
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(8);
+        input = new byte[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (byte) values[i];
+        }
+    }
+
+    @Benchmark
+    public byte[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public byte[] arraysSort(Elements counter) {
+        counter.elements += size;
+        byte[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public byte[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        byte[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
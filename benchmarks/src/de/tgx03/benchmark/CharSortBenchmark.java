@@ -0,0 +1,47 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting char arrays.
+ * The generated signed values are shifted by the smallest short, so they keep their order as chars.
+ */
+public class CharSortBenchmark extends SortBenchmark {
+
+    private char[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(16);
+        input = new char[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (char) (values[i] - Short.MIN_VALUE);
+        }
+    }
+
+    @Benchmark
+    public char[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public char[] arraysSort(Elements counter) {
+        counter.elements += size;
+        char[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public char[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        char[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
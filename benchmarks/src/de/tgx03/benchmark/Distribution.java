@@ -0,0 +1,117 @@
+package de.tgx03.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The key distributions every sort gets benchmarked with.
+ * All values are generated as longs within the range of the benchmarked type,
+ * so narrowing them to that type keeps the shape of the distribution.
+ */
+public enum Distribution {
+
+    /**
+     * Values spread evenly over the whole range of the type
+     */
+    UNIFORM,
+    /**
+     * Uniform values in ascending order
+     */
+    SORTED,
+    /**
+     * Uniform values in descending order
+     */
+    REVERSE,
+    /**
+     * Uniform values drawn from only 16 distinct ones
+     */
+    FEW_UNIQUE,
+    /**
+     * Values between 0 and 1000, so only the lowest bits vary
+     */
+    NARROW,
+    /**
+     * Values following a Zipf distribution with exponent 1 over up to 2^20 distinct values,
+     * so a few values make up most of the input
+     */
+    ZIPF,
+    /**
+     * Values alternating between negative and positive, with magnitudes spread over the whole range
+     */
+    SIGN_MIXED;
+
+    private static final int ZIPF_VALUES = 1 << 20;
+
+    /**
+     * Generates the values of a benchmark
+     *
+     * @param size How many values to generate
+     * @param bits How many bits the benchmarked type has, as the values are signed numbers of that width
+     * @param seed The seed of the random generator, so every run sorts the same values
+     * @return The values
+     */
+    public long[] generate(int size, int bits, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] values = new long[size];
+        switch (this) {
+            case UNIFORM -> fill(values, bits, random);
+            case SORTED -> {
+                fill(values, bits, random);
+                Arrays.sort(values);
+            }
+            case REVERSE -> {
+                fill(values, bits, random);
+                Arrays.sort(values);
+                for (int i = 0, j = size - 1; i < j; i++, j--) {
+                    long swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                }
+            }
+            case FEW_UNIQUE -> {
+                long[] unique = new long[16];
+                fill(unique, bits, random);
+                for (int i = 0; i < size; i++) {
+                    values[i] = unique[random.nextInt(unique.length)];
+                }
+            }
+            case NARROW -> {
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt(bits == 8 ? 128 : 1000);
+                }
+            }
+            case ZIPF -> {
+                int distinct = Math.min(ZIPF_VALUES, Math.max(1, size));
+                long[] unique = new long[distinct];
+                fill(unique, bits, random);
+                double[] cumulative = new double[distinct];
+                double sum = 0;
+                for (int i = 0; i < distinct; i++) {
+                    sum += 1.0 / (i + 1);
+                    cumulative[i] = sum;
+                }
+                for (int i = 0; i < size; i++) {
+                    int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                    values[i] = unique[Math.min(distinct - 1, rank < 0 ? -rank - 1 : rank)];
+                }
+            }
+            case SIGN_MIXED -> {
+                fill(values, bits, random);
+                for (int i = 0; i < size; i++) {
+                    long magnitude = values[i] < 0 ? ~values[i] : values[i];
+                    values[i] = (i & 1) == 0 ? -magnitude : magnitude;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Fills an array with values spread evenly over the signed range of the given number of bits
+     */
+    private static void fill(long[] values, int bits, SplittableRandom random) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >> (64 - bits);
+        }
+    }
+}
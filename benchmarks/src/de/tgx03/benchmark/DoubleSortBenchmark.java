@@ -0,0 +1,46 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting double arrays.
+ */
+public class DoubleSortBenchmark extends SortBenchmark {
+
+    private double[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(64);
+        input = new double[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (double) values[i];
+        }
+    }
+
+    @Benchmark
+    public double[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public double[] arraysSort(Elements counter) {
+        counter.elements += size;
+        double[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        double[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
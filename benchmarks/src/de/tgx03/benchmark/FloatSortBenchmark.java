@@ -0,0 +1,46 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting float arrays.
+ */
+public class FloatSortBenchmark extends SortBenchmark {
+
+    private float[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(32);
+        input = new float[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (float) values[i];
+        }
+    }
+
+    @Benchmark
+    public float[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public float[] arraysSort(Elements counter) {
+        counter.elements += size;
+        float[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public float[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        float[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
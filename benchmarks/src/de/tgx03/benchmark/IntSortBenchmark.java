@@ -0,0 +1,46 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting int arrays.
+ */
+public class IntSortBenchmark extends SortBenchmark {
+
+    private int[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(32);
+        input = new int[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (int) values[i];
+        }
+    }
+
+    @Benchmark
+    public int[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public int[] arraysSort(Elements counter) {
+        counter.elements += size;
+        int[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        int[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
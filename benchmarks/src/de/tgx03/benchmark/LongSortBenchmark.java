@@ -0,0 +1,42 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting long arrays.
+ */
+public class LongSortBenchmark extends SortBenchmark {
+
+    private long[] input;
+
+    @Setup
+    public void setup() {
+        input = values(64);
+    }
+
+    @Benchmark
+    public long[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public long[] arraysSort(Elements counter) {
+        counter.elements += size;
+        long[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public long[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        long[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
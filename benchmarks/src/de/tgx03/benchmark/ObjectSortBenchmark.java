@@ -0,0 +1,56 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Benchmarks sorting objects by a long value, using {@link Radix.ObjectValue} for the radix sort
+ * and the equivalent {@link Comparator} for the others.
+ */
+public class ObjectSortBenchmark extends SortBenchmark {
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingLong(Item::key);
+
+    private Item[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(64);
+        input = new Item[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = new Item(values[i], i);
+        }
+    }
+
+    @Benchmark
+    public Item[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input, Item::key);
+    }
+
+    @Benchmark
+    public Item[] arraysSort(Elements counter) {
+        counter.elements += size;
+        Item[] result = input.clone();
+        Arrays.sort(result, BY_KEY);
+        return result;
+    }
+
+    @Benchmark
+    public Item[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        Item[] result = input.clone();
+        Arrays.parallelSort(result, BY_KEY);
+        return result;
+    }
+
+    /**
+     * An object carrying a key and a payload, like a typical record that gets sorted
+     */
+    public record Item(long key, int payload) {
+    }
+}
@@ -0,0 +1,46 @@
+package de.tgx03.benchmark;
+
+import de.tgx03.Radix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks sorting short arrays.
+ */
+public class ShortSortBenchmark extends SortBenchmark {
+
+    private short[] input;
+
+    @Setup
+    public void setup() {
+        long[] values = values(16);
+        input = new short[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (short) values[i];
+        }
+    }
+
+    @Benchmark
+    public short[] radix(Elements counter) {
+        counter.elements += size;
+        return Radix.sort(input);
+    }
+
+    @Benchmark
+    public short[] arraysSort(Elements counter) {
+        counter.elements += size;
+        short[] result = input.clone();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public short[] arraysParallelSort(Elements counter) {
+        counter.elements += size;
+        short[] result = input.clone();
+        Arrays.parallelSort(result);
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package de.tgx03.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The common setup of all sort benchmarks.
+ * Every benchmark sorts the same generated input once per invocation, comparing {@link de.tgx03.Radix}
+ * with {@link java.util.Arrays#sort} and {@link java.util.Arrays#parallelSort}.
+ * As the radix sorts return a sorted copy, the other sorts clone the input first, so all of them allocate the same result.
+ * Besides the throughput of invocations, the sorted elements are counted,
+ * so the results also show the throughput per element, and running with the GC profiler ({@code -prof gc})
+ * shows the allocated bytes per invocation, which divided by the size gives the allocation per element.
+ * By default only a few sizes and distributions run, which fit into the default heap.
+ * Others can be selected on the command line, for example {@code -p size=100000000 -p distribution=NARROW,SIGN_MIXED},
+ * where the largest sizes need a larger heap given through {@code -jvmArgsAppend -Xmx12g}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class SortBenchmark {
+
+    private static final long SEED = 0x7ADC0FFEEL;
+
+    @Param({"256", "65536", "1000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "FEW_UNIQUE", "ZIPF"})
+    public Distribution distribution;
+
+    /**
+     * Generates the input of the current trial
+     *
+     * @param bits How many bits the benchmarked type has
+     * @return The input as longs
+     */
+    protected long[] values(int bits) {
+        return distribution.generate(size, bits, SEED);
+    }
+
+    /**
+     * Counts how many elements got sorted
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Elements {
+
+        public long elements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            elements = 0;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package de.tgx03;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Least significant digit radix sort for NIO buffers.
+ * The elements between the position and the limit of a buffer are sorted in place,
+ * while the scratch space is allocated as a direct buffer, so sorting doesn't put any load on the heap.
+ * Apart from working on buffers, this does the same as {@link LSDSort}.
+ */
+final class BufferSort {
+
+    private BufferSort() {
+    }
+
+    /**
+     * Sorts the remaining longs of a buffer, treating them as signed numbers
+     *
+     * @param buffer    The buffer to sort
+     * @param scratch   Off-heap scratch space holding at least as many bytes as the remaining longs, or null to allocate it
+     * @param digitBits How many bits are sorted per pass
+     */
+    static void sort(LongBuffer buffer, ByteBuffer scratch, int digitBits) {
+        int from = buffer.position();
+        int length = buffer.remaining();
+        if (length < 2) return;
+        if (length <= SmallSort.THRESHOLD) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            long[] elements = new long[length];
+            buffer.get(from, elements);
+            SmallSort.sort(elements, 0, length);
+            buffer.put(from, elements);
+            probe.finish();
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.BUFFER, length);
+        probe.scratch((long) length * Long.BYTES + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        long or = 0;
+        long and = -1;
+        long min = -1;
+        long max = 0;
+        for (int i = from; i < from + length; i++) {
+            long key = buffer.get(i) ^ Long.MIN_VALUE;
+            or |= key;
+            and &= key;
+            if (Long.compareUnsigned(key, min) < 0) min = key;
+            if (Long.compareUnsigned(key, max) > 0) max = key;
+        }
+        LSDSort.Plan plan = LSDSort.Plan.of(or ^ and, min, max, digitBits);
+        time = probe.histogram(time);
+        long base = plan.base();
+        int[] counts = new int[1 << digitBits];
+        LongBuffer source = buffer;
+        int sourceStart = from;
+        LongBuffer target = scratch(scratch, length, Long.BYTES).asLongBuffer();
+        int targetStart = 0;
+        for (int shift = plan.low(); shift < plan.high(); shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high() - shift)) - 1;
+            if (((plan.varying() >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                counts[(int) (((source.get(i) ^ Long.MIN_VALUE) - base) >>> shift) & mask]++;
+            }
+            time = probe.histogram(time);
+            if (counts[(int) (((source.get(sourceStart) ^ Long.MIN_VALUE) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                long element = source.get(i);
+                target.put(counts[(int) (((element ^ Long.MIN_VALUE) - base) >>> shift) & mask]++, element);
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            LongBuffer swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != buffer) {
+            buffer.put(from, source, sourceStart, length);
+        }
+        probe.scatter(time);
+        probe.digits((64 + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts the remaining ints of a buffer, treating them as signed numbers
+     *
+     * @param buffer    The buffer to sort
+     * @param scratch   Off-heap scratch space holding at least as many bytes as the remaining ints, or null to allocate it
+     * @param digitBits How many bits are sorted per pass
+     */
+    static void sort(IntBuffer buffer, ByteBuffer scratch, int digitBits) {
+        int from = buffer.position();
+        int length = buffer.remaining();
+        if (length < 2) return;
+        if (length <= SmallSort.THRESHOLD) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            int[] elements = new int[length];
+            buffer.get(from, elements);
+            SmallSort.sort(elements, 0, length);
+            buffer.put(from, elements);
+            probe.finish();
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.BUFFER, length);
+        probe.scratch((long) length * Integer.BYTES + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        int or = 0;
+        int and = -1;
+        int min = -1;
+        int max = 0;
+        for (int i = from; i < from + length; i++) {
+            int key = buffer.get(i) ^ Integer.MIN_VALUE;
+            or |= key;
+            and &= key;
+            if (Integer.compareUnsigned(key, min) < 0) min = key;
+            if (Integer.compareUnsigned(key, max) > 0) max = key;
+        }
+        LSDSort.Plan plan = LSDSort.Plan.of((or ^ and) & 0xFFFFFFFFL, min & 0xFFFFFFFFL, max & 0xFFFFFFFFL, digitBits);
+        time = probe.histogram(time);
+        int base = (int) plan.base();
+        int[] counts = new int[1 << digitBits];
+        IntBuffer source = buffer;
+        int sourceStart = from;
+        IntBuffer target = scratch(scratch, length, Integer.BYTES).asIntBuffer();
+        int targetStart = 0;
+        for (int shift = plan.low(); shift < plan.high(); shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high() - shift)) - 1;
+            if (((plan.varying() >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                counts[(((source.get(i) ^ Integer.MIN_VALUE) - base) >>> shift) & mask]++;
+            }
+            time = probe.histogram(time);
+            if (counts[(((source.get(sourceStart) ^ Integer.MIN_VALUE) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                int element = source.get(i);
+                target.put(counts[(((element ^ Integer.MIN_VALUE) - base) >>> shift) & mask]++, element);
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            IntBuffer swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != buffer) {
+            buffer.put(from, source, sourceStart, length);
+        }
+        probe.scatter(time);
+        probe.digits((32 + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts the remaining records of a buffer by a key stored inside every record.
+     * The key is read using the byte order of the buffer and treated as a signed number.
+     * The sort is stable, so records with equal keys keep their order
+     *
+     * @param buffer     The buffer holding the records
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 or 8
+     * @param scratch    Off-heap scratch space holding at least as many bytes as the remaining records, or null to allocate it
+     * @param digitBits  How many bits are sorted per pass
+     */
+    static void sort(ByteBuffer buffer, int recordSize, int keyOffset, int keyLength, ByteBuffer scratch, int digitBits) {
+        checkRecords(buffer.remaining(), recordSize, keyOffset, keyLength);
+        int from = buffer.position();
+        int records = buffer.remaining() / recordSize;
+        if (records < 2) return;
+        Probe probe = Probe.start(SortStatistics.Strategy.BUFFER, records);
+        probe.scratch((long) records * recordSize + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        long or = 0;
+        long and = -1;
+        long min = -1;
+        long max = 0;
+        for (int i = 0; i < records; i++) {
+            long key = key(buffer, from + i * recordSize + keyOffset, keyLength) ^ Long.MIN_VALUE;
+            or |= key;
+            and &= key;
+            if (Long.compareUnsigned(key, min) < 0) min = key;
+            if (Long.compareUnsigned(key, max) > 0) max = key;
+        }
+        LSDSort.Plan plan = LSDSort.Plan.of(or ^ and, min, max, digitBits);
+        time = probe.histogram(time);
+        long base = plan.base();
+        int[] counts = new int[1 << digitBits];
+        ByteBuffer source = buffer;
+        int sourceStart = from;
+        ByteBuffer target = scratch(scratch, records, recordSize).order(buffer.order());
+        int targetStart = 0;
+        for (int shift = plan.low(); shift < plan.high(); shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high() - shift)) - 1;
+            if (((plan.varying() >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            for (int i = 0; i < records; i++) {
+                long key = key(source, sourceStart + i * recordSize + keyOffset, keyLength);
+                counts[(int) (((key ^ Long.MIN_VALUE) - base) >>> shift) & mask]++;
+            }
+            long firstKey = key(source, sourceStart + keyOffset, keyLength);
+            time = probe.histogram(time);
+            if (counts[(int) (((firstKey ^ Long.MIN_VALUE) - base) >>> shift) & mask] == records) continue;
+            int offset = 0;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < records; i++) {
+                int position = sourceStart + i * recordSize;
+                long key = key(source, position + keyOffset, keyLength);
+                int slot = counts[(int) (((key ^ Long.MIN_VALUE) - base) >>> shift) & mask]++;
+                target.put(targetStart + slot * recordSize, source, position, recordSize);
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            ByteBuffer swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != buffer) {
+            buffer.put(from, source, sourceStart, records * recordSize);
+        }
+        probe.scatter(time);
+        probe.digits((keyLength * Byte.SIZE + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts the remaining records of a buffer using the fastest of the sorts above for their layout,
+     * which is the one for longs or ints if a record consists of nothing but its key
+     *
+     * @param buffer     The buffer holding the records
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 or 8
+     * @param scratch    Off-heap scratch space holding at least as many bytes as the remaining records, or null to allocate it
+     */
+    static void sort(ByteBuffer buffer, int recordSize, int keyOffset, int keyLength, ByteBuffer scratch) {
+        if (recordSize == Long.BYTES && keyLength == Long.BYTES) {
+            sort(buffer.asLongBuffer(), scratch, Radix.DigitWidth.BITS_11.bits());
+        } else if (recordSize == Integer.BYTES && keyLength == Integer.BYTES) {
+            sort(buffer.asIntBuffer(), scratch, Radix.DigitWidth.BITS_8.bits());
+        } else {
+            sort(buffer, recordSize, keyOffset, keyLength, scratch, Radix.DigitWidth.BITS_11.bits());
+        }
+    }
+
+    /**
+     * Makes sure a buffer consists of complete records and the key lies within a record
+     *
+     * @param bytes      How many bytes the records span in total
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans
+     */
+    static void checkRecords(long bytes, int recordSize, int keyOffset, int keyLength) {
+        if (keyLength != Integer.BYTES && keyLength != Long.BYTES) {
+            throw new IllegalArgumentException("Keys must span 4 or 8 bytes, but span " + keyLength);
+        }
+        if (keyOffset < 0 || recordSize < keyOffset + keyLength) {
+            throw new IllegalArgumentException("A key at offset " + keyOffset + " doesn't fit into a record of " + recordSize + " bytes");
+        }
+        if (bytes % recordSize != 0) {
+            throw new IllegalArgumentException(bytes + " bytes don't form complete records of " + recordSize + " bytes");
+        }
+    }
+
+    /**
+     * Reads a signed key from a buffer
+     *
+     * @param buffer    The buffer to read from
+     * @param index     Where the key starts
+     * @param keyLength How many bytes the key spans, either 4 or 8
+     * @return The key
+     */
+    static long key(ByteBuffer buffer, int index, int keyLength) {
+        return keyLength == Long.BYTES ? buffer.getLong(index) : buffer.getInt(index);
+    }
+
+    /**
+     * Prepares the scratch space given by the caller or allocates it off-heap if there is none
+     *
+     * @param scratch     The scratch space given by the caller, or null
+     * @param elements    How many elements the scratch space needs to hold
+     * @param elementSize How many bytes a single element spans
+     * @return A buffer spanning the whole scratch space in native byte order
+     */
+    private static ByteBuffer scratch(ByteBuffer scratch, int elements, int elementSize) {
+        long bytes = (long) elements * elementSize;
+        if (scratch == null) {
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Sorting " + elements + " elements needs " + bytes + " bytes of scratch space, which is more than a buffer can hold");
+            }
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        }
+        if (scratch.capacity() < bytes) {
+            throw new IllegalArgumentException("The scratch space holds " + scratch.capacity() + " bytes, but " + bytes + " are required");
+        }
+        return scratch.duplicate().clear().order(ByteOrder.nativeOrder());
+    }
+}
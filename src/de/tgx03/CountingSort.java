@@ -0,0 +1,367 @@
+package de.tgx03;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Counting sort for bytes, shorts and chars, which are narrow enough to have a counter for every possible value.
+ * A single pass counts how often every value occurs, after which the values are written in order straight from the counters,
+ * so apart from the counters nothing gets allocated and the source doesn't even have to be read a second time.
+ * If only the lowest bits of the values are relevant, different values can share a key,
+ * so the values are scattered into the target like a single pass of {@link LSDSort} instead, which keeps them stable.
+ * The parallel version gives every chunk its own counters, adds them up once all chunks are counted
+ * and then lets every worker write an equally long part of the target.
+ */
+final class CountingSort {
+
+    private CountingSort() {
+    }
+
+    /**
+     * Sorts a range of a byte array into a target by the lowest numberLength bits.
+     * If all 8 bits are relevant, the values are ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number and the sort is stable
+     *
+     * @param source       The values to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param target       Where to write the sorted values, which may be the source if all 8 bits are relevant
+     * @param targetFrom   The index of the first sorted value in the target
+     * @param numberLength How many bits are relevant for sorting
+     */
+    static void sort(byte[] source, int from, int to, byte[] target, int targetFrom, int numberLength) {
+        int length = to - from;
+        if (numberLength <= 0) {
+            System.arraycopy(source, from, target, targetFrom, length);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        long time = probe.time();
+        if (numberLength >= Byte.SIZE) {
+            int[] counts = new int[1 << Byte.SIZE];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i] - Byte.MIN_VALUE]++;
+            }
+            time = probe.histogram(time);
+            int position = targetFrom;
+            for (int value = 0; value < counts.length; value++) {
+                int end = position + counts[value];
+                Arrays.fill(target, position, end, (byte) (value + Byte.MIN_VALUE));
+                position = end;
+            }
+        } else {
+            int mask = (1 << numberLength) - 1;
+            int[] counts = new int[mask + 1];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i] & mask]++;
+            }
+            time = probe.histogram(time);
+            offsets(counts, targetFrom);
+            for (int i = from; i < to; i++) {
+                byte element = source[i];
+                target[counts[element & mask]++] = element;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a short array into a target by the lowest numberLength bits.
+     * If all 16 bits are relevant, the values are ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number and the sort is stable
+     *
+     * @param source       The values to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param target       Where to write the sorted values, which may be the source if all 16 bits are relevant
+     * @param targetFrom   The index of the first sorted value in the target
+     * @param numberLength How many bits are relevant for sorting
+     */
+    static void sort(short[] source, int from, int to, short[] target, int targetFrom, int numberLength) {
+        int length = to - from;
+        if (numberLength <= 0) {
+            System.arraycopy(source, from, target, targetFrom, length);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        long time = probe.time();
+        if (numberLength >= Short.SIZE) {
+            int[] counts = new int[1 << Short.SIZE];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i] - Short.MIN_VALUE]++;
+            }
+            time = probe.histogram(time);
+            int position = targetFrom;
+            for (int value = 0; value < counts.length; value++) {
+                int end = position + counts[value];
+                Arrays.fill(target, position, end, (short) (value + Short.MIN_VALUE));
+                position = end;
+            }
+        } else {
+            int mask = (1 << numberLength) - 1;
+            int[] counts = new int[mask + 1];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i] & mask]++;
+            }
+            time = probe.histogram(time);
+            offsets(counts, targetFrom);
+            for (int i = from; i < to; i++) {
+                short element = source[i];
+                target[counts[element & mask]++] = element;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a char array into a target by the lowest numberLength bits,
+     * which are treated as an unsigned number.
+     * Unless all 16 bits are relevant, the sort is stable
+     *
+     * @param source       The values to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param target       Where to write the sorted values, which may be the source if all 16 bits are relevant
+     * @param targetFrom   The index of the first sorted value in the target
+     * @param numberLength How many bits are relevant for sorting
+     */
+    static void sort(char[] source, int from, int to, char[] target, int targetFrom, int numberLength) {
+        int length = to - from;
+        if (numberLength <= 0) {
+            System.arraycopy(source, from, target, targetFrom, length);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        long time = probe.time();
+        if (numberLength >= Character.SIZE) {
+            int[] counts = new int[1 << Character.SIZE];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i]]++;
+            }
+            time = probe.histogram(time);
+            int position = targetFrom;
+            for (int value = 0; value < counts.length; value++) {
+                int end = position + counts[value];
+                Arrays.fill(target, position, end, (char) value);
+                position = end;
+            }
+        } else {
+            int mask = (1 << numberLength) - 1;
+            int[] counts = new int[mask + 1];
+            probe.scratch((long) Integer.BYTES * counts.length);
+            for (int i = from; i < to; i++) {
+                counts[source[i] & mask]++;
+            }
+            time = probe.histogram(time);
+            offsets(counts, targetFrom);
+            for (int i = from; i < to; i++) {
+                char element = source[i];
+                target[counts[element & mask]++] = element;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a byte array into a target using all workers of the given pool,
+     * ordering the values as signed numbers
+     *
+     * @param source     The values to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param target     Where to write the sorted values, which may be the source
+     * @param targetFrom The index of the first sorted value in the target
+     * @param pool       The pool to run the workers on
+     */
+    static void sort(byte[] source, int from, int to, byte[] target, int targetFrom, ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = ParallelLSDSort.chunks(length, pool);
+        if (chunks <= 1) {
+            sort(source, from, to, target, targetFrom, Byte.SIZE);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        probe.threads(Math.min(chunks, pool.getParallelism()));
+        long time = probe.time();
+        int[][] counts = new int[chunks][1 << Byte.SIZE];
+        probe.scratch((long) Integer.BYTES * chunks * counts[0].length);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = from + ParallelLSDSort.start(length, chunk, chunks), end = from + ParallelLSDSort.start(length, chunk + 1, chunks); i < end; i++) {
+                chunkCounts[source[i] - Byte.MIN_VALUE]++;
+            }
+        });
+        int[] starts = starts(counts, targetFrom);
+        time = probe.histogram(time);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int position = targetFrom + ParallelLSDSort.start(length, chunk, chunks);
+            int end = targetFrom + ParallelLSDSort.start(length, chunk + 1, chunks);
+            for (int value = value(starts, position); position < end; value++) {
+                int stop = Math.min(end, starts[value + 1]);
+                Arrays.fill(target, position, stop, (byte) (value + Byte.MIN_VALUE));
+                position = stop;
+            }
+        });
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a short array into a target using all workers of the given pool,
+     * ordering the values as signed numbers
+     *
+     * @param source     The values to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param target     Where to write the sorted values, which may be the source
+     * @param targetFrom The index of the first sorted value in the target
+     * @param pool       The pool to run the workers on
+     */
+    static void sort(short[] source, int from, int to, short[] target, int targetFrom, ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = ParallelLSDSort.chunks(length, pool);
+        if (chunks <= 1) {
+            sort(source, from, to, target, targetFrom, Short.SIZE);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        probe.threads(Math.min(chunks, pool.getParallelism()));
+        long time = probe.time();
+        int[][] counts = new int[chunks][1 << Short.SIZE];
+        probe.scratch((long) Integer.BYTES * chunks * counts[0].length);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = from + ParallelLSDSort.start(length, chunk, chunks), end = from + ParallelLSDSort.start(length, chunk + 1, chunks); i < end; i++) {
+                chunkCounts[source[i] - Short.MIN_VALUE]++;
+            }
+        });
+        int[] starts = starts(counts, targetFrom);
+        time = probe.histogram(time);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int position = targetFrom + ParallelLSDSort.start(length, chunk, chunks);
+            int end = targetFrom + ParallelLSDSort.start(length, chunk + 1, chunks);
+            for (int value = value(starts, position); position < end; value++) {
+                int stop = Math.min(end, starts[value + 1]);
+                Arrays.fill(target, position, stop, (short) (value + Short.MIN_VALUE));
+                position = stop;
+            }
+        });
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a char array into a target using all workers of the given pool,
+     * ordering the values as unsigned numbers
+     *
+     * @param source     The values to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param target     Where to write the sorted values, which may be the source
+     * @param targetFrom The index of the first sorted value in the target
+     * @param pool       The pool to run the workers on
+     */
+    static void sort(char[] source, int from, int to, char[] target, int targetFrom, ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = ParallelLSDSort.chunks(length, pool);
+        if (chunks <= 1) {
+            sort(source, from, to, target, targetFrom, Character.SIZE);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.COUNTING, length);
+        probe.threads(Math.min(chunks, pool.getParallelism()));
+        long time = probe.time();
+        int[][] counts = new int[chunks][1 << Character.SIZE];
+        probe.scratch((long) Integer.BYTES * chunks * counts[0].length);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = from + ParallelLSDSort.start(length, chunk, chunks), end = from + ParallelLSDSort.start(length, chunk + 1, chunks); i < end; i++) {
+                chunkCounts[source[i]]++;
+            }
+        });
+        int[] starts = starts(counts, targetFrom);
+        time = probe.histogram(time);
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int position = targetFrom + ParallelLSDSort.start(length, chunk, chunks);
+            int end = targetFrom + ParallelLSDSort.start(length, chunk + 1, chunks);
+            for (int value = value(starts, position); position < end; value++) {
+                int stop = Math.min(end, starts[value + 1]);
+                Arrays.fill(target, position, stop, (char) value);
+                position = stop;
+            }
+        });
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Turns a histogram into the index of the first element of every bucket
+     *
+     * @param counts     The histogram, which gets overwritten
+     * @param targetFrom Where the first bucket starts
+     */
+    private static void offsets(int[] counts, int targetFrom) {
+        int offset = targetFrom;
+        for (int digit = 0; digit < counts.length; digit++) {
+            int count = counts[digit];
+            counts[digit] = offset;
+            offset += count;
+        }
+    }
+
+    /**
+     * Adds up the histograms of all chunks and determines where every value starts in the target
+     *
+     * @param counts     The histograms of all chunks
+     * @param targetFrom Where the first value starts
+     * @return The start of every value, followed by the end of the last one
+     */
+    private static int[] starts(int[][] counts, int targetFrom) {
+        int values = counts[0].length;
+        int[] starts = new int[values + 1];
+        int offset = targetFrom;
+        for (int value = 0; value < values; value++) {
+            starts[value] = offset;
+            for (int[] chunkCounts : counts) {
+                offset += chunkCounts[value];
+            }
+        }
+        starts[values] = offset;
+        return starts;
+    }
+
+    /**
+     * Finds the value written at a position of the target
+     *
+     * @param starts   Where every value starts in the target
+     * @param position The position within the target
+     * @return The last value starting at or before the position
+     */
+    private static int value(int[] starts, int position) {
+        int low = 0;
+        int high = starts.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,328 @@
+package de.tgx03;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorts files of fixed size records which are too large to be sorted in memory.
+ * The file is read in chunks as large as the memory budget allows, every chunk gets radix sorted off-heap
+ * and is written to a temporary file as a sorted run.
+ * The runs are then merged into the target file using a {@link LoserTree},
+ * with every run getting its own large read buffer, so all reads and writes stay sequential.
+ * If there are more runs than can be merged at once with reasonably large buffers,
+ * groups of runs are merged into longer runs first.
+ * Once only a single run is left during a merge, its remainder is transferred to the target without copying it through memory.
+ * The sort is stable, so records with equal keys keep the order they had in the source file.
+ */
+public final class ExternalSorter {
+
+    /**
+     * The smallest read buffer a run gets during a merge, unless the memory budget is too small for that anyway
+     */
+    private static final int MERGE_BUFFER = 1 << 20;
+    /**
+     * The largest chunk a direct buffer can hold
+     */
+    private static final int MAX_CHUNK = Integer.MAX_VALUE - 8;
+
+    private final long memory;
+    private final Path directory;
+
+    /**
+     * Creates a new sorter
+     *
+     * @param memory    How many bytes of off-heap memory a sort may use for its buffers
+     * @param directory Where to put the temporary files holding the sorted runs, or null for the default temporary directory
+     */
+    public ExternalSorter(long memory, Path directory) {
+        if (memory < 2) throw new IllegalArgumentException("The memory budget must be at least 2 bytes, but was " + memory);
+        this.memory = memory;
+        this.directory = directory;
+    }
+
+    /**
+     * Sorts a file consisting of longs, which are ordered as signed numbers
+     * The source and the target may be the same file
+     *
+     * @param source The file to sort
+     * @param target Where to write the sorted longs to
+     * @param order  The byte order of the longs in the file
+     * @throws IOException If reading, writing or creating the temporary files fails
+     */
+    public void sort(Path source, Path target, ByteOrder order) throws IOException {
+        sort(source, target, Long.BYTES, 0, Long.BYTES, order);
+    }
+
+    /**
+     * Sorts a file consisting of fixed size records by a key stored inside every record,
+     * which gets ordered as a signed number
+     * The sort is stable, so records with equal keys keep their order
+     * The source and the target may be the same file
+     *
+     * @param source     The file to sort
+     * @param target     Where to write the sorted records to
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 for an int or 8 for a long
+     * @param order      The byte order of the keys in the file
+     * @throws IOException If reading, writing or creating the temporary files fails
+     */
+    public void sort(Path source, Path target, int recordSize, int keyOffset, int keyLength, ByteOrder order) throws IOException {
+        int chunk = (int) (Math.min(memory / 2, MAX_CHUNK) / recordSize * recordSize);
+        if (chunk < 2 * recordSize) {
+            throw new IllegalArgumentException("A memory budget of " + memory + " bytes can't hold 4 records of " + recordSize + " bytes");
+        }
+        Run run = new Run(recordSize, keyOffset, keyLength, order);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(chunk).order(order);
+        ByteBuffer scratch = ByteBuffer.allocateDirect(chunk);
+        List<Path> runs = new ArrayList<>();
+        List<Path> merged = new ArrayList<>();
+        Throwable failure = null;
+        try {
+            boolean fits;
+            Probe probe;
+            try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+                long size = input.size();
+                BufferSort.checkRecords(size, recordSize, keyOffset, keyLength);
+                probe = Probe.start(SortStatistics.Strategy.EXTERNAL, size / recordSize);
+                probe.scratch(2L * chunk);
+                fits = size <= chunk;
+                if (fits) {
+                    read(input, buffer);
+                    BufferSort.sort(buffer.flip(), recordSize, keyOffset, keyLength, scratch);
+                } else {
+                    while (read(input, buffer.clear()) > 0) {
+                        BufferSort.sort(buffer.flip(), recordSize, keyOffset, keyLength, scratch);
+                        Path file = temporaryFile();
+                        runs.add(file);
+                        try (FileChannel output = create(file)) {
+                            write(output, buffer);
+                        }
+                    }
+                }
+            }
+            if (fits) {
+                try (FileChannel output = create(target)) {
+                    write(output, buffer);
+                }
+                probe.pass();
+                probe.finish();
+                return;
+            }
+            probe.pass();
+            ByteBuffer[] buffers = {buffer, scratch};
+            int fanIn = Math.max(2, 2 * (chunk / MERGE_BUFFER) - 1);
+            long time = probe.time();
+            while (runs.size() > fanIn) {
+                probe.pass();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(runs.size(), i + fanIn));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path file = temporaryFile();
+                    merged.add(file);
+                    run.merge(group, file, buffers);
+                    for (Path done : group) Files.delete(done);
+                }
+                List<Path> swap = runs;
+                runs = merged;
+                merged = swap;
+                merged.clear();
+            }
+            run.merge(runs, target, buffers);
+            probe.merge(time);
+            probe.pass();
+            probe.finish();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            runs.addAll(merged);
+            delete(runs, failure);
+        }
+    }
+
+    /**
+     * Deletes temporary files, trying all of them even if deleting one fails
+     *
+     * @param files   The files to delete
+     * @param failure Why the sort failed, which exceptions while deleting get added to, or null if it succeeded
+     * @throws IOException If deleting a file fails and the sort succeeded
+     */
+    private static void delete(List<Path> files, Throwable failure) throws IOException {
+        IOException first = null;
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                } else if (first == null) {
+                    first = e;
+                } else {
+                    first.addSuppressed(e);
+                }
+            }
+        }
+        if (first != null) throw first;
+    }
+
+    private Path temporaryFile() throws IOException {
+        return directory == null ? Files.createTempFile("radix", ".run") : Files.createTempFile(directory, "radix", ".run");
+    }
+
+    private static FileChannel create(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Reads from a channel until the buffer is full or the channel has no bytes left
+     *
+     * @param channel The channel to read from
+     * @param buffer  The buffer to read into
+     * @return How many bytes were read
+     * @throws IOException If reading fails
+     */
+    private static int read(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+        return buffer.position() - start;
+    }
+
+    /**
+     * Reads from a given position of a channel until the buffer is full or the channel has no bytes left
+     *
+     * @param channel  The channel to read from
+     * @param buffer   The buffer to read into
+     * @param position Where to start reading within the channel
+     * @return How many bytes were read
+     * @throws IOException If reading fails
+     */
+    private static int read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position() - start);
+            if (read < 0) break;
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer to a channel
+     *
+     * @param channel The channel to write to
+     * @param buffer  The buffer to write
+     * @throws IOException If writing fails
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /**
+     * The layout of the records of one sort, which knows how to merge runs of them
+     */
+    private record Run(int recordSize, int keyOffset, int keyLength, ByteOrder order) {
+
+        /**
+         * Merges sorted runs into a target file
+         * The given memory is split into one read buffer per run and a write buffer for the target
+         *
+         * @param runs   The files holding the runs in the order they were created
+         * @param target The file to write the merged records to
+         * @param memory The off-heap buffers to use
+         * @throws IOException If reading or writing fails
+         */
+        void merge(List<Path> runs, Path target, ByteBuffer[] memory) throws IOException {
+            int count = runs.size();
+            int perBuffer = (count + 1 + memory.length - 1) / memory.length;
+            int sliceSize = memory[0].capacity() / perBuffer / recordSize * recordSize;
+            ByteBuffer[] slices = new ByteBuffer[count + 1];
+            for (int i = 0; i <= count; i++) {
+                slices[i] = memory[i / perBuffer].slice((i % perBuffer) * sliceSize, sliceSize).order(order);
+            }
+            FileChannel[] channels = new FileChannel[count];
+            long[] positions = new long[count];
+            LoserTree tree = new LoserTree(count);
+            int remaining = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    channels[i] = FileChannel.open(runs.get(i), StandardOpenOption.READ);
+                    if (refill(channels[i], slices[i], positions, i)) {
+                        tree.set(i, key(slices[i]));
+                        remaining++;
+                    }
+                }
+                tree.build();
+                ByteBuffer output = slices[count];
+                try (FileChannel channel = create(target)) {
+                    while (!tree.done()) {
+                        int winner = tree.winner();
+                        ByteBuffer input = slices[winner];
+                        if (!output.hasRemaining()) {
+                            write(channel, output.flip());
+                            output.clear();
+                        }
+                        output.put(output.position(), input, input.position(), recordSize);
+                        output.position(output.position() + recordSize);
+                        input.position(input.position() + recordSize);
+                        if (input.hasRemaining() || refill(channels[winner], input, positions, winner)) {
+                            tree.set(winner, key(input));
+                            tree.replay();
+                        } else {
+                            tree.finish(winner);
+                            tree.replay();
+                            if (--remaining == 1) {
+                                int last = tree.winner();
+                                transfer(channels[last], slices[last], positions[last], output, channel);
+                                return;
+                            }
+                        }
+                    }
+                    write(channel, output.flip());
+                }
+            } finally {
+                for (FileChannel channel : channels) {
+                    if (channel != null) channel.close();
+                }
+            }
+        }
+
+        /**
+         * Writes the remaining records of the last unfinished run to the target,
+         * first the buffered ones and then the rest of its file directly from channel to channel
+         */
+        private static void transfer(FileChannel run, ByteBuffer input, long position, ByteBuffer output, FileChannel target) throws IOException {
+            write(target, output.flip());
+            write(target, input);
+            long size = run.size();
+            while (position < size) {
+                position += run.transferTo(position, size - position, target);
+            }
+        }
+
+        /**
+         * Reads the next records of a run into its buffer
+         *
+         * @return Whether any records were read
+         */
+        private static boolean refill(FileChannel channel, ByteBuffer buffer, long[] positions, int run) throws IOException {
+            int read = read(channel, buffer.clear(), positions[run]);
+            positions[run] += read;
+            buffer.flip();
+            return read > 0;
+        }
+
+        private long key(ByteBuffer buffer) {
+            return BufferSort.key(buffer, buffer.position() + keyOffset, keyLength);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.tgx03;
+
+/**
+ * Maps floating point numbers onto integers which sort the same way when compared as signed numbers.
+ * The sign bit is left as it is, while the remaining bits of negative numbers get inverted.
+ * Before the mapping NaN is collapsed into its canonical form,
+ * so the resulting order matches {@link Double#compare(double, double)} and {@link Float#compare(float, float)},
+ * where -0.0 is smaller than 0.0 and NaN is larger than any other value.
+ * As the mapping is its own inverse, it's also used to turn the keys back into numbers
+ */
+final class FloatKeys {
+
+    private FloatKeys() {
+    }
+
+    /**
+     * @param value The float to convert
+     * @return A signed key with the same order as the float
+     */
+    static int toKey(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param key The key created by {@link #toKey(float)}
+     * @return The float represented by the key
+     */
+    static float toFloat(int key) {
+        return Float.intBitsToFloat(key ^ ((key >> 31) & Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param value The double to convert
+     * @return A signed key with the same order as the double
+     */
+    static long toKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * @param key The key created by {@link #toKey(double)}
+     * @return The double represented by the key
+     */
+    static double toDouble(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Converts a range of a float array into keys
+     *
+     * @param source     The floats to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the keys
+     * @param targetFrom The index of the first key in the target
+     */
+    static void toKeys(float[] source, int from, int to, int[] target, int targetFrom) {
+        Kernels.INSTANCE.toKeys(source, from, to, target, targetFrom);
+    }
+
+    /**
+     * Converts a range of keys back into floats
+     *
+     * @param source     The keys to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the floats
+     * @param targetFrom The index of the first float in the target
+     */
+    static void toFloats(int[] source, int from, int to, float[] target, int targetFrom) {
+        Kernels.INSTANCE.toFloats(source, from, to, target, targetFrom);
+    }
+
+    /**
+     * Converts a range of a double array into keys
+     *
+     * @param source     The doubles to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the keys
+     * @param targetFrom The index of the first key in the target
+     */
+    static void toKeys(double[] source, int from, int to, long[] target, int targetFrom) {
+        Kernels.INSTANCE.toKeys(source, from, to, target, targetFrom);
+    }
+
+    /**
+     * Converts a range of keys back into doubles
+     *
+     * @param source     The keys to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the doubles
+     * @param targetFrom The index of the first double in the target
+     */
+    static void toDoubles(long[] source, int from, int to, double[] target, int targetFrom) {
+        Kernels.INSTANCE.toDoubles(source, from, to, target, targetFrom);
+    }
+}
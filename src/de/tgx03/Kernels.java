@@ -0,0 +1,193 @@
+package de.tgx03;
+
+/**
+ * The per-element loops of the least significant digit sorts that don't move elements around,
+ * which are scanning the keys before the first pass, counting the digits of a pass
+ * and turning floating point numbers into keys and back.
+ * This class holds the scalar loops, while VectorKernels replaces them with ones using the Vector API.
+ * As that API is still an incubator module, VectorKernels lives in the separate source root vector,
+ * which gets compiled with --add-modules jdk.incubator.vector, so the rest of the library compiles without it.
+ * It's only used if the class is on the class path, the module got added to the JVM
+ * using --add-modules jdk.incubator.vector and the system property {@value #PROPERTY} isn't false,
+ * otherwise {@link #INSTANCE} is an instance of this class and nothing of the Vector API ever gets loaded.
+ */
+class Kernels {
+
+    /**
+     * The system property that turns the Vector API off when set to false
+     */
+    static final String PROPERTY = "de.tgx03.radix.vector";
+    /**
+     * The kernels all sorts use
+     */
+    static final Kernels INSTANCE = load();
+
+    Kernels() {
+    }
+
+    /**
+     * Uses the vector kernels if possible, which fails with a {@link LinkageError}
+     * as soon as they're initialized without the incubator module being present
+     *
+     * @return The fastest kernels available
+     */
+    private static Kernels load() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) return new Kernels();
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return new Kernels();
+        try {
+            return (Kernels) Class.forName("de.tgx03.VectorKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Kernels();
+        }
+    }
+
+    /**
+     * Scans a range of an int array to determine which bits need to be sorted
+     *
+     * @param array     The array to scan
+     * @param from      The first index to scan (inclusive)
+     * @param to        The last index to scan (exclusive)
+     * @param flip      What the values get xored with to turn them into unsigned keys
+     * @param bits      Which bits of the values are relevant
+     * @param digitBits How many bits are sorted per pass
+     * @return Which bits need to be sorted
+     */
+    LSDSort.Plan plan(int[] array, int from, int to, int flip, int bits, int digitBits) {
+        int or = 0;
+        int and = -1;
+        int min = -1;
+        int max = 0;
+        for (int i = from; i < to; i++) {
+            int key = (array[i] ^ flip) & bits;
+            or |= key;
+            and &= key;
+            if (Integer.compareUnsigned(key, min) < 0) min = key;
+            if (Integer.compareUnsigned(key, max) > 0) max = key;
+        }
+        return LSDSort.Plan.of((or ^ and) & 0xFFFFFFFFL, min & 0xFFFFFFFFL, max & 0xFFFFFFFFL, digitBits);
+    }
+
+    /**
+     * Scans a range of a long array to determine which bits need to be sorted
+     *
+     * @param array     The array to scan
+     * @param from      The first index to scan (inclusive)
+     * @param to        The last index to scan (exclusive)
+     * @param flip      What the values get xored with to turn them into unsigned keys
+     * @param bits      Which bits of the values are relevant
+     * @param digitBits How many bits are sorted per pass
+     * @return Which bits need to be sorted
+     */
+    LSDSort.Plan plan(long[] array, int from, int to, long flip, long bits, int digitBits) {
+        long or = 0;
+        long and = -1;
+        long min = -1;
+        long max = 0;
+        for (int i = from; i < to; i++) {
+            long key = (array[i] ^ flip) & bits;
+            or |= key;
+            and &= key;
+            if (Long.compareUnsigned(key, min) < 0) min = key;
+            if (Long.compareUnsigned(key, max) > 0) max = key;
+        }
+        return LSDSort.Plan.of(or ^ and, min, max, digitBits);
+    }
+
+    /**
+     * Adds the digits of a range of an int array to a histogram
+     *
+     * @param array  The array to count
+     * @param from   The first index to count (inclusive)
+     * @param to     The last index to count (exclusive)
+     * @param flip   What the values get xored with to turn them into unsigned keys
+     * @param bits   Which bits of the values are relevant
+     * @param base   What gets subtracted from every key before extracting the digit
+     * @param shift  The lowest bit of the digit
+     * @param mask   The bits of the digit after shifting
+     * @param counts The histogram, holding at least mask + 1 elements
+     */
+    void count(int[] array, int from, int to, int flip, int bits, int base, int shift, int mask, int[] counts) {
+        for (int i = from; i < to; i++) {
+            counts[((((array[i] ^ flip) & bits) - base) >>> shift) & mask]++;
+        }
+    }
+
+    /**
+     * Adds the digits of a range of a long array to a histogram
+     *
+     * @param array  The array to count
+     * @param from   The first index to count (inclusive)
+     * @param to     The last index to count (exclusive)
+     * @param flip   What the values get xored with to turn them into unsigned keys
+     * @param bits   Which bits of the values are relevant
+     * @param base   What gets subtracted from every key before extracting the digit
+     * @param shift  The lowest bit of the digit
+     * @param mask   The bits of the digit after shifting
+     * @param counts The histogram, holding at least mask + 1 elements
+     */
+    void count(long[] array, int from, int to, long flip, long bits, long base, int shift, int mask, int[] counts) {
+        for (int i = from; i < to; i++) {
+            counts[(int) ((((array[i] ^ flip) & bits) - base) >>> shift) & mask]++;
+        }
+    }
+
+    /**
+     * Converts a range of a float array into keys, see {@link FloatKeys#toKey(float)}
+     *
+     * @param source     The floats to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the keys
+     * @param targetFrom The index of the first key in the target
+     */
+    void toKeys(float[] source, int from, int to, int[] target, int targetFrom) {
+        for (int i = from; i < to; i++) {
+            target[targetFrom++] = FloatKeys.toKey(source[i]);
+        }
+    }
+
+    /**
+     * Converts a range of keys back into floats, see {@link FloatKeys#toFloat(int)}
+     *
+     * @param source     The keys to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the floats
+     * @param targetFrom The index of the first float in the target
+     */
+    void toFloats(int[] source, int from, int to, float[] target, int targetFrom) {
+        for (int i = from; i < to; i++) {
+            target[targetFrom++] = FloatKeys.toFloat(source[i]);
+        }
+    }
+
+    /**
+     * Converts a range of a double array into keys, see {@link FloatKeys#toKey(double)}
+     *
+     * @param source     The doubles to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the keys
+     * @param targetFrom The index of the first key in the target
+     */
+    void toKeys(double[] source, int from, int to, long[] target, int targetFrom) {
+        for (int i = from; i < to; i++) {
+            target[targetFrom++] = FloatKeys.toKey(source[i]);
+        }
+    }
+
+    /**
+     * Converts a range of keys back into doubles, see {@link FloatKeys#toDouble(long)}
+     *
+     * @param source     The keys to convert
+     * @param from       The first index to convert (inclusive)
+     * @param to         The last index to convert (exclusive)
+     * @param target     Where to store the doubles
+     * @param targetFrom The index of the first double in the target
+     */
+    void toDoubles(long[] source, int from, int to, double[] target, int targetFrom) {
+        for (int i = from; i < to; i++) {
+            target[targetFrom++] = FloatKeys.toDouble(source[i]);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package de.tgx03;
+
+import java.util.Arrays;
+
+/**
+ * Counting based least significant digit radix sort.
+ * Every pass builds a histogram of the current digit, turns it into bucket offsets
+ * and scatters the elements into a scratch array, which then becomes the source of the next pass.
+ * Before the first pass all keys get scanned once to find out which bits actually vary,
+ * so passes over digits that are equal for all elements can be skipped.
+ */
+final class LSDSort {
+
+    private LSDSort() {
+    }
+
+    /**
+     * Sorts a range of an int array by the lowest numberLength bits.
+     * If all 32 bits are relevant, the values are ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(int[] array, int from, int to, int[] buffer, int numberLength, int digitBits) {
+        sort(array, from, to, buffer, 0, new int[1 << digitBits], numberLength, true, digitBits);
+    }
+
+    /**
+     * Sorts a range of an int array by the lowest numberLength bits.
+     * If all 32 bits are relevant and the values are signed, they're ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom   The first index of the scratch range, which holds to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(int[] array, int from, int to, int[] buffer, int bufferFrom, int[] counts, int numberLength, boolean signed, int digitBits) {
+        sort(array, from, to, buffer, bufferFrom, counts, numberLength, signed, digitBits, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of an int array by the lowest numberLength bits.
+     * If all 32 bits are relevant and the values are signed, they're ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     * Ranges of up to threshold elements are sorted without counting digits
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom   The first index of the scratch range, which holds to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     */
+    static void sort(int[] array, int from, int to, int[] buffer, int bufferFrom, int[] counts, int numberLength, boolean signed, int digitBits, int threshold) {
+        int length = to - from;
+        if (length < 2 || numberLength <= 0) return;
+        if (numberLength > 32) numberLength = 32;
+        int flip = signed && numberLength == 32 ? Integer.MIN_VALUE : 0;
+        int bits = numberLength == 32 ? -1 : (1 << numberLength) - 1;
+        if (length <= threshold) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            SmallSort.sort(array, from, to, flip, bits);
+            probe.finish();
+            return;
+        }
+        if (Runs.sort(array, from, to, buffer, bufferFrom, flip, bits)) return;
+        Probe probe = Probe.start(SortStatistics.Strategy.LSD, length);
+        probe.scratch((long) length * Integer.BYTES + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        Plan plan = Kernels.INSTANCE.plan(array, from, to, flip, bits, digitBits);
+        time = probe.histogram(time);
+        int base = (int) plan.base;
+        int[] source = array;
+        int sourceStart = from;
+        int[] target = buffer;
+        int targetStart = bufferFrom;
+        for (int shift = plan.low; shift < plan.high; shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high - shift)) - 1;
+            if (((plan.varying >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            Kernels.INSTANCE.count(source, sourceStart, sourceEnd, flip, bits, base, shift, mask, counts);
+            time = probe.histogram(time);
+            if (counts[((((source[sourceStart] ^ flip) & bits) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                int element = source[i];
+                target[counts[((((element ^ flip) & bits) - base) >>> shift) & mask]++] = element;
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            int[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != array || sourceStart != from) {
+            System.arraycopy(source, sourceStart, array, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits.
+     * If all 64 bits are relevant, the values are ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(long[] array, int from, int to, long[] buffer, int numberLength, int digitBits) {
+        sort(array, from, to, buffer, 0, new int[1 << digitBits], numberLength, true, digitBits);
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits.
+     * If all 64 bits are relevant and the values are signed, they're ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom   The first index of the scratch range, which holds to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(long[] array, int from, int to, long[] buffer, int bufferFrom, int[] counts, int numberLength, boolean signed, int digitBits) {
+        sort(array, from, to, buffer, bufferFrom, counts, numberLength, signed, digitBits, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits.
+     * If all 64 bits are relevant and the values are signed, they're ordered as signed numbers,
+     * otherwise the relevant bits are treated as an unsigned number
+     * Ranges of up to threshold elements are sorted without counting digits
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom   The first index of the scratch range, which holds to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     */
+    static void sort(long[] array, int from, int to, long[] buffer, int bufferFrom, int[] counts, int numberLength, boolean signed, int digitBits, int threshold) {
+        int length = to - from;
+        if (length < 2 || numberLength <= 0) return;
+        if (numberLength > 64) numberLength = 64;
+        long flip = signed && numberLength == 64 ? Long.MIN_VALUE : 0;
+        long bits = numberLength == 64 ? -1 : (1L << numberLength) - 1;
+        if (length <= threshold) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            SmallSort.sort(array, from, to, flip, bits);
+            probe.finish();
+            return;
+        }
+        if (Runs.sort(array, from, to, buffer, bufferFrom, flip, bits)) return;
+        Probe probe = Probe.start(SortStatistics.Strategy.LSD, length);
+        probe.scratch((long) length * Long.BYTES + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        Plan plan = Kernels.INSTANCE.plan(array, from, to, flip, bits, digitBits);
+        time = probe.histogram(time);
+        long base = plan.base;
+        long[] source = array;
+        int sourceStart = from;
+        long[] target = buffer;
+        int targetStart = bufferFrom;
+        for (int shift = plan.low; shift < plan.high; shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high - shift)) - 1;
+            if (((plan.varying >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            Kernels.INSTANCE.count(source, sourceStart, sourceEnd, flip, bits, base, shift, mask, counts);
+            time = probe.histogram(time);
+            if (counts[(int) ((((source[sourceStart] ^ flip) & bits) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                long element = source[i];
+                target[counts[(int) ((((element ^ flip) & bits) - base) >>> shift) & mask]++] = element;
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            long[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != array || sourceStart != from) {
+            System.arraycopy(source, sourceStart, array, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits and applies the same permutation to an int array.
+     * See {@link #sort(long[], int, int, long[], int, int)} for how the keys are ordered.
+     * The sort is stable, so values with equal keys keep their relative order
+     *
+     * @param keys         The keys to sort by
+     * @param values       The values to move along with their keys
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param keyBuffer    A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(long[] keys, int[] values, int from, int to, long[] keyBuffer, int[] valueBuffer, int numberLength, int digitBits) {
+        sort(keys, values, from, to, keyBuffer, valueBuffer, new int[1 << digitBits], numberLength, true, digitBits);
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits and applies the same permutation to an int array.
+     * See {@link #sort(long[], int, int, long[], int, int[], int, boolean, int)} for how the keys are ordered.
+     * The sort is stable, so values with equal keys keep their relative order
+     *
+     * @param keys         The keys to sort by
+     * @param values       The values to move along with their keys
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param keyBuffer    A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the keys are signed
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(long[] keys, int[] values, int from, int to, long[] keyBuffer, int[] valueBuffer, int[] counts, int numberLength, boolean signed, int digitBits) {
+        sort(keys, values, from, to, keyBuffer, valueBuffer, counts, numberLength, signed, digitBits, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits and applies the same permutation to an int array.
+     * See {@link #sort(long[], int, int, long[], int, int[], int, boolean, int)} for how the keys are ordered.
+     * The sort is stable, so values with equal keys keep their relative order
+     * Ranges of up to threshold elements are sorted without counting digits
+     *
+     * @param keys         The keys to sort by
+     * @param values       The values to move along with their keys
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param keyBuffer    A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the keys are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     */
+    static void sort(long[] keys, int[] values, int from, int to, long[] keyBuffer, int[] valueBuffer, int[] counts, int numberLength, boolean signed, int digitBits, int threshold) {
+        int length = to - from;
+        if (length < 2 || numberLength <= 0) return;
+        if (numberLength > 64) numberLength = 64;
+        long flip = signed && numberLength == 64 ? Long.MIN_VALUE : 0;
+        long bits = numberLength == 64 ? -1 : (1L << numberLength) - 1;
+        if (length <= threshold) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            SmallSort.sort(keys, values, from, to, flip, bits);
+            probe.finish();
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.LSD, length);
+        probe.scratch((long) length * (Long.BYTES + Integer.BYTES) + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        Plan plan = Kernels.INSTANCE.plan(keys, from, to, flip, bits, digitBits);
+        time = probe.histogram(time);
+        long base = plan.base;
+        long[] sourceKeys = keys;
+        int[] sourceValues = values;
+        int sourceStart = from;
+        long[] targetKeys = keyBuffer;
+        int[] targetValues = valueBuffer;
+        int targetStart = 0;
+        for (int shift = plan.low; shift < plan.high; shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high - shift)) - 1;
+            if (((plan.varying >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            Kernels.INSTANCE.count(sourceKeys, sourceStart, sourceEnd, flip, bits, base, shift, mask, counts);
+            time = probe.histogram(time);
+            if (counts[(int) ((((sourceKeys[sourceStart] ^ flip) & bits) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                long key = sourceKeys[i];
+                int position = counts[(int) ((((key ^ flip) & bits) - base) >>> shift) & mask]++;
+                targetKeys[position] = key;
+                targetValues[position] = sourceValues[i];
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, sourceStart, keys, from, length);
+            System.arraycopy(sourceValues, sourceStart, values, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a long array by the lowest numberLength bits and applies the same permutation to a long array.
+     * See {@link #sort(long[], int, int, long[], int, int[], int, boolean, int)} for how the keys are ordered.
+     * The sort is stable, so values with equal keys keep their relative order
+     *
+     * @param keys         The keys to sort by
+     * @param values       The values to move along with their keys
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param keyBuffer    A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements
+     * @param counts       A scratch array for the histogram holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the keys are signed
+     * @param digitBits    How many bits are sorted per pass
+     */
+    static void sort(long[] keys, long[] values, int from, int to, long[] keyBuffer, long[] valueBuffer, int[] counts, int numberLength, boolean signed, int digitBits) {
+        int length = to - from;
+        if (length < 2 || numberLength <= 0) return;
+        if (numberLength > 64) numberLength = 64;
+        long flip = signed && numberLength == 64 ? Long.MIN_VALUE : 0;
+        long bits = numberLength == 64 ? -1 : (1L << numberLength) - 1;
+        if (length <= SmallSort.THRESHOLD) {
+            Probe probe = Probe.start(SortStatistics.Strategy.SMALL, length);
+            SmallSort.sort(keys, values, from, to, flip, bits);
+            probe.finish();
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.LSD, length);
+        probe.scratch((long) length * 2 * Long.BYTES + ((long) Integer.BYTES << digitBits));
+        long time = probe.time();
+        Plan plan = Kernels.INSTANCE.plan(keys, from, to, flip, bits, digitBits);
+        time = probe.histogram(time);
+        long base = plan.base;
+        long[] sourceKeys = keys;
+        long[] sourceValues = values;
+        int sourceStart = from;
+        long[] targetKeys = keyBuffer;
+        long[] targetValues = valueBuffer;
+        int targetStart = 0;
+        for (int shift = plan.low; shift < plan.high; shift += digitBits) {
+            int mask = (1 << Math.min(digitBits, plan.high - shift)) - 1;
+            if (((plan.varying >>> shift) & mask) == 0) continue;
+            Arrays.fill(counts, 0, mask + 1, 0);
+            int sourceEnd = sourceStart + length;
+            Kernels.INSTANCE.count(sourceKeys, sourceStart, sourceEnd, flip, bits, base, shift, mask, counts);
+            time = probe.histogram(time);
+            if (counts[(int) ((((sourceKeys[sourceStart] ^ flip) & bits) - base) >>> shift) & mask] == length) continue;
+            int offset = targetStart;
+            for (int digit = 0; digit <= mask; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceStart; i < sourceEnd; i++) {
+                long key = sourceKeys[i];
+                int position = counts[(int) ((((key ^ flip) & bits) - base) >>> shift) & mask]++;
+                targetKeys[position] = key;
+                targetValues[position] = sourceValues[i];
+            }
+            time = probe.scatter(time);
+            probe.pass();
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            long[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, sourceStart, keys, from, length);
+            System.arraycopy(sourceValues, sourceStart, values, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Describes which bits of the keys need to be sorted, as determined by a single scan over all keys.
+     * The keys are the relevant bits of the values with the sign bit flipped, so they're ordered as unsigned numbers.
+     * Digits get sorted from bit low up to bit high, after base has been subtracted from every key.
+     * If the whole range of the keys fits into fewer digits after subtracting the smallest key,
+     * base is that smallest key, otherwise it's 0 and varying holds the bits which differ between the keys,
+     * so digits without any of them can be skipped without looking at the keys again
+     *
+     * @param base    What gets subtracted from every key before extracting a digit
+     * @param low     The lowest bit that needs to be sorted
+     * @param high    The highest bit that needs to be sorted (exclusive)
+     * @param varying The bits which differ between the keys, or all bits if that isn't known
+     */
+    record Plan(long base, int low, int high, long varying) {
+
+        /**
+         * Chooses whether sorting the keys directly or sorting their distance to the smallest key needs fewer passes
+         *
+         * @param varying   The bits which differ between the keys
+         * @param min       The smallest key
+         * @param max       The largest key
+         * @param digitBits How many bits are sorted per pass
+         * @return The cheaper of both plans
+         */
+        static Plan of(long varying, long min, long max, int digitBits) {
+            if (varying == 0) return new Plan(0, 0, 0, 0);
+            int low = Long.numberOfTrailingZeros(varying);
+            Plan direct = new Plan(0, low, 64 - Long.numberOfLeadingZeros(varying), varying);
+            Plan offset = new Plan(min, low, 64 - Long.numberOfLeadingZeros(max - min), -1);
+            return offset.passes(digitBits) < direct.passes(digitBits) ? offset : direct;
+        }
+
+        /**
+         * Counts how many passes this plan needs at most, which might be less when a digit turns out to be constant
+         *
+         * @param digitBits How many bits are sorted per pass
+         * @return The number of passes
+         */
+        int passes(int digitBits) {
+            int passes = 0;
+            for (int shift = low; shift < high; shift += digitBits) {
+                if (((varying >>> shift) & ((1L << Math.min(digitBits, high - shift)) - 1)) != 0) passes++;
+            }
+            return passes;
+        }
+    }
+}
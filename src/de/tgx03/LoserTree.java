@@ -0,0 +1,112 @@
+package de.tgx03;
+
+import java.util.Arrays;
+
+/**
+ * A tournament tree for merging multiple sorted sources, which finds the smallest current key of all sources
+ * in log(k) comparisons after the winning source advanced.
+ * Every inner node remembers the loser of the match played there, so after the winner advanced
+ * only the matches on the path from its leaf to the root need to be replayed.
+ * Keys are compared as signed numbers and equal keys are won by the source with the lower index,
+ * so merging runs in their original order keeps the merge stable.
+ */
+final class LoserTree {
+
+    private final int sources;
+    private final long[] keys;
+    private final boolean[] finished;
+    /**
+     * Index 0 holds the overall winner, indices 1 to sources - 1 the loser of the match at that node.
+     * The leaf of a source lies at index sources + source
+     */
+    private final int[] tree;
+
+    /**
+     * Creates a new tree in which every source is finished
+     *
+     * @param sources How many sources get merged
+     */
+    LoserTree(int sources) {
+        if (sources < 1) throw new IllegalArgumentException("At least 1 source is required, but there are " + sources);
+        this.sources = sources;
+        this.keys = new long[sources];
+        this.finished = new boolean[sources];
+        this.tree = new int[sources];
+        Arrays.fill(finished, true);
+    }
+
+    /**
+     * Sets the current key of a source before the tree gets built or after the source won
+     *
+     * @param source The source
+     * @param key    Its current key
+     */
+    void set(int source, long key) {
+        keys[source] = key;
+        finished[source] = false;
+    }
+
+    /**
+     * Marks a source as having no keys left before the tree gets built or after the source won
+     *
+     * @param source The source
+     */
+    void finish(int source) {
+        finished[source] = true;
+    }
+
+    /**
+     * Plays all matches after the initial keys of the sources have been set
+     */
+    void build() {
+        tree[0] = build(1);
+    }
+
+    private int build(int node) {
+        if (node >= sources) return node - sources;
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (beats(left, right)) {
+            tree[node] = right;
+            return left;
+        } else {
+            tree[node] = left;
+            return right;
+        }
+    }
+
+    /**
+     * Replays the matches of the current winner after its key was changed or it was finished
+     */
+    void replay() {
+        int winner = tree[0];
+        for (int node = (winner + sources) >>> 1; node > 0; node >>>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * @return The source holding the smallest key, which is finished if all sources are
+     */
+    int winner() {
+        return tree[0];
+    }
+
+    /**
+     * @return Whether all sources are finished
+     */
+    boolean done() {
+        return finished[tree[0]];
+    }
+
+    private boolean beats(int first, int second) {
+        if (finished[first]) return false;
+        if (finished[second]) return true;
+        return keys[first] < keys[second] || (keys[first] == keys[second] && first < second);
+    }
+}
@@ -0,0 +1,424 @@
+package de.tgx03;
+
+/**
+ * In-place most significant digit radix sort, also known as American flag sort.
+ * Every level counts the elements per 8 bit digit and then permutes them into their buckets
+ * by following swap cycles, so besides the counters no additional memory is required.
+ * Before a range gets split, all of its elements are combined, which allows skipping digits
+ * that are equal for the whole range and stopping as soon as all remaining digits are constant.
+ */
+final class MSDSort {
+
+    private static final int RADIX = 256;
+    private static final int MASK = RADIX - 1;
+
+    private MSDSort() {
+    }
+
+    /**
+     * Sorts a range of an int array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(int[] array, int from, int to) {
+        Probe probe = Probe.start(SortStatistics.Strategy.MSD, to - from);
+        sort(array, from, to, new int[4][RADIX + 1], new int[RADIX], probe, 24);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of an int array by the most significant digit that isn't constant and recurses on the buckets
+     *
+     * @param array  The array to sort
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param starts The bucket boundaries, one set for each level
+     * @param next   The next free position of every bucket while permuting
+     * @param probe  The probe observing the sort
+     * @param limit  The highest shift a varying digit of the range can have, as all digits above were sorted already
+     */
+    private static void sort(int[] array, int from, int to, int[][] starts, int[] next, Probe probe, int limit) {
+        if (to - from <= SmallSort.THRESHOLD) {
+            SmallSort.sort(array, from, to);
+            return;
+        }
+        long time = probe.time();
+        int or = 0;
+        int and = -1;
+        for (int i = from; i < to; i++) {
+            int key = array[i] ^ Integer.MIN_VALUE;
+            or |= key;
+            and &= key;
+        }
+        int varying = or ^ and;
+        if (varying == 0) {
+            probe.histogram(time);
+            return;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(varying)) & ~7;
+        probe.skip((limit - shift) >>> 3);
+        int[] bounds = starts[shift >>> 3];
+        for (int i = 0; i < RADIX; i++) {
+            next[i] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            next[((array[i] ^ Integer.MIN_VALUE) >>> shift) & MASK]++;
+        }
+        time = probe.histogram(time);
+        int offset = from;
+        for (int digit = 0; digit < RADIX; digit++) {
+            bounds[digit] = offset;
+            offset += next[digit];
+            next[digit] = bounds[digit];
+        }
+        bounds[RADIX] = to;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int end = bounds[digit + 1];
+            for (int i = next[digit]; i < end; i = next[digit]) {
+                int element = array[i];
+                int target = ((element ^ Integer.MIN_VALUE) >>> shift) & MASK;
+                while (target != digit) {
+                    int swap = array[next[target]];
+                    array[next[target]++] = element;
+                    element = swap;
+                    target = ((element ^ Integer.MIN_VALUE) >>> shift) & MASK;
+                }
+                array[i] = element;
+                next[digit]++;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        if (shift == 0) return;
+        for (int digit = 0; digit < RADIX; digit++) {
+            if (bounds[digit + 1] - bounds[digit] > 1) {
+                sort(array, bounds[digit], bounds[digit + 1], starts, next, probe, shift - 8);
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of a long array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(long[] array, int from, int to) {
+        Probe probe = Probe.start(SortStatistics.Strategy.MSD, to - from);
+        sort(array, from, to, new int[8][RADIX + 1], new int[RADIX], probe, 56);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a long array by the most significant digit that isn't constant and recurses on the buckets
+     *
+     * @param array  The array to sort
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param starts The bucket boundaries, one set for each level
+     * @param next   The next free position of every bucket while permuting
+     * @param probe  The probe observing the sort
+     * @param limit  The highest shift a varying digit of the range can have, as all digits above were sorted already
+     */
+    private static void sort(long[] array, int from, int to, int[][] starts, int[] next, Probe probe, int limit) {
+        if (to - from <= SmallSort.THRESHOLD) {
+            SmallSort.sort(array, from, to);
+            return;
+        }
+        long time = probe.time();
+        long or = 0;
+        long and = -1;
+        for (int i = from; i < to; i++) {
+            long key = array[i] ^ Long.MIN_VALUE;
+            or |= key;
+            and &= key;
+        }
+        long varying = or ^ and;
+        if (varying == 0) {
+            probe.histogram(time);
+            return;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(varying)) & ~7;
+        probe.skip((limit - shift) >>> 3);
+        int[] bounds = starts[shift >>> 3];
+        for (int i = 0; i < RADIX; i++) {
+            next[i] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            next[(int) ((array[i] ^ Long.MIN_VALUE) >>> shift) & MASK]++;
+        }
+        time = probe.histogram(time);
+        int offset = from;
+        for (int digit = 0; digit < RADIX; digit++) {
+            bounds[digit] = offset;
+            offset += next[digit];
+            next[digit] = bounds[digit];
+        }
+        bounds[RADIX] = to;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int end = bounds[digit + 1];
+            for (int i = next[digit]; i < end; i = next[digit]) {
+                long element = array[i];
+                int target = (int) ((element ^ Long.MIN_VALUE) >>> shift) & MASK;
+                while (target != digit) {
+                    long swap = array[next[target]];
+                    array[next[target]++] = element;
+                    element = swap;
+                    target = (int) ((element ^ Long.MIN_VALUE) >>> shift) & MASK;
+                }
+                array[i] = element;
+                next[digit]++;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        if (shift == 0) return;
+        for (int digit = 0; digit < RADIX; digit++) {
+            if (bounds[digit + 1] - bounds[digit] > 1) {
+                sort(array, bounds[digit], bounds[digit + 1], starts, next, probe, shift - 8);
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of a short array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(short[] array, int from, int to) {
+        sort(array, from, to, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of a short array in place, treating the values as signed numbers
+     *
+     * @param array     The array to sort
+     * @param from      The first index to sort (inclusive)
+     * @param to        The last index to sort (exclusive)
+     * @param threshold Up to how many elements a bucket is sorted without counting digits
+     */
+    static void sort(short[] array, int from, int to, int threshold) {
+        Probe probe = Probe.start(SortStatistics.Strategy.MSD, to - from);
+        sort(array, from, to, threshold, new int[2][RADIX + 1], new int[RADIX], probe, 8);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a short array by the most significant digit that isn't constant and recurses on the buckets
+     *
+     * @param array     The array to sort
+     * @param from      The first index to sort (inclusive)
+     * @param to        The last index to sort (exclusive)
+     * @param threshold Up to how many elements a bucket is sorted without counting digits
+     * @param starts    The bucket boundaries, one set for each level
+     * @param next      The next free position of every bucket while permuting
+     * @param probe     The probe observing the sort
+     * @param limit     The highest shift a varying digit of the range can have, as all digits above were sorted already
+     */
+    private static void sort(short[] array, int from, int to, int threshold, int[][] starts, int[] next, Probe probe, int limit) {
+        if (to - from <= threshold) {
+            SmallSort.sort(array, from, to);
+            return;
+        }
+        long time = probe.time();
+        int or = 0;
+        int and = -1;
+        for (int i = from; i < to; i++) {
+            int key = array[i] ^ Short.MIN_VALUE;
+            or |= key;
+            and &= key;
+        }
+        int varying = (or ^ and) & 0xFFFF;
+        if (varying == 0) {
+            probe.histogram(time);
+            return;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(varying)) & ~7;
+        probe.skip((limit - shift) >>> 3);
+        int[] bounds = starts[shift >>> 3];
+        for (int i = 0; i < RADIX; i++) {
+            next[i] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            next[((array[i] ^ Short.MIN_VALUE) >>> shift) & MASK]++;
+        }
+        time = probe.histogram(time);
+        int offset = from;
+        for (int digit = 0; digit < RADIX; digit++) {
+            bounds[digit] = offset;
+            offset += next[digit];
+            next[digit] = bounds[digit];
+        }
+        bounds[RADIX] = to;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int end = bounds[digit + 1];
+            for (int i = next[digit]; i < end; i = next[digit]) {
+                short element = array[i];
+                int target = ((element ^ Short.MIN_VALUE) >>> shift) & MASK;
+                while (target != digit) {
+                    short swap = array[next[target]];
+                    array[next[target]++] = element;
+                    element = swap;
+                    target = ((element ^ Short.MIN_VALUE) >>> shift) & MASK;
+                }
+                array[i] = element;
+                next[digit]++;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        if (shift == 0) return;
+        for (int digit = 0; digit < RADIX; digit++) {
+            if (bounds[digit + 1] - bounds[digit] > 1) {
+                sort(array, bounds[digit], bounds[digit + 1], threshold, starts, next, probe, shift - 8);
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of a char array in place
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(char[] array, int from, int to) {
+        sort(array, from, to, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of a char array in place
+     *
+     * @param array     The array to sort
+     * @param from      The first index to sort (inclusive)
+     * @param to        The last index to sort (exclusive)
+     * @param threshold Up to how many elements a bucket is sorted without counting digits
+     */
+    static void sort(char[] array, int from, int to, int threshold) {
+        Probe probe = Probe.start(SortStatistics.Strategy.MSD, to - from);
+        sort(array, from, to, threshold, new int[2][RADIX + 1], new int[RADIX], probe, 8);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a char array by the most significant digit that isn't constant and recurses on the buckets
+     *
+     * @param array     The array to sort
+     * @param from      The first index to sort (inclusive)
+     * @param to        The last index to sort (exclusive)
+     * @param threshold Up to how many elements a bucket is sorted without counting digits
+     * @param starts    The bucket boundaries, one set for each level
+     * @param next      The next free position of every bucket while permuting
+     * @param probe     The probe observing the sort
+     * @param limit     The highest shift a varying digit of the range can have, as all digits above were sorted already
+     */
+    private static void sort(char[] array, int from, int to, int threshold, int[][] starts, int[] next, Probe probe, int limit) {
+        if (to - from <= threshold) {
+            SmallSort.sort(array, from, to);
+            return;
+        }
+        long time = probe.time();
+        int or = 0;
+        int and = -1;
+        for (int i = from; i < to; i++) {
+            char key = array[i];
+            or |= key;
+            and &= key;
+        }
+        int varying = (or ^ and) & 0xFFFF;
+        if (varying == 0) {
+            probe.histogram(time);
+            return;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(varying)) & ~7;
+        probe.skip((limit - shift) >>> 3);
+        int[] bounds = starts[shift >>> 3];
+        for (int i = 0; i < RADIX; i++) {
+            next[i] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            next[(array[i] >>> shift) & MASK]++;
+        }
+        time = probe.histogram(time);
+        int offset = from;
+        for (int digit = 0; digit < RADIX; digit++) {
+            bounds[digit] = offset;
+            offset += next[digit];
+            next[digit] = bounds[digit];
+        }
+        bounds[RADIX] = to;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int end = bounds[digit + 1];
+            for (int i = next[digit]; i < end; i = next[digit]) {
+                char element = array[i];
+                int target = (element >>> shift) & MASK;
+                while (target != digit) {
+                    char swap = array[next[target]];
+                    array[next[target]++] = element;
+                    element = swap;
+                    target = (element >>> shift) & MASK;
+                }
+                array[i] = element;
+                next[digit]++;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        if (shift == 0) return;
+        for (int digit = 0; digit < RADIX; digit++) {
+            if (bounds[digit + 1] - bounds[digit] > 1) {
+                sort(array, bounds[digit], bounds[digit + 1], threshold, starts, next, probe, shift - 8);
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of a byte array in place, treating the values as signed numbers.
+     * As a byte consists of a single digit, the values are counted and then written back in order
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(byte[] array, int from, int to) {
+        sort(array, from, to, SmallSort.THRESHOLD);
+    }
+
+    /**
+     * Sorts a range of a byte array in place, treating the values as signed numbers.
+     * As a byte consists of a single digit, the values are counted and then written back in order
+     *
+     * @param array     The array to sort
+     * @param from      The first index to sort (inclusive)
+     * @param to        The last index to sort (exclusive)
+     * @param threshold Up to how many elements the range is sorted without counting digits
+     */
+    static void sort(byte[] array, int from, int to, int threshold) {
+        if (to - from <= threshold) {
+            SmallSort.sort(array, from, to);
+            return;
+        }
+        Probe probe = Probe.start(SortStatistics.Strategy.MSD, to - from);
+        long time = probe.time();
+        int[] counts = new int[RADIX];
+        for (int i = from; i < to; i++) {
+            counts[array[i] & MASK]++;
+        }
+        time = probe.histogram(time);
+        int position = from;
+        for (int value = Byte.MIN_VALUE; value <= Byte.MAX_VALUE; value++) {
+            int end = position + counts[value & MASK];
+            while (position < end) {
+                array[position++] = (byte) value;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+    }
+}
@@ -0,0 +1,217 @@
+package de.tgx03;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * In-place sort of files of fixed size records through memory mapping, so the records never get copied onto the heap.
+ * As a single mapping can't span more than 2 GB, the file gets mapped once in multiple windows,
+ * each holding a power of two records, so finding the window of a record only takes a shift.
+ * Over these windows the records are partitioned by their most significant varying digit like in {@link MSDSort},
+ * until a bucket spans at most one leaf, which is then sorted using {@link BufferSort}
+ * with a scratch buffer that gets reused for all buckets.
+ * Leaves are slices of the window holding them, only a leaf crossing the border of two windows gets mapped on its own.
+ * Files no larger than one leaf are sorted by {@link BufferSort} alone and keep the order of records with equal keys,
+ * but for larger files the partitioning doesn't, so this sort is not stable.
+ */
+final class MappedSort {
+
+    /**
+     * Buckets spanning at most this many bytes are sorted using least significant digit radix sort
+     */
+    private static final int LEAF = 1 << 26;
+    /**
+     * How many bytes a window maps at most
+     */
+    private static final int WINDOW = 1 << 30;
+    private static final int RADIX = 256;
+    private static final int MASK = RADIX - 1;
+
+    private final FileChannel channel;
+    private final ByteBuffer[] windows;
+    /**
+     * How many records a window holds, as a power of two
+     */
+    private final int windowShift;
+    private final long windowMask;
+    private final int recordSize;
+    private final int keyOffset;
+    private final int keyLength;
+    private final ByteOrder order;
+    private final ByteBuffer swap;
+    private final ByteBuffer scratch;
+    private final Probe probe;
+
+    private MappedSort(FileChannel channel, long records, int recordSize, int keyOffset, int keyLength, ByteOrder order, Probe probe) throws IOException {
+        this.channel = channel;
+        this.probe = probe;
+        this.windowShift = 31 - Integer.numberOfLeadingZeros(Math.max(1, WINDOW / recordSize));
+        this.windowMask = (1L << windowShift) - 1;
+        this.recordSize = recordSize;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.order = order;
+        this.swap = ByteBuffer.allocate(recordSize);
+        this.scratch = ByteBuffer.allocateDirect((int) Math.min(records * recordSize, LEAF / recordSize * recordSize));
+        probe.scratch(scratch.capacity() + recordSize);
+        long bytes = records * recordSize;
+        long windowBytes = (windowMask + 1) * recordSize;
+        this.windows = new ByteBuffer[(int) ((records + windowMask) >>> windowShift)];
+        for (int i = 0; i < windows.length; i++) {
+            long start = i * windowBytes;
+            windows[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(windowBytes, bytes - start)).order(order);
+        }
+    }
+
+    /**
+     * Sorts a file of fixed size records in place by a key stored inside every record,
+     * which gets ordered as a signed number
+     *
+     * @param file       The file to sort
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 or 8
+     * @param order      The byte order of the keys in the file
+     * @throws IOException If mapping the file fails
+     */
+    static void sort(Path file, int recordSize, int keyOffset, int keyLength, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            BufferSort.checkRecords(size, recordSize, keyOffset, keyLength);
+            long records = size / recordSize;
+            if (records < 2) return;
+            Probe probe = Probe.start(SortStatistics.Strategy.MAPPED, records);
+            new MappedSort(channel, records, recordSize, keyOffset, keyLength, order, probe).sort(0, records, new long[8][RADIX + 1], new long[RADIX]);
+            probe.finish();
+        }
+    }
+
+    /**
+     * Sorts a range of records by the most significant digit that isn't constant and recurses on the buckets,
+     * or sorts it in a single mapping once it's small enough
+     *
+     * @param from   The first record to sort (inclusive)
+     * @param to     The last record to sort (exclusive)
+     * @param starts The bucket boundaries, one set for each level
+     * @param next   The next free position of every bucket while permuting
+     * @throws IOException If mapping a bucket fails
+     */
+    private void sort(long from, long to, long[][] starts, long[] next) throws IOException {
+        if ((to - from) * recordSize <= scratch.capacity()) {
+            BufferSort.sort(leaf(from, to), recordSize, keyOffset, keyLength, scratch);
+            return;
+        }
+        long time = probe.time();
+        long or = 0;
+        long and = -1;
+        for (long i = from; i < to; i = windowEnd(i, to)) {
+            ByteBuffer window = windows[(int) (i >>> windowShift)];
+            for (int position = position(i) + keyOffset, end = position(windowEnd(i, to) - 1) + keyOffset; position <= end; position += recordSize) {
+                long key = BufferSort.key(window, position, keyLength);
+                or |= key;
+                and &= key;
+            }
+        }
+        long varying = or ^ and;
+        if (varying == 0) {
+            probe.histogram(time);
+            return;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(varying)) & ~7;
+        long[] bounds = starts[shift >>> 3];
+        for (int i = 0; i < RADIX; i++) {
+            next[i] = 0;
+        }
+        for (long i = from; i < to; i = windowEnd(i, to)) {
+            ByteBuffer window = windows[(int) (i >>> windowShift)];
+            for (int position = position(i) + keyOffset, end = position(windowEnd(i, to) - 1) + keyOffset; position <= end; position += recordSize) {
+                next[(int) ((BufferSort.key(window, position, keyLength) ^ Long.MIN_VALUE) >>> shift) & MASK]++;
+            }
+        }
+        time = probe.histogram(time);
+        long offset = from;
+        for (int digit = 0; digit < RADIX; digit++) {
+            bounds[digit] = offset;
+            offset += next[digit];
+            next[digit] = bounds[digit];
+        }
+        bounds[RADIX] = to;
+        for (int digit = 0; digit < RADIX; digit++) {
+            long end = bounds[digit + 1];
+            for (long i = next[digit]; i < end; i = next[digit]) {
+                int target = (int) (key(i) >>> shift) & MASK;
+                while (target != digit) {
+                    swap(i, next[target]++);
+                    target = (int) (key(i) >>> shift) & MASK;
+                }
+                next[digit]++;
+            }
+        }
+        probe.scatter(time);
+        probe.pass();
+        if (shift == 0) return;
+        for (int digit = 0; digit < RADIX; digit++) {
+            if (bounds[digit + 1] - bounds[digit] > 1) {
+                sort(bounds[digit], bounds[digit + 1], starts, next);
+            }
+        }
+    }
+
+    /**
+     * Gives access to a bucket small enough to be sorted on its own,
+     * as a slice of its window, or as a mapping of its own if it crosses the border of two windows
+     *
+     * @param from The first record of the bucket (inclusive)
+     * @param to   The last record of the bucket (exclusive)
+     * @return A buffer spanning exactly the records of the bucket
+     * @throws IOException If mapping the bucket fails
+     */
+    private ByteBuffer leaf(long from, long to) throws IOException {
+        int length = (int) (to - from) * recordSize;
+        if (from >>> windowShift == (to - 1) >>> windowShift) {
+            return windows[(int) (from >>> windowShift)].slice(position(from), length).order(order);
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, from * recordSize, length).order(order);
+    }
+
+    /**
+     * @param record The index of a record
+     * @param to     The last record of the range (exclusive)
+     * @return Where the range ends within the window holding the record (exclusive)
+     */
+    private long windowEnd(long record, long to) {
+        return Math.min(to, (record | windowMask) + 1);
+    }
+
+    /**
+     * @param record The index of a record
+     * @return Where the record starts within its window
+     */
+    private int position(long record) {
+        return (int) (record & windowMask) * recordSize;
+    }
+
+    /**
+     * Reads the key of a record and flips its sign bit, so it can be ordered as an unsigned number
+     *
+     * @param record The index of the record
+     * @return The unsigned key
+     */
+    private long key(long record) {
+        return BufferSort.key(windows[(int) (record >>> windowShift)], position(record) + keyOffset, keyLength) ^ Long.MIN_VALUE;
+    }
+
+    private void swap(long first, long second) {
+        ByteBuffer firstWindow = windows[(int) (first >>> windowShift)];
+        int firstPosition = position(first);
+        ByteBuffer secondWindow = windows[(int) (second >>> windowShift)];
+        int secondPosition = position(second);
+        swap.put(0, firstWindow, firstPosition, recordSize);
+        firstWindow.put(firstPosition, secondWindow, secondPosition, recordSize);
+        secondWindow.put(secondPosition, swap, 0, recordSize);
+    }
+}
@@ -0,0 +1,585 @@
+package de.tgx03;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel version of {@link LSDSort}.
+ * The input is split into one chunk per worker and every worker builds the histogram of its own chunk.
+ * The histograms then get combined into a global prefix sum ordered by digit first and chunk second,
+ * which gives every worker a disjoint region of the target for each bucket,
+ * so the scatter needs no synchronization and the sort stays stable.
+ * Like the sequential version, the keys get scanned first, which is also split across all workers.
+ */
+final class ParallelLSDSort {
+
+    /**
+     * Chunks shouldn't get smaller than this, as otherwise the overhead of the tasks outweighs the gain
+     */
+    static final int MIN_CHUNK = 1 << 16;
+
+    private ParallelLSDSort() {
+    }
+
+    /**
+     * Determines into how many chunks an input gets split
+     *
+     * @param length The length of the input
+     * @param pool   The pool the chunks are run on
+     * @return The number of chunks
+     */
+    static int chunks(int length, ForkJoinPool pool) {
+        return Math.max(1, Math.min(pool.getParallelism(), length / MIN_CHUNK));
+    }
+
+    /**
+     * Runs a job for every chunk, on the current thread if there is only one
+     *
+     * @param chunks How many chunks there are
+     * @param pool   The pool to run the job on if there are multiple chunks
+     * @param job    What to do with a chunk
+     */
+    static void run(int chunks, ForkJoinPool pool, IntConsumer job) {
+        if (chunks == 1) {
+            job.accept(0);
+        } else {
+            pool.invoke(new ChunkTask(0, chunks, job));
+        }
+    }
+
+    /**
+     * Determines where a chunk starts if an input gets split into chunks of equal size
+     *
+     * @param length The length of the input
+     * @param chunk  The chunk
+     * @param chunks How many chunks there are
+     * @return The offset of the first element of the chunk
+     */
+    static int start(int length, int chunk, int chunks) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Sorts a range of an int array using all workers of the given pool.
+     * See {@link LSDSort#sort(int[], int, int, int[], int, int)} for how the values are ordered
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitBits    How many bits are sorted per pass
+     * @param pool         The pool to run the workers on
+     */
+    static void sort(int[] array, int from, int to, int[] buffer, int numberLength, int digitBits, ForkJoinPool pool) {
+        sort(array, from, to, buffer, new int[chunks(to - from, pool)][1 << digitBits], numberLength, true, digitBits, SmallSort.THRESHOLD, pool);
+    }
+
+    /**
+     * Sorts a range of an int array using all workers of the given pool.
+     * See {@link LSDSort#sort(int[], int, int, int[], int, int[], int, boolean, int)} for how the values are ordered
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param counts       One histogram for every chunk, each holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     * @param pool         The pool to run the workers on
+     */
+    static void sort(int[] array, int from, int to, int[] buffer, int[][] counts, int numberLength, boolean signed, int digitBits, int threshold, ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = Math.min(chunks(length, pool), counts.length);
+        if (chunks <= 1 || numberLength <= 0) {
+            LSDSort.sort(array, from, to, buffer, 0, counts[0], numberLength, signed, digitBits, threshold);
+            return;
+        }
+        if (numberLength > 32) numberLength = 32;
+        int flip = signed && numberLength == 32 ? Integer.MIN_VALUE : 0;
+        int bits = numberLength == 32 ? -1 : (1 << numberLength) - 1;
+        if (Runs.sort(array, from, to, buffer, 0, flip, bits)) return;
+        IntPass pass = new IntPass(counts, chunks, length, flip, bits);
+        pass.source = array;
+        pass.sourceStart = from;
+        pass.target = buffer;
+        pass.targetStart = 0;
+        Probe probe = Probe.start(SortStatistics.Strategy.PARALLEL_LSD, length);
+        probe.threads(Math.min(chunks, pool.getParallelism()));
+        probe.scratch((long) length * Integer.BYTES + ((long) chunks * Integer.BYTES << digitBits));
+        long time = probe.time();
+        pass.phase = Phase.SCAN;
+        run(chunks, pool, pass::process);
+        LSDSort.Plan plan = pass.plan(digitBits);
+        time = probe.histogram(time);
+        pass.base = (int) plan.base();
+        for (int shift = plan.low(); shift < plan.high(); shift += digitBits) {
+            pass.shift = shift;
+            pass.mask = (1 << Math.min(digitBits, plan.high() - shift)) - 1;
+            if (((plan.varying() >>> shift) & pass.mask) == 0) continue;
+            pass.phase = Phase.COUNT;
+            run(chunks, pool, pass::process);
+            time = probe.histogram(time);
+            if (pass.constant()) continue;
+            int offset = pass.targetStart;
+            for (int digit = 0; digit <= pass.mask; digit++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int count = pass.counts[chunk][digit];
+                    pass.counts[chunk][digit] = offset;
+                    offset += count;
+                }
+            }
+            pass.phase = Phase.SCATTER;
+            run(chunks, pool, pass::process);
+            time = probe.scatter(time);
+            probe.pass();
+            int[] swap = pass.source;
+            pass.source = pass.target;
+            pass.target = swap;
+            int swapStart = pass.sourceStart;
+            pass.sourceStart = pass.targetStart;
+            pass.targetStart = swapStart;
+        }
+        if (pass.source != array) {
+            System.arraycopy(pass.source, pass.sourceStart, array, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of a long array using all workers of the given pool.
+     * See {@link LSDSort#sort(long[], int, int, long[], int, int)} for how the values are ordered
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitBits    How many bits are sorted per pass
+     * @param pool         The pool to run the workers on
+     */
+    static void sort(long[] array, int from, int to, long[] buffer, int numberLength, int digitBits, ForkJoinPool pool) {
+        sort(array, from, to, buffer, new int[chunks(to - from, pool)][1 << digitBits], numberLength, true, digitBits, SmallSort.THRESHOLD, pool);
+    }
+
+    /**
+     * Sorts a range of a long array using all workers of the given pool.
+     * See {@link LSDSort#sort(long[], int, int, long[], int, int[], int, boolean, int)} for how the values are ordered
+     *
+     * @param array        The array to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array holding at least to - from elements
+     * @param counts       One histogram for every chunk, each holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the values are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     * @param pool         The pool to run the workers on
+     */
+    static void sort(long[] array, int from, int to, long[] buffer, int[][] counts, int numberLength, boolean signed, int digitBits, int threshold, ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = Math.min(chunks(length, pool), counts.length);
+        if (chunks <= 1 || numberLength <= 0) {
+            LSDSort.sort(array, from, to, buffer, 0, counts[0], numberLength, signed, digitBits, threshold);
+            return;
+        }
+        if (numberLength > 64) numberLength = 64;
+        long flip = signed && numberLength == 64 ? Long.MIN_VALUE : 0;
+        long bits = numberLength == 64 ? -1 : (1L << numberLength) - 1;
+        if (Runs.sort(array, from, to, buffer, 0, flip, bits)) return;
+        sort(array, null, from, to, buffer, null, counts, chunks, numberLength, signed, digitBits, pool);
+    }
+
+    /**
+     * Sorts a range of a long array using all workers of the given pool and applies the same permutation to an int array.
+     * See {@link LSDSort#sort(long[], int[], int, int, long[], int[], int[], int, boolean, int)} for how the keys are ordered
+     *
+     * @param keys         The keys to sort by
+     * @param values       The values to move along with their keys
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param keyBuffer    A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements
+     * @param counts       One histogram for every chunk, each holding at least 2^digitBits elements
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the keys are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param threshold    Up to how many elements a range is sorted without counting digits
+     * @param pool         The pool to run the workers on
+     */
+    static void sort(long[] keys, int[] values, int from, int to, long[] keyBuffer, int[] valueBuffer, int[][] counts, int numberLength, boolean signed, int digitBits, int threshold, ForkJoinPool pool) {
+        int chunks = Math.min(chunks(to - from, pool), counts.length);
+        if (chunks <= 1 || numberLength <= 0) {
+            LSDSort.sort(keys, values, from, to, keyBuffer, valueBuffer, counts[0], numberLength, signed, digitBits, threshold);
+            return;
+        }
+        sort(keys, values, from, to, keyBuffer, valueBuffer, counts, chunks, numberLength, signed, digitBits, pool);
+    }
+
+    /**
+     * Sorts a range of a long array in the given number of chunks, moving the values along if there are any
+     *
+     * @param array        The keys to sort by
+     * @param values       The values to move along with their keys, or null if there are none
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param buffer       A scratch array for the keys holding at least to - from elements
+     * @param valueBuffer  A scratch array for the values holding at least to - from elements, or null if there are no values
+     * @param counts       One histogram for every chunk, each holding at least 2^digitBits elements
+     * @param chunks       How many chunks to split the range into
+     * @param numberLength How many bits are relevant for sorting
+     * @param signed       Whether the keys are signed
+     * @param digitBits    How many bits are sorted per pass
+     * @param pool         The pool to run the workers on
+     */
+    private static void sort(long[] array, int[] values, int from, int to, long[] buffer, int[] valueBuffer, int[][] counts, int chunks, int numberLength, boolean signed, int digitBits, ForkJoinPool pool) {
+        int length = to - from;
+        if (numberLength > 64) numberLength = 64;
+        LongPass pass = new LongPass(counts, chunks, length, signed && numberLength == 64 ? Long.MIN_VALUE : 0, numberLength == 64 ? -1 : (1L << numberLength) - 1);
+        pass.source = array;
+        pass.sourceValues = values;
+        pass.sourceStart = from;
+        pass.target = buffer;
+        pass.targetValues = valueBuffer;
+        pass.targetStart = 0;
+        Probe probe = Probe.start(SortStatistics.Strategy.PARALLEL_LSD, length);
+        probe.threads(Math.min(chunks, pool.getParallelism()));
+        probe.scratch((long) length * (values == null ? Long.BYTES : Long.BYTES + Integer.BYTES) + ((long) chunks * Integer.BYTES << digitBits));
+        long time = probe.time();
+        pass.phase = Phase.SCAN;
+        run(chunks, pool, pass::process);
+        LSDSort.Plan plan = pass.plan(digitBits);
+        time = probe.histogram(time);
+        pass.base = plan.base();
+        for (int shift = plan.low(); shift < plan.high(); shift += digitBits) {
+            pass.shift = shift;
+            pass.mask = (1 << Math.min(digitBits, plan.high() - shift)) - 1;
+            if (((plan.varying() >>> shift) & pass.mask) == 0) continue;
+            pass.phase = Phase.COUNT;
+            run(chunks, pool, pass::process);
+            time = probe.histogram(time);
+            if (pass.constant()) continue;
+            int offset = pass.targetStart;
+            for (int digit = 0; digit <= pass.mask; digit++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int count = pass.counts[chunk][digit];
+                    pass.counts[chunk][digit] = offset;
+                    offset += count;
+                }
+            }
+            pass.phase = Phase.SCATTER;
+            run(chunks, pool, pass::process);
+            time = probe.scatter(time);
+            probe.pass();
+            long[] swap = pass.source;
+            pass.source = pass.target;
+            pass.target = swap;
+            int[] swapValues = pass.sourceValues;
+            pass.sourceValues = pass.targetValues;
+            pass.targetValues = swapValues;
+            int swapStart = pass.sourceStart;
+            pass.sourceStart = pass.targetStart;
+            pass.targetStart = swapStart;
+        }
+        if (pass.source != array) {
+            System.arraycopy(pass.source, pass.sourceStart, array, from, length);
+            if (values != null) System.arraycopy(pass.sourceValues, pass.sourceStart, values, from, length);
+        }
+        probe.scatter(time);
+        probe.digits((numberLength + digitBits - 1) / digitBits);
+        probe.finish();
+    }
+
+    /**
+     * The state of the current pass over an int array, shared by all chunks
+     */
+    private static final class IntPass {
+
+        private final int[][] counts;
+        private final int chunks;
+        private final int[] or;
+        private final int[] and;
+        private final int[] min;
+        private final int[] max;
+        private final int length;
+        private final int flip;
+        private final int bits;
+        private int[] source;
+        private int sourceStart;
+        private int[] target;
+        private int targetStart;
+        private int base;
+        private int shift;
+        private int mask;
+        private Phase phase;
+
+        private IntPass(int[][] counts, int chunks, int length, int flip, int bits) {
+            this.counts = counts;
+            this.chunks = chunks;
+            this.or = new int[chunks];
+            this.and = new int[chunks];
+            this.min = new int[chunks];
+            this.max = new int[chunks];
+            this.length = length;
+            this.flip = flip;
+            this.bits = bits;
+        }
+
+        /**
+         * Combines the results of the scans of all chunks
+         *
+         * @param digitBits How many bits are sorted per pass
+         * @return Which bits need to be sorted
+         */
+        private LSDSort.Plan plan(int digitBits) {
+            int or = 0;
+            int and = -1;
+            int min = -1;
+            int max = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                or |= this.or[chunk];
+                and &= this.and[chunk];
+                if (Integer.compareUnsigned(this.min[chunk], min) < 0) min = this.min[chunk];
+                if (Integer.compareUnsigned(this.max[chunk], max) > 0) max = this.max[chunk];
+            }
+            return LSDSort.Plan.of((or ^ and) & 0xFFFFFFFFL, min & 0xFFFFFFFFL, max & 0xFFFFFFFFL, digitBits);
+        }
+
+        /**
+         * @return Whether all elements fell into the same bucket during the last count
+         */
+        private boolean constant() {
+            int digit = ((((source[sourceStart] ^ flip) & bits) - base) >>> shift) & mask;
+            int count = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                count += counts[chunk][digit];
+            }
+            return count == length;
+        }
+
+        /**
+         * Runs the current phase for one chunk
+         *
+         * @param chunk The chunk
+         */
+        private void process(int chunk) {
+            int start = sourceStart + start(length, chunk, chunks);
+            int end = sourceStart + start(length, chunk + 1, chunks);
+            int[] source = this.source;
+            int flip = this.flip;
+            int bits = this.bits;
+            switch (phase) {
+                case SCAN -> {
+                    int or = 0;
+                    int and = -1;
+                    int min = -1;
+                    int max = 0;
+                    for (int i = start; i < end; i++) {
+                        int key = (source[i] ^ flip) & bits;
+                        or |= key;
+                        and &= key;
+                        if (Integer.compareUnsigned(key, min) < 0) min = key;
+                        if (Integer.compareUnsigned(key, max) > 0) max = key;
+                    }
+                    this.or[chunk] = or;
+                    this.and[chunk] = and;
+                    this.min[chunk] = min;
+                    this.max[chunk] = max;
+                }
+                case COUNT -> {
+                    int[] counts = this.counts[chunk];
+                    int base = this.base;
+                    int shift = this.shift;
+                    int mask = this.mask;
+                    for (int digit = 0; digit <= mask; digit++) {
+                        counts[digit] = 0;
+                    }
+                    Kernels.INSTANCE.count(source, start, end, flip, bits, base, shift, mask, counts);
+                }
+                case SCATTER -> {
+                    int[] counts = this.counts[chunk];
+                    int[] target = this.target;
+                    int base = this.base;
+                    int shift = this.shift;
+                    int mask = this.mask;
+                    for (int i = start; i < end; i++) {
+                        int element = source[i];
+                        target[counts[((((element ^ flip) & bits) - base) >>> shift) & mask]++] = element;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of the current pass over a long array, shared by all chunks
+     */
+    private static final class LongPass {
+
+        private final int[][] counts;
+        private final int chunks;
+        private final long[] or;
+        private final long[] and;
+        private final long[] min;
+        private final long[] max;
+        private final int length;
+        private final long flip;
+        private final long bits;
+        private long[] source;
+        private int[] sourceValues;
+        private int sourceStart;
+        private long[] target;
+        private int[] targetValues;
+        private int targetStart;
+        private long base;
+        private int shift;
+        private int mask;
+        private Phase phase;
+
+        private LongPass(int[][] counts, int chunks, int length, long flip, long bits) {
+            this.counts = counts;
+            this.chunks = chunks;
+            this.or = new long[chunks];
+            this.and = new long[chunks];
+            this.min = new long[chunks];
+            this.max = new long[chunks];
+            this.length = length;
+            this.flip = flip;
+            this.bits = bits;
+        }
+
+        /**
+         * Combines the results of the scans of all chunks
+         *
+         * @param digitBits How many bits are sorted per pass
+         * @return Which bits need to be sorted
+         */
+        private LSDSort.Plan plan(int digitBits) {
+            long or = 0;
+            long and = -1;
+            long min = -1;
+            long max = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                or |= this.or[chunk];
+                and &= this.and[chunk];
+                if (Long.compareUnsigned(this.min[chunk], min) < 0) min = this.min[chunk];
+                if (Long.compareUnsigned(this.max[chunk], max) > 0) max = this.max[chunk];
+            }
+            return LSDSort.Plan.of(or ^ and, min, max, digitBits);
+        }
+
+        /**
+         * @return Whether all elements fell into the same bucket during the last count
+         */
+        private boolean constant() {
+            int digit = (int) ((((source[sourceStart] ^ flip) & bits) - base) >>> shift) & mask;
+            int count = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                count += counts[chunk][digit];
+            }
+            return count == length;
+        }
+
+        /**
+         * Runs the current phase for one chunk
+         *
+         * @param chunk The chunk
+         */
+        private void process(int chunk) {
+            int start = sourceStart + start(length, chunk, chunks);
+            int end = sourceStart + start(length, chunk + 1, chunks);
+            long[] source = this.source;
+            long flip = this.flip;
+            long bits = this.bits;
+            switch (phase) {
+                case SCAN -> {
+                    long or = 0;
+                    long and = -1;
+                    long min = -1;
+                    long max = 0;
+                    for (int i = start; i < end; i++) {
+                        long key = (source[i] ^ flip) & bits;
+                        or |= key;
+                        and &= key;
+                        if (Long.compareUnsigned(key, min) < 0) min = key;
+                        if (Long.compareUnsigned(key, max) > 0) max = key;
+                    }
+                    this.or[chunk] = or;
+                    this.and[chunk] = and;
+                    this.min[chunk] = min;
+                    this.max[chunk] = max;
+                }
+                case COUNT -> {
+                    int[] counts = this.counts[chunk];
+                    long base = this.base;
+                    int shift = this.shift;
+                    int mask = this.mask;
+                    for (int digit = 0; digit <= mask; digit++) {
+                        counts[digit] = 0;
+                    }
+                    Kernels.INSTANCE.count(source, start, end, flip, bits, base, shift, mask, counts);
+                }
+                case SCATTER -> {
+                    int[] counts = this.counts[chunk];
+                    long[] target = this.target;
+                    long base = this.base;
+                    int shift = this.shift;
+                    int mask = this.mask;
+                    if (sourceValues == null) {
+                        for (int i = start; i < end; i++) {
+                            long element = source[i];
+                            target[counts[(int) ((((element ^ flip) & bits) - base) >>> shift) & mask]++] = element;
+                        }
+                    } else {
+                        int[] sourceValues = this.sourceValues;
+                        int[] targetValues = this.targetValues;
+                        for (int i = start; i < end; i++) {
+                            long element = source[i];
+                            int position = counts[(int) ((((element ^ flip) & bits) - base) >>> shift) & mask]++;
+                            target[position] = element;
+                            targetValues[position] = sourceValues[i];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * What the workers currently do with their chunks
+     */
+    private enum Phase {SCAN, COUNT, SCATTER}
+
+    /**
+     * Runs a job for a range of chunks, splitting itself until only one chunk is left
+     */
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final int firstChunk;
+        private final int lastChunk;
+        private final IntConsumer job;
+
+        private ChunkTask(int firstChunk, int lastChunk, IntConsumer job) {
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastChunk - firstChunk > 1) {
+                int middle = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new ChunkTask(firstChunk, middle, job), new ChunkTask(middle, lastChunk, job));
+                return;
+            }
+            job.accept(firstChunk);
+        }
+    }
+}
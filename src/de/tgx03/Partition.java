@@ -0,0 +1,335 @@
+package de.tgx03;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A single pass of least significant digit radix sort on its own, which moves keys into buckets by one digit.
+ * The keys get counted by the same kernels as the sorts, then every key is moved into its bucket
+ * in a scratch array, from which they get copied back, so keys within a bucket keep their order.
+ * The parallel version gives every chunk its own histogram and lays out the buckets so that
+ * within every bucket the keys of the first chunk come first, which keeps it stable as well.
+ * Values belonging to the keys are moved along by a payload mover for their type,
+ * which scatters a whole chunk in a loop of its own, so moving a key never calls through it.
+ * If all keys fall into the same bucket, they already are partitioned and don't get moved at all.
+ */
+final class Partition {
+
+    /**
+     * The widest digit a partition can use, which means up to 65536 buckets
+     */
+    static final int MAX_BITS = 16;
+
+    private Partition() {
+    }
+
+    /**
+     * Makes sure that a digit lies within a long and doesn't have too many buckets
+     *
+     * @param bits  How many bits the digit spans
+     * @param shift The lowest bit of the digit
+     */
+    static void check(int bits, int shift) {
+        if (bits < 1 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("A partition uses between 1 and " + MAX_BITS + " bits, but " + bits + " were requested");
+        }
+        if (shift < 0 || shift > Long.SIZE - bits) {
+            throw new IllegalArgumentException("Bits " + shift + " to " + (shift + bits - 1) + " don't lie within a long");
+        }
+    }
+
+    /**
+     * Partitions long keys in place
+     *
+     * @param keys  The keys to partition
+     * @param bits  How many bits the digit spans
+     * @param shift The lowest bit of the digit
+     * @param pool  The pool to partition on, or null to partition on the current thread
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    static int[] partition(long[] keys, int bits, int shift, ForkJoinPool pool) {
+        return partition(keys, (Payload) null, bits, shift, pool);
+    }
+
+    /**
+     * Partitions long keys in place, moving the int values at the same positions along
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the digit spans
+     * @param shift  The lowest bit of the digit
+     * @param pool   The pool to partition on, or null to partition on the current thread
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    static int[] partition(long[] keys, int[] values, int bits, int shift, ForkJoinPool pool) {
+        return partition(keys, new IntPayload(values), bits, shift, pool);
+    }
+
+    /**
+     * Partitions long keys in place, moving the long values at the same positions along
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the digit spans
+     * @param shift  The lowest bit of the digit
+     * @param pool   The pool to partition on, or null to partition on the current thread
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    static int[] partition(long[] keys, long[] values, int bits, int shift, ForkJoinPool pool) {
+        return partition(keys, new LongPayload(values), bits, shift, pool);
+    }
+
+    /**
+     * Partitions long keys in place, moving the objects at the same positions along
+     *
+     * @param keys   The keys to partition
+     * @param values The objects belonging to the keys
+     * @param bits   How many bits the digit spans
+     * @param shift  The lowest bit of the digit
+     * @param pool   The pool to partition on, or null to partition on the current thread
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    static int[] partition(long[] keys, Object[] values, int bits, int shift, ForkJoinPool pool) {
+        return partition(keys, new ObjectPayload(values), bits, shift, pool);
+    }
+
+    /**
+     * Partitions long keys in place, moving their payload along if there is one
+     *
+     * @param keys    The keys to partition
+     * @param payload The values belonging to the keys, or null if there are none
+     * @param bits    How many bits the digit spans
+     * @param shift   The lowest bit of the digit
+     * @param pool    The pool to partition on, or null to partition on the current thread
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    private static int[] partition(long[] keys, Payload payload, int bits, int shift, ForkJoinPool pool) {
+        check(bits, shift);
+        int length = keys.length;
+        int mask = (1 << bits) - 1;
+        int chunks = pool == null ? 1 : ParallelLSDSort.chunks(length, pool);
+        Probe probe = Probe.start(SortStatistics.Strategy.PARTITION, length);
+        probe.threads(chunks);
+        probe.scratch((long) Integer.BYTES * chunks * (mask + 1));
+        long time = probe.time();
+        int[][] counts = new int[chunks][mask + 1];
+        ParallelLSDSort.run(chunks, pool, chunk -> Kernels.INSTANCE.count(keys,
+                ParallelLSDSort.start(length, chunk, chunks), ParallelLSDSort.start(length, chunk + 1, chunks), 0, -1, 0, shift, mask, counts[chunk]));
+        int[] offsets = offsets(counts, length);
+        time = probe.histogram(time);
+        if (constant(offsets, length)) {
+            probe.skip(1);
+            probe.finish();
+            return offsets;
+        }
+        long[] keyBuffer = new long[length];
+        probe.scratch((long) Long.BYTES * length);
+        if (payload != null) probe.scratch(payload.allocate(length));
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int start = ParallelLSDSort.start(length, chunk, chunks);
+            int end = ParallelLSDSort.start(length, chunk + 1, chunks);
+            if (payload == null) {
+                scatter(keys, keyBuffer, start, end, counts[chunk], shift, mask);
+            } else {
+                payload.scatter(keys, keyBuffer, start, end, counts[chunk], shift, mask);
+            }
+        });
+        ParallelLSDSort.run(chunks, pool, chunk -> {
+            int start = ParallelLSDSort.start(length, chunk, chunks);
+            int end = ParallelLSDSort.start(length, chunk + 1, chunks);
+            System.arraycopy(keyBuffer, start, keys, start, end - start);
+            if (payload != null) payload.copyBack(start, end);
+        });
+        probe.scatter(time);
+        probe.pass();
+        probe.finish();
+        return offsets;
+    }
+
+    /**
+     * Moves a range of keys into their buckets in the scratch array
+     *
+     * @param keys      The keys to partition
+     * @param keyBuffer The scratch array for the keys
+     * @param from      The first index to move (inclusive)
+     * @param to        The last index to move (exclusive)
+     * @param positions Where the next key of every bucket goes
+     * @param shift     The lowest bit of the digit
+     * @param mask      The mask of the digit
+     */
+    private static void scatter(long[] keys, long[] keyBuffer, int from, int to, int[] positions, int shift, int mask) {
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            keyBuffer[positions[(int) (key >>> shift) & mask]++] = key;
+        }
+    }
+
+    /**
+     * Determines where every bucket starts and turns the histograms of all chunks
+     * into the positions the chunks write their next key of every bucket to
+     *
+     * @param counts The histograms of all chunks, which get replaced by the positions
+     * @param length How many keys there are
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    private static int[] offsets(int[][] counts, int length) {
+        int buckets = counts[0].length;
+        int[] offsets = new int[buckets + 1];
+        int offset = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            offsets[bucket] = offset;
+            for (int[] chunkCounts : counts) {
+                int count = chunkCounts[bucket];
+                chunkCounts[bucket] = offset;
+                offset += count;
+            }
+        }
+        offsets[buckets] = length;
+        return offsets;
+    }
+
+    /**
+     * @param offsets Where every bucket starts, followed by the number of keys
+     * @param length  How many keys there are
+     * @return Whether all keys fall into the same bucket
+     */
+    private static boolean constant(int[] offsets, int length) {
+        for (int bucket = 0; bucket < offsets.length - 1; bucket++) {
+            if (offsets[bucket + 1] - offsets[bucket] == length) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves the values belonging to the keys along with them, through a scratch array of their own type
+     */
+    private abstract static class Payload {
+
+        /**
+         * Creates the scratch array
+         *
+         * @param length How many values there are
+         * @return How many bytes the scratch array takes
+         */
+        abstract long allocate(int length);
+
+        /**
+         * Moves a range of keys into their buckets in the scratch array, together with their values
+         *
+         * @param keys      The keys to partition
+         * @param keyBuffer The scratch array for the keys
+         * @param from      The first index to move (inclusive)
+         * @param to        The last index to move (exclusive)
+         * @param positions Where the next key of every bucket goes
+         * @param shift     The lowest bit of the digit
+         * @param mask      The mask of the digit
+         */
+        abstract void scatter(long[] keys, long[] keyBuffer, int from, int to, int[] positions, int shift, int mask);
+
+        /**
+         * Copies a range of the scratch array back to the values
+         *
+         * @param from The first index to copy (inclusive)
+         * @param to   The last index to copy (exclusive)
+         */
+        abstract void copyBack(int from, int to);
+    }
+
+    private static final class IntPayload extends Payload {
+
+        private final int[] values;
+        private int[] buffer;
+
+        private IntPayload(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        long allocate(int length) {
+            buffer = new int[length];
+            return (long) Integer.BYTES * length;
+        }
+
+        @Override
+        void scatter(long[] keys, long[] keyBuffer, int from, int to, int[] positions, int shift, int mask) {
+            int[] values = this.values;
+            int[] buffer = this.buffer;
+            for (int i = from; i < to; i++) {
+                long key = keys[i];
+                int position = positions[(int) (key >>> shift) & mask]++;
+                keyBuffer[position] = key;
+                buffer[position] = values[i];
+            }
+        }
+
+        @Override
+        void copyBack(int from, int to) {
+            System.arraycopy(buffer, from, values, from, to - from);
+        }
+    }
+
+    private static final class LongPayload extends Payload {
+
+        private final long[] values;
+        private long[] buffer;
+
+        private LongPayload(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        long allocate(int length) {
+            buffer = new long[length];
+            return (long) Long.BYTES * length;
+        }
+
+        @Override
+        void scatter(long[] keys, long[] keyBuffer, int from, int to, int[] positions, int shift, int mask) {
+            long[] values = this.values;
+            long[] buffer = this.buffer;
+            for (int i = from; i < to; i++) {
+                long key = keys[i];
+                int position = positions[(int) (key >>> shift) & mask]++;
+                keyBuffer[position] = key;
+                buffer[position] = values[i];
+            }
+        }
+
+        @Override
+        void copyBack(int from, int to) {
+            System.arraycopy(buffer, from, values, from, to - from);
+        }
+    }
+
+    private static final class ObjectPayload extends Payload {
+
+        private final Object[] values;
+        private Object[] buffer;
+
+        private ObjectPayload(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        long allocate(int length) {
+            buffer = new Object[length];
+            return (long) Probe.REFERENCE_BYTES * length;
+        }
+
+        @Override
+        void scatter(long[] keys, long[] keyBuffer, int from, int to, int[] positions, int shift, int mask) {
+            Object[] values = this.values;
+            Object[] buffer = this.buffer;
+            for (int i = from; i < to; i++) {
+                long key = keys[i];
+                int position = positions[(int) (key >>> shift) & mask]++;
+                keyBuffer[position] = key;
+                buffer[position] = values[i];
+            }
+        }
+
+        @Override
+        void copyBack(int from, int to) {
+            System.arraycopy(buffer, from, values, from, to - from);
+        }
+    }
+}
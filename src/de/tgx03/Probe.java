@@ -0,0 +1,249 @@
+package de.tgx03;
+
+/**
+ * Collects what a sort does for the {@link SortListener} and the Flight Recorder.
+ * As long as there is no listener and the Flight Recorder isn't recording sorts,
+ * every sort gets {@link #NONE}, of which all methods do nothing and can therefore be removed by the compiler,
+ * so instrumenting a sort costs nothing unless somebody is interested.
+ * Phases are timed by passing the time a phase started, which returns the time it ended,
+ * so consecutive phases only read the clock once between each other.
+ */
+class Probe {
+
+    /**
+     * The probe of all sorts nobody listens to
+     */
+    static final Probe NONE = new Probe();
+    /**
+     * Only used to check whether the Flight Recorder records sorts
+     */
+    private static final SortEvent EVENT = new SortEvent();
+
+    /**
+     * How many bytes a reference takes in an array, which is 4 if the JVM compresses references and 8 otherwise
+     */
+    static final int REFERENCE_BYTES = referenceBytes();
+
+    private static volatile SortListener listener;
+
+    private Probe() {
+    }
+
+    /**
+     * Reads the size of references in arrays from the unsupported Unsafe, which is always present but can't be linked
+     * to directly without a warning, and assumes uncompressed references if that fails
+     *
+     * @return How many bytes a reference takes in an array
+     */
+    private static int referenceBytes() {
+        try {
+            return Class.forName("sun.misc.Unsafe").getField("ARRAY_OBJECT_INDEX_SCALE").getInt(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Long.BYTES;
+        }
+    }
+
+    /**
+     * Sets the listener that gets told about all sorts
+     *
+     * @param listener The listener, or null to remove the current one
+     */
+    static void listener(SortListener listener) {
+        Probe.listener = listener;
+    }
+
+    /**
+     * Starts observing a sort
+     *
+     * @param strategy How the elements get sorted
+     * @param size     How many elements get sorted
+     * @return The probe of the sort, which is {@link #NONE} if nobody listens
+     */
+    static Probe start(SortStatistics.Strategy strategy, long size) {
+        SortListener listener = Probe.listener;
+        if (listener == null && !EVENT.isEnabled()) return NONE;
+        return new Active(strategy, size, listener);
+    }
+
+    /**
+     * @return The current time, which marks the start of the first phase
+     */
+    long time() {
+        return 0;
+    }
+
+    /**
+     * Ends a phase of scanning and counting
+     *
+     * @param start When the phase started
+     * @return The current time
+     */
+    long histogram(long start) {
+        return 0;
+    }
+
+    /**
+     * Ends a phase of moving elements
+     *
+     * @param start When the phase started
+     * @return The current time
+     */
+    long scatter(long start) {
+        return 0;
+    }
+
+    /**
+     * Ends a phase of merging
+     *
+     * @param start When the phase started
+     * @return The current time
+     */
+    long merge(long start) {
+        return 0;
+    }
+
+    /**
+     * Counts an executed pass
+     */
+    void pass() {
+    }
+
+    /**
+     * Counts skipped passes
+     *
+     * @param passes How many passes were skipped
+     */
+    void skip(int passes) {
+    }
+
+    /**
+     * Sets how many passes the sort would take if it couldn't skip any,
+     * so all of those that weren't executed count as skipped
+     *
+     * @param digits How many digits the elements have
+     */
+    void digits(int digits) {
+    }
+
+    /**
+     * Counts scratch space
+     *
+     * @param bytes How many bytes the sort uses in addition
+     */
+    void scratch(long bytes) {
+    }
+
+    /**
+     * @param threads How many threads sort at once
+     */
+    void threads(int threads) {
+    }
+
+    /**
+     * Reports the sort to the listener and the Flight Recorder
+     */
+    void finish() {
+    }
+
+    /**
+     * The probe of a sort somebody listens to
+     */
+    private static final class Active extends Probe {
+
+        private final SortStatistics.Strategy strategy;
+        private final long size;
+        private final SortListener listener;
+        private final SortEvent event;
+        private final long start;
+        private int passes;
+        private int skipped;
+        private int digits;
+        private long scratch;
+        private long histogram;
+        private long scatter;
+        private long merge;
+        private int threads = 1;
+
+        private Active(SortStatistics.Strategy strategy, long size, SortListener listener) {
+            this.strategy = strategy;
+            this.size = size;
+            this.listener = listener;
+            this.event = new SortEvent();
+            this.event.begin();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        long time() {
+            return System.nanoTime();
+        }
+
+        @Override
+        long histogram(long start) {
+            long now = System.nanoTime();
+            histogram += now - start;
+            return now;
+        }
+
+        @Override
+        long scatter(long start) {
+            long now = System.nanoTime();
+            scatter += now - start;
+            return now;
+        }
+
+        @Override
+        long merge(long start) {
+            long now = System.nanoTime();
+            merge += now - start;
+            return now;
+        }
+
+        @Override
+        void pass() {
+            passes++;
+        }
+
+        @Override
+        void skip(int passes) {
+            skipped += passes;
+        }
+
+        @Override
+        void digits(int digits) {
+            this.digits = digits;
+        }
+
+        @Override
+        void scratch(long bytes) {
+            scratch += bytes;
+        }
+
+        @Override
+        void threads(int threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        void finish() {
+            long total = System.nanoTime() - start;
+            int skipped = this.skipped + Math.max(0, digits - passes);
+            event.end();
+            if (event.shouldCommit()) {
+                event.strategy = strategy.name();
+                event.size = size;
+                event.passes = passes;
+                event.skippedPasses = skipped;
+                event.scratchBytes = scratch;
+                event.histogramNanos = histogram;
+                event.scatterNanos = scatter;
+                event.mergeNanos = merge;
+                event.threads = threads;
+                event.commit();
+            }
+            if (listener != null) {
+                listener.sorted(new SortStatistics(strategy, size, passes, skipped, scratch, histogram, scatter, merge, total, threads));
+            }
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package de.tgx03;
 
-import de.tgx03.primitivelist.*;
-
+import java.io.IOException;
 import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public final class Radix {
 
@@ -35,202 +42,177 @@ public final class Radix {
         if (source.length == 0) {
             return source;
         }
-        if (numberLength > 64) numberLength = 64;
-        List<ValuedObject<E>> first = new ArrayList<>();
-        List<ValuedObject<E>> second = new ArrayList<>();
-        long position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            if (i == 0) {
-                for (E current : source) {
-                    ValuedObject<E> entry = new ValuedObject<>(current, calculator.value(current));
-                    long list = entry.value & position;
-                    if (list == 0) {
-                        first.add(entry);
-                    } else {
-                        second.add(entry);
-                    }
-                }
-            } else {
-                Tupel<List<ValuedObject<E>>> set = sort(first, second, position);
-                first = set.first;
-                second = set.second;
-            }
-            position = position << 1;
+        int[] indices = sortedIndices(source, 0, source.length, numberLength, calculator);
+        E[] result = source.clone();
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = source[indices[i]];
         }
-        return mergeLists(first, second, numberLength == 64, source[0].getClass());
+        return result;
     }
 
-    private static <E> Tupel<List<ValuedObject<E>>> sort(List<ValuedObject<E>> first, List<ValuedObject<E>> second, final long position) {
-        int size = Math.max(first.size(), second.size());
-        List<ValuedObject<E>> firstBucket = new ArrayList<>(size);
-        List<ValuedObject<E>> secondBucket = new ArrayList<>(size);
-        for (ValuedObject<E> current : first) {
-            long list = current.value & position;
-            if (list == 0) {
-                firstBucket.add(current);
-            } else {
-                secondBucket.add(current);
-            }
+    /**
+     * Sorts a range of a given object array in place using radix sort
+     * The sort is stable, so objects with the same value keep their order
+     *
+     * @param array      The array to sort
+     * @param fromIndex  The first index to sort (inclusive)
+     * @param toIndex    The last index to sort (exclusive)
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of object to sort
+     */
+    public static <E> void sort(E[] array, int fromIndex, int toIndex, ObjectValue<E> calculator) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int[] indices = sortedIndices(array, fromIndex, toIndex, 64, calculator);
+        Object[] sorted = new Object[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            sorted[i] = array[indices[i]];
         }
-        for (ValuedObject<E> current : second) {
-            long list = current.value & position;
-            if (list == 0) {
-                firstBucket.add(current);
-            } else {
-                secondBucket.add(current);
-            }
+        System.arraycopy(sorted, 0, array, fromIndex, sorted.length);
+    }
+
+    /**
+     * Sorts a given object array by a value wider than 64 bits using radix sort
+     * The value consists of several words, where word 0 is the most significant one
+     * and every word is ordered as a signed number.
+     * The words are sorted starting with the least significant one and words that are equal for all objects are skipped
+     * The sort is stable, so objects with the same value keep their order
+     *
+     * @param source     The source array
+     * @param words      How many words the value of an object consists of
+     * @param calculator How to determine the words of the value of an object
+     * @param <E>        The type of object to sort
+     * @return The sorted array
+     */
+    public static <E> E[] sort(E[] source, int words, WideObjectValue<E> calculator) {
+        if (words < 1) throw new IllegalArgumentException("A value needs at least one word, but had " + words);
+        if (source.length == 0) {
+            return source;
         }
-        return new Tupel<>(firstBucket, secondBucket);
-    }
-
-    private static <E> E[] mergeLists(List<ValuedObject<E>> first, List<ValuedObject<E>> second, boolean negative, Class<?> EClass) {
-        try {
-            E[] result = (E[]) Array.newInstance(EClass, first.size() + second.size());
-            if (negative) {
-                Thread copier1 = new Thread(new Copier<>(second, result, 0));
-                copier1.start();
-                Thread copier2 = new Thread(new Copier<>(first, result, second.size()));
-                copier2.start();
-                copier1.join();
-                copier2.join();
-            } else {
-                Thread copier1 = new Thread(new Copier<>(first, result, 0));
-                copier1.start();
-                Thread copier2 = new Thread(new Copier<>(second, result, first.size()));
-                copier2.start();
-                copier1.join();
-                copier2.join();
+        int length = source.length;
+        long[] keys = new long[length];
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            indices[i] = i;
+        }
+        long[] keyBuffer = new long[length];
+        int[] indexBuffer = new int[length];
+        int[] counts = new int[1 << DigitWidth.BITS_11.bits];
+        for (int word = words - 1; word >= 0; word--) {
+            for (int i = 0; i < length; i++) {
+                keys[i] = calculator.value(source[indices[i]], word);
             }
-            return result;
-        } catch (InterruptedException e) {
-            System.err.println(e.getMessage());
-            return null;
+            LSDSort.sort(keys, indices, 0, length, keyBuffer, indexBuffer, counts, 64, true, DigitWidth.BITS_11.bits);
         }
+        E[] result = source.clone();
+        for (int i = 0; i < length; i++) {
+            result[i] = source[indices[i]];
+        }
+        return result;
     }
 
     /**
-     * Sorts a given byte array using radix sort
-     * This method assumes that all 8 bits are relevant
+     * Sorts a given object array by several values using radix sort
+     * Objects are ordered by the first value, objects with the same first value by the second one and so on
+     * The sort is stable, so objects with the same values keep their order
      *
      * @param source The source array
+     * @param first  The most significant value of an object
+     * @param more   The less significant values of an object, in descending significance
+     * @param <E>    The type of object to sort
      * @return The sorted array
      */
-    public static byte[] sort(byte[] source) {
-        return sort(source, 8);
+    @SafeVarargs
+    public static <E> E[] sort(E[] source, ObjectValue<E> first, ObjectValue<E>... more) {
+        return sort(source, more.length + 1, (object, word) -> word == 0 ? first.value(object) : more[word - 1].value(object));
     }
 
     /**
-     * Sorts a given byte array using radix sort
-     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
-     * but if set too low the result is wrong
+     * Determines in which order the objects of a range have to be arranged to be sorted
      *
-     * @param source       The source array
-     * @param numberLength How many bits are relevant for sorting
-     * @return The sorted array
+     * @param source       The objects to sort
+     * @param from         The first index to sort (inclusive)
+     * @param to           The last index to sort (exclusive)
+     * @param numberLength How many bits of the absolute values are relevant
+     * @param calculator   How to determine the absolute value of an object
+     * @param <E>          The type of object to sort
+     * @return The indices of the objects in sorted order
      */
-    public static byte[] sort(byte[] source, int numberLength) {
-        if (numberLength > 8) numberLength = 8;
-        ByteList[] first = new ByteList[2];
-        ByteList[] second = new ByteList[2];
-        for (int i = 0; i < first.length; i++) {
-            first[i] = new ByteList();
-            second[i] = new ByteList();
-        }
-        run current = run.FIRST;
-        byte position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            switch (current) {
-                case FIRST -> {
-                    for (byte element : source) {
-                        int list = element & position;
-                        if (list == 0) {
-                            first[0].add(element);
-                        } else {
-                            first[1].add(element);
-                        }
-                    }
-                    current = run.FIRSTSOURCE;
-                }
-                case FIRSTSOURCE -> {
-                    second = sortPosition(first, position);
-                    current = run.SECONDSOURCE;
-                }
-                case SECONDSOURCE -> {
-                    first = sortPosition(second, position);
-                    current = run.FIRSTSOURCE;
-                }
-            }
-            position = (byte) (position << 1);
+    private static <E> int[] sortedIndices(E[] source, int from, int to, int numberLength, ObjectValue<E> calculator) {
+        int length = to - from;
+        long[] keys = new long[length];
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = calculator.value(source[from + i]);
+            indices[i] = from + i;
         }
-        switch (current) {
-
-            case FIRSTSOURCE -> {
-                return mergeLists(first, numberLength == 8);
-            }
-
-            case SECONDSOURCE -> {
-                return mergeLists(second, numberLength == 8);
-            }
+        LSDSort.sort(keys, indices, 0, length, new long[length], new int[length], numberLength, DigitWidth.BITS_11.bits);
+        return indices;
+    }
 
-            default -> throw new Error("Don't know what happened");
-        }
+    /**
+     * Sorts a given String array using most significant digit radix sort
+     * The order is the same as the one of {@link String#compareTo(String)}
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static String[] sort(String[] source) {
+        String[] result = source.clone();
+        StringSort.sort(result, 0, result.length);
+        return result;
     }
 
     /**
-     * Sorts 2 given ByteLists at the given position
-     * Keep in mind that the position argument isn't a count of the current position,
-     * but an int where every place is 0 except the one bit to be sorted by
+     * Sorts a given list of character sequences in place using most significant digit radix sort
+     * The order is the same as the one of {@link CharSequence#compare(CharSequence, CharSequence)}
      *
-     * @param source   The source lists
-     * @param position The current position to sort by
-     * @return Two ByteLists which were sorted at the given position
+     * @param list The list to sort
+     * @param <T>  The type of character sequence in the list
      */
-    private static ByteList[] sortPosition(ByteList[] source, byte position) {
-        ByteList[] result = new ByteList[2];
-        int size = Math.max(source[0].size(), source[1].size());
-        result[0] = new ByteList(size);
-        result[1] = new ByteList(size);
-        for (int i = 0; i <= 1; i++) {
-            for (int x = 0; x < source[i].size(); x++) {
-                byte element = source[i].get(x);
-                int list = element & position;
-                if (list == 0) {
-                    result[0].add(element);
-                } else {
-                    result[1].add(element);
-                }
-            }
+    @SuppressWarnings("unchecked")
+    public static <T extends CharSequence> void sort(List<T> list) {
+        CharSequence[] sorted = list.toArray(new CharSequence[0]);
+        StringSort.sort(sorted, 0, sorted.length);
+        ListIterator<T> iterator = list.listIterator();
+        for (CharSequence element : sorted) {
+            iterator.next();
+            iterator.set((T) element);
         }
-        return result;
     }
 
     /**
-     * Merges 2 ByteLists from an array into one byte array
+     * Sorts a given array of byte arrays using most significant digit radix sort
+     * The bytes are compared as unsigned numbers, so the order is the same as the one of
+     * {@link java.util.Arrays#compareUnsigned(byte[], byte[])} and for UTF-8 encoded strings the order of their code points
      *
-     * @param source The source
-     * @return A long array holding the elements from the source
+     * @param source The source array
+     * @return The sorted array
      */
-    private static byte[] mergeLists(ByteList[] source, boolean negative) {
-        byte[] result = new byte[source[0].size() + source[1].size()];
-        byte[] first = source[0].toArray();
-        byte[] second = source[1].toArray();
-        mergeArrays(first, first.length, second, second.length, result, negative);
+    public static byte[][] sort(byte[][] source) {
+        byte[][] result = source.clone();
+        StringSort.sort(result, 0, result.length);
         return result;
     }
 
     /**
-     * Sorts a given char array using radix sort
-     * This method assumes that all 16 bits are relevant
+     * Sorts a given byte array using counting sort
+     * This method assumes that all 8 bits are relevant, so the values are ordered as signed numbers
      *
      * @param source The source array
      * @return The sorted array
      */
-    public static char[] sort(char[] source) {
-        return sort(source, 16);
+    public static byte[] sort(byte[] source) {
+        if (source.length <= SmallSort.THRESHOLD) {
+            byte[] result = source.clone();
+            SmallSort.sort(result, 0, result.length);
+            return result;
+        }
+        return sort(source, 8);
     }
 
     /**
-     * Sorts a given int array using radix sort
+     * Sorts a given byte array using counting sort
+     * If all 8 bits are relevant, the values are ordered as signed numbers
      * Make sure to correctly set how many bits are relevant, as lower values increase performance,
      * but if set too low the result is wrong
      *
@@ -238,109 +220,63 @@ public final class Radix {
      * @param numberLength How many bits are relevant for sorting
      * @return The sorted array
      */
-    public static char[] sort(char[] source, int numberLength) {
-        if (numberLength > 16) numberLength = 16;
-        CharList[] first = new CharList[2];
-        CharList[] second = new CharList[2];
-        for (int i = 0; i < first.length; i++) {
-            first[i] = new CharList();
-            second[i] = new CharList();
-        }
-        run current = run.FIRST;
-        char position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            switch (current) {
-                case FIRST -> {
-                    for (char element : source) {
-                        char list = (char) (element & position);
-                        if (list == 0) {
-                            first[0].add(element);
-                        } else {
-                            first[1].add(element);
-                        }
-                    }
-                    current = run.FIRSTSOURCE;
-                }
-                case FIRSTSOURCE -> {
-                    second = sortPosition(first, position);
-                    current = run.SECONDSOURCE;
-                }
-                case SECONDSOURCE -> {
-                    first = sortPosition(second, position);
-                    current = run.FIRSTSOURCE;
-                }
-            }
-            position = (char) (position << 1);
-        }
-        switch (current) {
-
-            case FIRSTSOURCE -> {
-                return mergeLists(first, numberLength == 16);
-            }
-
-            case SECONDSOURCE -> {
-                return mergeLists(second, numberLength == 16);
-            }
-
-            default -> throw new Error("Don't know what happened");
-        }
+    public static byte[] sort(byte[] source, int numberLength) {
+        byte[] result = new byte[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, numberLength);
+        return result;
     }
 
     /**
-     * Sorts 2 given IntLists at the given position
-     * Keep in mind that the position argument isn't a count of the current position,
-     * but an int where every place is 0 except the one bit to be sorted by
+     * Sorts a given char array using counting sort
+     * The values are ordered as unsigned numbers
      *
-     * @param source   The source lists
-     * @param position The current position to sort by
-     * @return Two IntLists which were sorted at the given position
+     * @param source The source array
+     * @return The sorted array
      */
-    private static CharList[] sortPosition(CharList[] source, char position) {
-        CharList[] result = new CharList[2];
-        int size = Math.max(source[0].size(), source[1].size());
-        result[0] = new CharList(size);
-        result[1] = new CharList(size);
-        for (int i = 0; i <= 1; i++) {
-            for (int x = 0; x < source[i].size(); x++) {
-                char element = source[i].get(x);
-                int list = element & position;
-                if (list == 0) {
-                    result[0].add(element);
-                } else {
-                    result[1].add(element);
-                }
-            }
+    public static char[] sort(char[] source) {
+        if (source.length <= SmallSort.THRESHOLD) {
+            char[] result = source.clone();
+            SmallSort.sort(result, 0, result.length);
+            return result;
         }
-        return result;
+        return sort(source, 16);
     }
 
     /**
-     * Merges 2 IntLists from an array into one long array
+     * Sorts a given char array using counting sort
+     * The values are ordered as unsigned numbers
+     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
+     * but if set too low the result is wrong
      *
-     * @param source The source
-     * @return A long array holding the elements from the source
+     * @param source       The source array
+     * @param numberLength How many bits are relevant for sorting
+     * @return The sorted array
      */
-    private static char[] mergeLists(CharList[] source, boolean negative) {
-        char[] result = new char[source[0].size() + source[1].size()];
-        char[] first = source[0].toArray();
-        char[] second = source[1].toArray();
-        mergeArrays(first, first.length, second, second.length, result, negative);
+    public static char[] sort(char[] source, int numberLength) {
+        char[] result = new char[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, numberLength);
         return result;
     }
 
     /**
-     * Sorts a given short array using radix sort
-     * This method assumes that all 16 bits are relevant
+     * Sorts a given short array using counting sort
+     * This method assumes that all 16 bits are relevant, so the values are ordered as signed numbers
      *
      * @param source The source array
      * @return The sorted array
      */
     public static short[] sort(short[] source) {
+        if (source.length <= SmallSort.THRESHOLD) {
+            short[] result = source.clone();
+            SmallSort.sort(result, 0, result.length);
+            return result;
+        }
         return sort(source, 16);
     }
 
     /**
-     * Sorts a given short array using radix sort
+     * Sorts a given short array using counting sort
+     * If all 16 bits are relevant, the values are ordered as signed numbers
      * Make sure to correctly set how many bits are relevant, as lower values increase performance,
      * but if set too low the result is wrong
      *
@@ -349,108 +285,64 @@ public final class Radix {
      * @return The sorted array
      */
     public static short[] sort(short[] source, int numberLength) {
-        if (numberLength > 16) numberLength = 16;
-        ShortList[] first = new ShortList[2];
-        ShortList[] second = new ShortList[2];
-        for (int i = 0; i < first.length; i++) {
-            first[i] = new ShortList();
-            second[i] = new ShortList();
-        }
-        run current = run.FIRST;
-        short position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            switch (current) {
-                case FIRST -> {
-                    for (short element : source) {
-                        int list = element & position;
-                        if (list == 0) {
-                            first[0].add(element);
-                        } else {
-                            first[1].add(element);
-                        }
-                    }
-                    current = run.FIRSTSOURCE;
-                }
-                case FIRSTSOURCE -> {
-                    second = sortPosition(first, position);
-                    current = run.SECONDSOURCE;
-                }
-                case SECONDSOURCE -> {
-                    first = sortPosition(second, position);
-                    current = run.FIRSTSOURCE;
-                }
-            }
-            position = (short) (position << 1);
-        }
-        switch (current) {
-
-            case FIRSTSOURCE -> {
-                return mergeLists(first, numberLength == 16);
-            }
-
-            case SECONDSOURCE -> {
-                return mergeLists(second, numberLength == 16);
-            }
+        short[] result = new short[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, numberLength);
+        return result;
+    }
 
-            default -> throw new Error("Don't know what happened");
-        }
+    /**
+     * Sorts a given int array using radix sort
+     * This method assumes that all 32 bits are relevant
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static int[] sort(int[] source) {
+        return sort(source, 32);
     }
 
     /**
-     * Sorts 2 given ShortLists at the given position
-     * Keep in mind that the position argument isn't a count of the current position,
-     * but a short where every place is 0 except the one bit to be sorted by
+     * Sorts a given int array using radix sort
+     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
+     * but if set too low the result is wrong
      *
-     * @param source   The source lists
-     * @param position The current position to sort by
-     * @return Two IntLists which were sorted at the given position
+     * @param source       The source array
+     * @param numberLength How many bits are relevant for sorting
+     * @return The sorted array
      */
-    private static ShortList[] sortPosition(ShortList[] source, short position) {
-        ShortList[] result = new ShortList[2];
-        int size = Math.max(source[0].size(), source[1].size());
-        result[0] = new ShortList(size);
-        result[1] = new ShortList(size);
-        for (int i = 0; i <= 1; i++) {
-            for (int x = 0; x < source[i].size(); x++) {
-                short element = source[i].get(x);
-                int list = (element & position);
-                if (list == 0) {
-                    result[0].add(element);
-                } else {
-                    result[1].add(element);
-                }
-            }
-        }
-        return result;
+    public static int[] sort(int[] source, int numberLength) {
+        return sort(source, numberLength, DigitWidth.BITS_8);
     }
 
     /**
-     * Merges 2 ShortLists from an array into one long array
+     * Sorts a given int array using radix sort with the given digit width
+     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
+     * but if set too low the result is wrong
      *
-     * @param source The source
-     * @return A long array holding the elements from the source
+     * @param source       The source array
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitWidth   How many bits are sorted per pass
+     * @return The sorted array
      */
-    private static short[] mergeLists(ShortList[] source, boolean negative) {
-        short[] result = new short[source[0].size() + source[1].size()];
-        short[] first = source[0].toArray();
-        short[] second = source[1].toArray();
-        mergeArrays(first, first.length, second, second.length, result, negative);
+    public static int[] sort(int[] source, int numberLength, DigitWidth digitWidth) {
+        int[] result = source.clone();
+        LSDSort.sort(result, 0, result.length, new int[result.length], numberLength, digitWidth.bits);
         return result;
     }
 
     /**
-     * Sorts a given int array using radix sort
-     * This method assumes that all 32 bits are relevant
+     * Sorts a given long array using radix sort
+     * This method assumes that all 64 bits are relevant
      *
      * @param source The source array
      * @return The sorted array
      */
-    public static int[] sort(int[] source) {
-        return sort(source, 32);
+    public static long[] sort(long[] source) {
+        return sort(source, 64);
     }
 
     /**
-     * Sorts a given int array using radix sort
+     * Sorts a given long array using radix sort
      * Make sure to correctly set how many bits are relevant, as lower values increase performance,
      * but if set too low the result is wrong
      *
@@ -458,265 +350,1645 @@ public final class Radix {
      * @param numberLength How many bits are relevant for sorting
      * @return The sorted array
      */
-    public static int[] sort(int[] source, int numberLength) {
-        if (numberLength > 32) numberLength = 32;
-        IntList[] first = new IntList[2];
-        IntList[] second = new IntList[2];
-        for (int i = 0; i < first.length; i++) {
-            first[i] = new IntList();
-            second[i] = new IntList();
-        }
-        run current = run.FIRST;
-        int position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            switch (current) {
-                case FIRST -> {
-                    for (int element : source) {
-                        int list = element & position;
-                        if (list == 0) {
-                            first[0].add(element);
-                        } else {
-                            first[1].add(element);
-                        }
-                    }
-                    current = run.FIRSTSOURCE;
-                }
-                case FIRSTSOURCE -> {
-                    second = sortPosition(first, position);
-                    current = run.SECONDSOURCE;
-                }
-                case SECONDSOURCE -> {
-                    first = sortPosition(second, position);
-                    current = run.FIRSTSOURCE;
-                }
-            }
-            position = position << 1;
-        }
-        switch (current) {
-
-            case FIRSTSOURCE -> {
-                return mergeLists(first, numberLength == 32);
-            }
+    public static long[] sort(long[] source, int numberLength) {
+        return sort(source, numberLength, DigitWidth.BITS_11);
+    }
 
-            case SECONDSOURCE -> {
-                return mergeLists(second, numberLength == 32);
-            }
+    /**
+     * Sorts a given long array using radix sort with the given digit width
+     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
+     * but if set too low the result is wrong
+     *
+     * @param source       The source array
+     * @param numberLength How many bits are relevant for sorting
+     * @param digitWidth   How many bits are sorted per pass
+     * @return The sorted array
+     */
+    public static long[] sort(long[] source, int numberLength, DigitWidth digitWidth) {
+        long[] result = source.clone();
+        LSDSort.sort(result, 0, result.length, new long[result.length], numberLength, digitWidth.bits);
+        return result;
+    }
 
-            default -> throw new Error("Don't know what happened");
-        }
+    /**
+     * Sorts a given float array using radix sort
+     * The order is the same as the one of {@link Float#compare(float, float)},
+     * so -0.0 comes before 0.0 and NaN comes last
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static float[] sort(float[] source) {
+        return sort(source, DigitWidth.BITS_8);
     }
 
     /**
-     * Sorts 2 given IntLists at the given position
-     * Keep in mind that the position argument isn't a count of the current position,
-     * but an int where every place is 0 except the one bit to be sorted by
+     * Sorts a given float array using radix sort with the given digit width
+     * The order is the same as the one of {@link Float#compare(float, float)},
+     * so -0.0 comes before 0.0 and NaN comes last
      *
-     * @param source   The source lists
-     * @param position The current position to sort by
-     * @return Two IntLists which were sorted at the given position
+     * @param source     The source array
+     * @param digitWidth How many bits are sorted per pass
+     * @return The sorted array
      */
-    private static IntList[] sortPosition(IntList[] source, int position) {
-        IntList[] result = new IntList[2];
-        int size = Math.max(source[0].size(), source[1].size());
-        result[0] = new IntList(size);
-        result[1] = new IntList(size);
-        for (int i = 0; i <= 1; i++) {
-            for (int x = 0; x < source[i].size(); x++) {
-                int element = source[i].get(x);
-                int list = element & position;
-                if (list == 0) {
-                    result[0].add(element);
-                } else {
-                    result[1].add(element);
-                }
-            }
-        }
+    public static float[] sort(float[] source, DigitWidth digitWidth) {
+        int[] keys = new int[source.length];
+        FloatKeys.toKeys(source, 0, source.length, keys, 0);
+        LSDSort.sort(keys, 0, keys.length, new int[keys.length], 32, digitWidth.bits);
+        float[] result = new float[source.length];
+        FloatKeys.toFloats(keys, 0, keys.length, result, 0);
         return result;
     }
 
     /**
-     * Merges 2 IntLists from an array into one long array
+     * Sorts a given double array using radix sort
+     * The order is the same as the one of {@link Double#compare(double, double)},
+     * so -0.0 comes before 0.0 and NaN comes last
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static double[] sort(double[] source) {
+        return sort(source, DigitWidth.BITS_11);
+    }
+
+    /**
+     * Sorts a given double array using radix sort with the given digit width
+     * The order is the same as the one of {@link Double#compare(double, double)},
+     * so -0.0 comes before 0.0 and NaN comes last
      *
-     * @param source The source
-     * @return A long array holding the elements from the source
+     * @param source     The source array
+     * @param digitWidth How many bits are sorted per pass
+     * @return The sorted array
      */
-    private static int[] mergeLists(IntList[] source, boolean negative) {
-        int[] result = new int[source[0].size() + source[1].size()];
-        int[] first = source[0].toArray();
-        int[] second = source[1].toArray();
-        mergeArrays(first, first.length, second, second.length, result, negative);
+    public static double[] sort(double[] source, DigitWidth digitWidth) {
+        long[] keys = new long[source.length];
+        FloatKeys.toKeys(source, 0, source.length, keys, 0);
+        LSDSort.sort(keys, 0, keys.length, new long[keys.length], 64, digitWidth.bits);
+        double[] result = new double[source.length];
+        FloatKeys.toDoubles(keys, 0, keys.length, result, 0);
         return result;
     }
 
     /**
-     * Sorts a given long array using radix sort
-     * This method assumes that all 64 bits are relevant
+     * Sorts a given byte array using counting sort on all workers of the common {@link ForkJoinPool}
+     * Every worker counts a part of the array with its own counters
+     * The values are ordered as signed numbers
      *
      * @param source The source array
      * @return The sorted array
      */
-    public static long[] sort(long[] source) {
-        return sort(source, 64);
+    public static byte[] parallelSort(byte[] source) {
+        byte[] result = new byte[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, ForkJoinPool.commonPool());
+        return result;
     }
 
     /**
-     * Sorts a given long array using radix sort
-     * Make sure to correctly set how many bits are relevant, as lower values increase performance,
-     * but if set too low the result is wrong
+     * Sorts a given short array using counting sort on all workers of the common {@link ForkJoinPool}
+     * Every worker counts a part of the array with its own counters
+     * The values are ordered as signed numbers
      *
-     * @param source       The source array
-     * @param numberLength How many bits are relevant for sorting
+     * @param source The source array
      * @return The sorted array
      */
-    public static long[] sort(long[] source, int numberLength) {
-        if (numberLength > 64) numberLength = 64;
-        LongList[] first = new LongList[2];
-        LongList[] second = new LongList[2];
-        for (int i = 0; i < first.length; i++) {
-            first[i] = new LongList();
-            second[i] = new LongList();
-        }
-        run current = run.FIRST;
-        long position = 1;
-        for (int i = 0; i < numberLength; i++) {
-            switch (current) {
-                case FIRST -> {
-                    for (long element : source) {
-                        long list = element & position;
-                        if (list == 0) {
-                            first[0].add(element);
-                        } else {
-                            first[1].add(element);
-                        }
-                    }
-                    current = run.FIRSTSOURCE;
-                }
-                case FIRSTSOURCE -> {
-                    second = sortPosition(first, position);
-                    current = run.SECONDSOURCE;
-                }
-                case SECONDSOURCE -> {
-                    first = sortPosition(second, position);
-                    current = run.FIRSTSOURCE;
-                }
-            }
-            position = position << 1;
-        }
-        switch (current) {
+    public static short[] parallelSort(short[] source) {
+        short[] result = new short[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
 
-            case FIRSTSOURCE -> {
-                return mergeLists(first, numberLength == 64);
-            }
+    /**
+     * Sorts a given char array using counting sort on all workers of the common {@link ForkJoinPool}
+     * Every worker counts a part of the array with its own counters
+     * The values are ordered as unsigned numbers
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static char[] parallelSort(char[] source) {
+        char[] result = new char[source.length];
+        CountingSort.sort(source, 0, source.length, result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
 
-            case SECONDSOURCE -> {
-                return mergeLists(second, numberLength == 64);
-            }
+    /**
+     * Sorts a given int array using radix sort on all workers of the common {@link ForkJoinPool}
+     * This method assumes that all 32 bits are relevant
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static int[] parallelSort(int[] source) {
+        int[] result = source.clone();
+        ParallelLSDSort.sort(result, 0, result.length, new int[result.length], 32, DigitWidth.BITS_8.bits, ForkJoinPool.commonPool());
+        return result;
+    }
 
-            default -> throw new Error("Don't know what happened");
-        }
+    /**
+     * Sorts a given long array using radix sort on all workers of the common {@link ForkJoinPool}
+     * This method assumes that all 64 bits are relevant
+     *
+     * @param source The source array
+     * @return The sorted array
+     */
+    public static long[] parallelSort(long[] source) {
+        long[] result = source.clone();
+        ParallelLSDSort.sort(result, 0, result.length, new long[result.length], 64, DigitWidth.BITS_11.bits, ForkJoinPool.commonPool());
+        return result;
     }
 
     /**
-     * Sorts 2 given LongLists at the given position
-     * Keep in mind that the position argument isn't a count of the current position,
-     * but a long where every place is 0 except the one bit to be sorted by
+     * Sorts a given float array using radix sort on all workers of the common {@link ForkJoinPool}
+     * The order is the same as the one of {@link Float#compare(float, float)}
      *
-     * @param source   The source lists
-     * @param position The current position to sort by
-     * @return Two LongLists which were sorted at the given position
+     * @param source The source array
+     * @return The sorted array
      */
-    private static LongList[] sortPosition(LongList[] source, long position) {
-        LongList[] result = new LongList[2];
-        int size = Math.max(source[0].size(), source[1].size());
-        result[0] = new LongList(size);
-        result[1] = new LongList(size);
-        for (int i = 0; i <= 1; i++) {
-            for (int x = 0; x < source[i].size(); x++) {
-                long element = source[i].get(x);
-                long list = element & position;
-                if (list == 0) {
-                    result[0].add(element);
-                } else {
-                    result[1].add(element);
-                }
-            }
-        }
+    public static float[] parallelSort(float[] source) {
+        int[] keys = new int[source.length];
+        FloatKeys.toKeys(source, 0, source.length, keys, 0);
+        ParallelLSDSort.sort(keys, 0, keys.length, new int[keys.length], 32, DigitWidth.BITS_8.bits, ForkJoinPool.commonPool());
+        float[] result = new float[source.length];
+        FloatKeys.toFloats(keys, 0, keys.length, result, 0);
         return result;
     }
 
     /**
-     * Merges 2 LongLists from an array into one long array
+     * Sorts a given double array using radix sort on all workers of the common {@link ForkJoinPool}
+     * The order is the same as the one of {@link Double#compare(double, double)}
      *
-     * @param source The source
-     * @return A long array holding the elements from the source
+     * @param source The source array
+     * @return The sorted array
      */
-    private static long[] mergeLists(LongList[] source, boolean negative) {
-        long[] result = new long[source[0].size() + source[1].size()];
-        long[] first = source[0].toArray();
-        long[] second = source[1].toArray();
-        mergeArrays(first, first.length, second, second.length, result, negative);
+    public static double[] parallelSort(double[] source) {
+        long[] keys = new long[source.length];
+        FloatKeys.toKeys(source, 0, source.length, keys, 0);
+        ParallelLSDSort.sort(keys, 0, keys.length, new long[keys.length], 64, DigitWidth.BITS_11.bits, ForkJoinPool.commonPool());
+        double[] result = new double[source.length];
+        FloatKeys.toDoubles(keys, 0, keys.length, result, 0);
         return result;
     }
 
     /**
-     * Merges 2 given arrays together.
-     * Also orders them correctly if the values can be negative
+     * Determines in which order the elements of a given int array have to be arranged to be sorted
+     * The keys are ordered as signed numbers
+     * The sort is stable, so the indices of equal keys stay in ascending order
      *
-     * @param firstArr        The first source array
-     * @param firstArrLength  How long the first source array is
-     * @param secondArr       The second source array
-     * @param secondArrLength How long the second array is
-     * @param targetArr       The target array
-     * @param negative        Whether the values may be negative
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
      */
-    private static void mergeArrays(Object firstArr, int firstArrLength, Object secondArr, int secondArrLength, Object targetArr, boolean negative) {
-        if (negative) {
-            System.arraycopy(secondArr, 0, targetArr, 0, secondArrLength);
-            System.arraycopy(firstArr, 0, targetArr, secondArrLength, firstArrLength);
-        } else {
-            System.arraycopy(firstArr, 0, targetArr, 0, firstArrLength);
-            System.arraycopy(secondArr, 0, targetArr, firstArrLength, secondArrLength);
-        }
+    public static int[] argsort(int[] keys) {
+        return argsort(keys, null);
     }
 
-    private enum run {FIRST, FIRSTSOURCE, SECONDSOURCE}
+    /**
+     * Determines in which order the elements of a given int array have to be arranged to be sorted,
+     * using all workers of the common {@link ForkJoinPool}
+     * The keys are ordered as signed numbers
+     * The sort is stable, so the indices of equal keys stay in ascending order
+     *
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
+     */
+    public static int[] parallelArgsort(int[] keys) {
+        return argsort(keys, ForkJoinPool.commonPool());
+    }
 
     /**
-     * This interface is used to determine the absolute value of an object,
-     * as comparisons often don't work for radix sort
+     * Determines in which order the elements of a given long array have to be arranged to be sorted
+     * The keys are ordered as signed numbers
+     * The sort is stable, so the indices of equal keys stay in ascending order
      *
-     * @param <E> The type of object to determine the value of
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
      */
-    @FunctionalInterface
-    public interface ObjectValue<E> {
+    public static int[] argsort(long[] keys) {
+        return argsort(keys, null);
+    }
 
-        /**
-         * Determines the absolute value of an object
-         *
-         * @param object The object to determine the value of
-         * @return The value of the object
-         */
-        long value(E object);
+    /**
+     * Determines in which order the elements of a given long array have to be arranged to be sorted,
+     * using all workers of the common {@link ForkJoinPool}
+     * The keys are ordered as signed numbers
+     * The sort is stable, so the indices of equal keys stay in ascending order
+     *
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
+     */
+    public static int[] parallelArgsort(long[] keys) {
+        return argsort(keys, ForkJoinPool.commonPool());
+    }
 
+    /**
+     * Determines in which order the elements of a given double array have to be arranged to be sorted
+     * The keys are ordered the same way as {@link Double#compare(double, double)}
+     * The sort is stable, so the indices of equal keys stay in ascending order
+     *
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
+     */
+    public static int[] argsort(double[] keys) {
+        return argsort(keys, null);
     }
 
     /**
-     * Unboxes the contents of a list and copies them into an array
+     * Determines in which order the elements of a given double array have to be arranged to be sorted,
+     * using all workers of the common {@link ForkJoinPool}
+     * The keys are ordered the same way as {@link Double#compare(double, double)}
+     * The sort is stable, so the indices of equal keys stay in ascending order
      *
-     * @param <E> The type of value this copier copies
+     * @param keys The keys to sort by
+     * @return The indices of the keys in sorted order
      */
-    private record Copier<E>(List<ValuedObject<E>> source, E[] target, int targetPosition) implements Runnable {
+    public static int[] parallelArgsort(double[] keys) {
+        return argsort(keys, ForkJoinPool.commonPool());
+    }
 
-        public void run() {
-            for (int i = 0; i < source.size(); i++) {
-                target[i + targetPosition] = source.get(i).object;
-            }
+    /**
+     * Determines the sorting permutation of an int array
+     * Every key gets packed into a long together with its index, with the key in the lower and the index in the upper half.
+     * Only the lower half gets sorted, while the index just moves along,
+     * which saves a separate array for the indices and keeps each pass to a single stream of longs
+     *
+     * @param keys The keys to sort by
+     * @param pool The pool to sort on, or null to sort on the current thread
+     * @return The indices of the keys in sorted order
+     */
+    private static int[] argsort(int[] keys, ForkJoinPool pool) {
+        int length = keys.length;
+        long[] packed = new long[length];
+        for (int i = 0; i < length; i++) {
+            packed[i] = ((long) i << 32) | ((keys[i] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        if (pool == null) {
+            LSDSort.sort(packed, 0, length, new long[length], 32, DigitWidth.BITS_11.bits);
+        } else {
+            ParallelLSDSort.sort(packed, 0, length, new long[length], 32, DigitWidth.BITS_11.bits, pool);
+        }
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (int) (packed[i] >>> 32);
         }
+        return result;
+    }
+
+    /**
+     * Determines the sorting permutation of a double array
+     *
+     * @param keys The keys to sort by
+     * @param pool The pool to sort on, or null to sort on the current thread
+     * @return The indices of the keys in sorted order
+     */
+    private static int[] argsort(double[] keys, ForkJoinPool pool) {
+        long[] converted = new long[keys.length];
+        FloatKeys.toKeys(keys, 0, keys.length, converted, 0);
+        return sortIndices(converted, pool);
     }
 
-    private record ValuedObject<T>(T object, long value) {
+    /**
+     * Determines the sorting permutation of a long array
+     *
+     * @param keys The keys to sort by
+     * @param pool The pool to sort on, or null to sort on the current thread
+     * @return The indices of the keys in sorted order
+     */
+    private static int[] argsort(long[] keys, ForkJoinPool pool) {
+        return sortIndices(keys.clone(), pool);
     }
 
-    private record Tupel<K>(K first, K second) {
+    /**
+     * Sorts an array of keys and returns where each key came from
+     *
+     * @param keys The keys to sort, which get modified
+     * @param pool The pool to sort on, or null to sort on the current thread
+     * @return The indices of the keys in sorted order
+     */
+    private static int[] sortIndices(long[] keys, ForkJoinPool pool) {
+        int length = keys.length;
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            indices[i] = i;
+        }
+        int digitBits = DigitWidth.BITS_11.bits;
+        if (pool == null) {
+            LSDSort.sort(keys, indices, 0, length, new long[length], new int[length], 64, digitBits);
+        } else {
+            int[][] counts = new int[ParallelLSDSort.chunks(length, pool)][1 << digitBits];
+            ParallelLSDSort.sort(keys, indices, 0, length, new long[length], new int[length], counts, 64, true, digitBits, SmallSort.THRESHOLD, pool);
+        }
+        return indices;
+    }
+
+    /**
+     * Merges long arrays which are already sorted into a single sorted array
+     * The values are ordered as signed numbers
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static long[] merge(long[]... shards) {
+        RadixMerger<long[]> merger = RadixMerger.of(shards);
+        long[] result = new long[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges long arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as signed numbers
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static long[] parallelMerge(long[]... shards) {
+        RadixMerger<long[]> merger = RadixMerger.of(shards);
+        long[] result = new long[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges int arrays which are already sorted into a single sorted array
+     * The values are ordered as signed numbers
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static int[] merge(int[]... shards) {
+        RadixMerger<int[]> merger = RadixMerger.of(shards);
+        int[] result = new int[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges int arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as signed numbers
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static int[] parallelMerge(int[]... shards) {
+        RadixMerger<int[]> merger = RadixMerger.of(shards);
+        int[] result = new int[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges short arrays which are already sorted into a single sorted array
+     * The values are ordered as signed numbers
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static short[] merge(short[]... shards) {
+        RadixMerger<short[]> merger = RadixMerger.of(shards);
+        short[] result = new short[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges short arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as signed numbers
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static short[] parallelMerge(short[]... shards) {
+        RadixMerger<short[]> merger = RadixMerger.of(shards);
+        short[] result = new short[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges char arrays which are already sorted into a single sorted array
+     * The values are ordered as unsigned numbers
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static char[] merge(char[]... shards) {
+        RadixMerger<char[]> merger = RadixMerger.of(shards);
+        char[] result = new char[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges char arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as unsigned numbers
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static char[] parallelMerge(char[]... shards) {
+        RadixMerger<char[]> merger = RadixMerger.of(shards);
+        char[] result = new char[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges byte arrays which are already sorted into a single sorted array
+     * The values are ordered as signed numbers
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static byte[] merge(byte[]... shards) {
+        RadixMerger<byte[]> merger = RadixMerger.of(shards);
+        byte[] result = new byte[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges byte arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as signed numbers
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static byte[] parallelMerge(byte[]... shards) {
+        RadixMerger<byte[]> merger = RadixMerger.of(shards);
+        byte[] result = new byte[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges float arrays which are already sorted into a single sorted array
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static float[] merge(float[]... shards) {
+        RadixMerger<float[]> merger = RadixMerger.of(shards);
+        float[] result = new float[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges float arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static float[] parallelMerge(float[]... shards) {
+        RadixMerger<float[]> merger = RadixMerger.of(shards);
+        float[] result = new float[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges double arrays which are already sorted into a single sorted array
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     * Equal values are taken from the array given first
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static double[] merge(double[]... shards) {
+        RadixMerger<double[]> merger = RadixMerger.of(shards);
+        double[] result = new double[mergedLength(merger)];
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges double arrays which are already sorted into a single sorted array, using all workers of the common {@link ForkJoinPool}
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     * The output gets split into parts of equal size, which are merged independently
+     *
+     * @param shards The sorted arrays
+     * @return The merged array
+     */
+    public static double[] parallelMerge(double[]... shards) {
+        RadixMerger<double[]> merger = RadixMerger.of(shards);
+        double[] result = new double[mergedLength(merger)];
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Merges object arrays which are already sorted by the values of the objects into a single sorted array
+     * The values are ordered as signed numbers
+     * The merge is stable, so objects with equal values are taken from the array given first and keep their order within it
+     *
+     * @param calculator How to determine the value of an object
+     * @param shards     The sorted arrays
+     * @param <E>        The type of the objects
+     * @return The merged array, which has the component type of the arrays
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <E> E[] merge(ObjectValue<? super E> calculator, E[]... shards) {
+        RadixMerger<E[]> merger = RadixMerger.of(calculator, shards);
+        @SuppressWarnings("unchecked")
+        E[] result = (E[]) Array.newInstance(shards.getClass().getComponentType().getComponentType(), mergedLength(merger));
+        merger.mergeAll(result, 0, null);
+        return result;
+    }
+
+    /**
+     * Merges object arrays which are already sorted by the values of the objects into a single sorted array,
+     * using all workers of the common {@link ForkJoinPool}
+     * The values are ordered as signed numbers
+     * The merge is stable, so objects with equal values are taken from the array given first and keep their order within it
+     *
+     * @param calculator How to determine the value of an object
+     * @param shards     The sorted arrays
+     * @param <E>        The type of the objects
+     * @return The merged array, which has the component type of the arrays
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <E> E[] parallelMerge(ObjectValue<? super E> calculator, E[]... shards) {
+        RadixMerger<E[]> merger = RadixMerger.of(calculator, shards);
+        @SuppressWarnings("unchecked")
+        E[] result = (E[]) Array.newInstance(shards.getClass().getComponentType().getComponentType(), mergedLength(merger));
+        merger.mergeAll(result, 0, ForkJoinPool.commonPool());
+        return result;
+    }
+
+    /**
+     * Makes sure that the merged shards fit into an array
+     *
+     * @param merger The merger of the shards
+     * @return How many elements the shards hold
+     */
+    private static int mergedLength(RadixMerger<?> merger) {
+        long length = merger.remaining();
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The shards hold " + length + " elements, which don't fit into a single array");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys  The keys to partition
+     * @param bits  How many bits the bucket of a key spans, between 1 and 16
+     * @param shift The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] partition(long[] keys, int bits, int shift) {
+        return Partition.partition(keys, bits, shift, null);
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the values at the same positions along
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] partition(long[] keys, int[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, null);
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the values at the same positions along
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] partition(long[] keys, long[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, null);
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the objects at the same positions along
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The objects belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @param <V>    The type of the objects
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static <V> int[] partition(long[] keys, V[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, null);
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys, using all workers of the common {@link ForkJoinPool}
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys  The keys to partition
+     * @param bits  How many bits the bucket of a key spans, between 1 and 16
+     * @param shift The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] parallelPartition(long[] keys, int bits, int shift) {
+        return Partition.partition(keys, bits, shift, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the values at the same positions along,
+     * using all workers of the common {@link ForkJoinPool}
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] parallelPartition(long[] keys, int[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the values at the same positions along,
+     * using all workers of the common {@link ForkJoinPool}
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The values belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static int[] parallelPartition(long[] keys, long[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Partitions a given long array in place into buckets by one digit of the keys and moves the objects at the same positions along,
+     * using all workers of the common {@link ForkJoinPool}
+     * The bucket of a key is given by the bits from shift to shift + bits - 1, read as an unsigned number,
+     * so there are 2^bits buckets, of which bucket b holds the keys from offsets[b] (inclusive) to offsets[b + 1] (exclusive)
+     * The partition is stable, so keys within a bucket keep their order
+     *
+     * @param keys   The keys to partition
+     * @param values The objects belonging to the keys
+     * @param bits   How many bits the bucket of a key spans, between 1 and 16
+     * @param shift  The lowest bit of the bucket of a key
+     * @param <V>    The type of the objects
+     * @return Where every bucket starts, followed by the number of keys
+     */
+    public static <V> int[] parallelPartition(long[] keys, V[] values, int bits, int shift) {
+        checkValues(keys.length, values.length);
+        return Partition.partition(keys, values, bits, shift, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts a given long array in place and moves the values at the same positions along with their keys
+     * The keys are ordered as signed numbers
+     * The sort is stable, so values with equal keys keep their order
+     *
+     * @param keys   The keys to sort by
+     * @param values The values belonging to the keys
+     */
+    public static void sort(long[] keys, int[] values) {
+        checkValues(keys.length, values.length);
+        int length = keys.length;
+        int digitBits = DigitWidth.BITS_11.bits;
+        LSDSort.sort(keys, values, 0, length, new long[length], new int[length], new int[1 << digitBits], 64, true, digitBits);
+    }
+
+    /**
+     * Sorts a given long array in place and moves the values at the same positions along with their keys
+     * The keys are ordered as signed numbers
+     * The sort is stable, so values with equal keys keep their order
+     *
+     * @param keys   The keys to sort by
+     * @param values The values belonging to the keys
+     */
+    public static void sort(long[] keys, long[] values) {
+        checkValues(keys.length, values.length);
+        int length = keys.length;
+        int digitBits = DigitWidth.BITS_11.bits;
+        LSDSort.sort(keys, values, 0, length, new long[length], new long[length], new int[1 << digitBits], 64, true, digitBits);
+    }
+
+    /**
+     * Sorts a given long array in place and moves the objects at the same positions along with their keys
+     * The keys are ordered as signed numbers
+     * The sort is stable, so objects with equal keys keep their order
+     *
+     * @param keys   The keys to sort by
+     * @param values The objects belonging to the keys
+     * @param <V>    The type of the objects
+     */
+    public static <V> void sort(long[] keys, V[] values) {
+        checkValues(keys.length, values.length);
+        int[] indices = sortIndices(keys, null);
+        Object[] sorted = new Object[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            sorted[i] = values[indices[i]];
+        }
+        System.arraycopy(sorted, 0, values, 0, sorted.length);
+    }
+
+    /**
+     * Makes sure that there are as many values as keys
+     *
+     * @param keys   How many keys there are
+     * @param values How many values there are
+     */
+    private static void checkValues(int keys, int values) {
+        if (keys != values) {
+            throw new IllegalArgumentException("There are " + keys + " keys, but " + values + " values");
+        }
+    }
+
+    /**
+     * Sorts a given byte array in place using most significant digit radix sort
+     * The values are ordered as signed numbers
+     * Apart from a few counters no additional memory is required
+     *
+     * @param array The array to sort
+     */
+    public static void sortInPlace(byte[] array) {
+        MSDSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a given char array in place using most significant digit radix sort
+     * Apart from a few counters no additional memory is required
+     *
+     * @param array The array to sort
+     */
+    public static void sortInPlace(char[] array) {
+        MSDSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a given short array in place using most significant digit radix sort
+     * The values are ordered as signed numbers
+     * Apart from a few counters no additional memory is required
+     *
+     * @param array The array to sort
+     */
+    public static void sortInPlace(short[] array) {
+        MSDSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a given int array in place using most significant digit radix sort
+     * The values are ordered as signed numbers
+     * Apart from a few counters no additional memory is required
+     *
+     * @param array The array to sort
+     */
+    public static void sortInPlace(int[] array) {
+        MSDSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a given long array in place using most significant digit radix sort
+     * The values are ordered as signed numbers
+     * Apart from a few counters no additional memory is required
+     *
+     * @param array The array to sort
+     */
+    public static void sortInPlace(long[] array) {
+        MSDSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given byte array in place using radix sort
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        MSDSort.sort(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts a range of a given char array in place using radix sort
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(char[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        MSDSort.sort(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts a range of a given short array in place using radix sort
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(short[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        MSDSort.sort(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts a range of a given int array in place using radix sort
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(int[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        sort(array, fromIndex, toIndex, new int[toIndex - fromIndex]);
+    }
+
+    /**
+     * Sorts a range of a given int array in place using radix sort
+     * Instead of allocating a scratch array, the given buffer is used
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     * @param buffer    A scratch array holding at least toIndex - fromIndex elements
+     */
+    public static void sort(int[] array, int fromIndex, int toIndex, int[] buffer) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        checkBuffer(buffer.length, toIndex - fromIndex);
+        LSDSort.sort(array, fromIndex, toIndex, buffer, 0, new int[1 << DigitWidth.BITS_8.bits], 32, true, DigitWidth.BITS_8.bits);
+    }
+
+    /**
+     * Sorts a range of a given long array in place using radix sort
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(long[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        sort(array, fromIndex, toIndex, new long[toIndex - fromIndex]);
+    }
+
+    /**
+     * Sorts a range of a given long array in place using radix sort
+     * Instead of allocating a scratch array, the given buffer is used
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     * @param buffer    A scratch array holding at least toIndex - fromIndex elements
+     */
+    public static void sort(long[] array, int fromIndex, int toIndex, long[] buffer) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        checkBuffer(buffer.length, toIndex - fromIndex);
+        LSDSort.sort(array, fromIndex, toIndex, buffer, 0, new int[1 << DigitWidth.BITS_11.bits], 64, true, DigitWidth.BITS_11.bits);
+    }
+
+    /**
+     * Sorts a range of a given float array in place using radix sort
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(float[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        int[] keys = new int[length];
+        FloatKeys.toKeys(array, fromIndex, toIndex, keys, 0);
+        LSDSort.sort(keys, 0, length, new int[length], 32, DigitWidth.BITS_8.bits);
+        FloatKeys.toFloats(keys, 0, length, array, fromIndex);
+    }
+
+    /**
+     * Sorts a range of a given float array in place using radix sort
+     * Instead of allocating scratch arrays, the given buffer is used,
+     * where the first half holds the keys and the second half is the scratch space for sorting them
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     * @param buffer    A scratch array holding at least twice as many elements as toIndex - fromIndex
+     */
+    public static void sort(float[] array, int fromIndex, int toIndex, int[] buffer) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        checkBuffer(buffer.length, 2L * length);
+        FloatKeys.toKeys(array, fromIndex, toIndex, buffer, 0);
+        LSDSort.sort(buffer, 0, length, buffer, length, new int[1 << DigitWidth.BITS_8.bits], 32, true, DigitWidth.BITS_8.bits);
+        FloatKeys.toFloats(buffer, 0, length, array, fromIndex);
+    }
+
+    /**
+     * Sorts a range of a given double array in place using radix sort
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     */
+    public static void sort(double[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        long[] keys = new long[length];
+        FloatKeys.toKeys(array, fromIndex, toIndex, keys, 0);
+        LSDSort.sort(keys, 0, length, new long[length], 64, DigitWidth.BITS_11.bits);
+        FloatKeys.toDoubles(keys, 0, length, array, fromIndex);
+    }
+
+    /**
+     * Sorts a range of a given double array in place using radix sort
+     * Instead of allocating scratch arrays, the given buffer is used,
+     * where the first half holds the keys and the second half is the scratch space for sorting them
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     *
+     * @param array     The array to sort
+     * @param fromIndex The first index to sort (inclusive)
+     * @param toIndex   The last index to sort (exclusive)
+     * @param buffer    A scratch array holding at least twice as many elements as toIndex - fromIndex
+     */
+    public static void sort(double[] array, int fromIndex, int toIndex, long[] buffer) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        int length = toIndex - fromIndex;
+        checkBuffer(buffer.length, 2L * length);
+        FloatKeys.toKeys(array, fromIndex, toIndex, buffer, 0);
+        LSDSort.sort(buffer, 0, length, buffer, length, new int[1 << DigitWidth.BITS_11.bits], 64, true, DigitWidth.BITS_11.bits);
+        FloatKeys.toDoubles(buffer, 0, length, array, fromIndex);
+    }
+
+    /**
+     * Sorts the longs between the position and the limit of a given buffer in place using radix sort
+     * The values are ordered as signed numbers
+     * The scratch space is allocated off-heap, so direct buffers can be sorted without touching the heap
+     *
+     * @param buffer The buffer to sort
+     */
+    public static void sort(LongBuffer buffer) {
+        BufferSort.sort(buffer, null, DigitWidth.BITS_11.bits);
+    }
+
+    /**
+     * Sorts the ints between the position and the limit of a given buffer in place using radix sort
+     * The values are ordered as signed numbers
+     * The scratch space is allocated off-heap, so direct buffers can be sorted without touching the heap
+     *
+     * @param buffer The buffer to sort
+     */
+    public static void sort(IntBuffer buffer) {
+        BufferSort.sort(buffer, null, DigitWidth.BITS_8.bits);
+    }
+
+    /**
+     * Sorts the fixed size records between the position and the limit of a given buffer in place using radix sort
+     * Every record holds a key at the same offset, which is read using the byte order of the buffer
+     * and ordered as a signed number
+     * The sort is stable, so records with equal keys keep their order
+     * The scratch space is allocated off-heap, so direct buffers can be sorted without touching the heap
+     *
+     * @param buffer     The buffer holding the records
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 for an int or 8 for a long
+     */
+    public static void sort(ByteBuffer buffer, int recordSize, int keyOffset, int keyLength) {
+        BufferSort.sort(buffer, recordSize, keyOffset, keyLength, null, DigitWidth.BITS_11.bits);
+    }
+
+    /**
+     * Sorts a file of longs in place using radix sort
+     * The values are ordered as signed numbers
+     * The file gets memory mapped, so its content is never loaded onto the heap
+     * and files larger than the heap can be sorted as long as they fit into the page cache
+     *
+     * @param file  The file to sort
+     * @param order The byte order of the longs in the file
+     * @throws IOException If the file can't be opened or mapped
+     */
+    public static void sortLongFile(Path file, ByteOrder order) throws IOException {
+        MappedSort.sort(file, Long.BYTES, 0, Long.BYTES, order);
+    }
+
+    /**
+     * Sorts a file of ints in place using radix sort
+     * The values are ordered as signed numbers
+     * The file gets memory mapped, so its content is never loaded onto the heap
+     * and files larger than the heap can be sorted as long as they fit into the page cache
+     *
+     * @param file  The file to sort
+     * @param order The byte order of the ints in the file
+     * @throws IOException If the file can't be opened or mapped
+     */
+    public static void sortIntFile(Path file, ByteOrder order) throws IOException {
+        MappedSort.sort(file, Integer.BYTES, 0, Integer.BYTES, order);
+    }
+
+    /**
+     * Sorts a file of fixed size records in place using radix sort
+     * Every record holds a key at the same offset, which is ordered as a signed number
+     * The file gets memory mapped, so its content is never loaded onto the heap
+     * and files larger than the heap can be sorted as long as they fit into the page cache
+     * Unlike the other record sorts, this sort is not stable for files larger than 64 MB,
+     * so records with equal keys may change their order
+     * For files that don't fit into the page cache, use {@link ExternalSorter} instead
+     *
+     * @param file       The file to sort
+     * @param recordSize How many bytes a record spans
+     * @param keyOffset  Where the key starts within a record
+     * @param keyLength  How many bytes the key spans, either 4 for an int or 8 for a long
+     * @param order      The byte order of the keys in the file
+     * @throws IOException If the file can't be opened or mapped
+     */
+    public static void sortRecordFile(Path file, int recordSize, int keyOffset, int keyLength, ByteOrder order) throws IOException {
+        MappedSort.sort(file, recordSize, keyOffset, keyLength, order);
+    }
+
+    /**
+     * Finds the element of a given long array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static long select(long[] array, int k) {
+        return RadixSelect.select(array, new int[]{k})[0];
+    }
+
+    /**
+     * Finds the k largest elements of a given long array without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static long[] topK(long[] array, int k) {
+        return RadixSelect.top(array, k);
+    }
+
+    /**
+     * Finds the quantiles of a given long array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static long[] quantiles(long[] array, double... quantiles) {
+        return RadixSelect.select(array, RadixSelect.ranks(quantiles, array.length));
+    }
+
+    /**
+     * Finds the element of a given int array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static int select(int[] array, int k) {
+        return RadixSelect.select(array, new int[]{k})[0];
+    }
+
+    /**
+     * Finds the k largest elements of a given int array without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static int[] topK(int[] array, int k) {
+        return RadixSelect.top(array, k);
+    }
+
+    /**
+     * Finds the quantiles of a given int array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static int[] quantiles(int[] array, double... quantiles) {
+        return RadixSelect.select(array, RadixSelect.ranks(quantiles, array.length));
+    }
+
+    /**
+     * Finds the element of a given double array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered the same way as {@link Double#compare(double, double)}
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static double select(double[] array, int k) {
+        long[] keys = new long[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        return FloatKeys.toDouble(RadixSelect.select(keys, new int[]{k})[0]);
+    }
+
+    /**
+     * Finds the k largest elements of a given double array without sorting the whole array
+     * The values are ordered the same way as {@link Double#compare(double, double)}
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static double[] topK(double[] array, int k) {
+        long[] keys = new long[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        long[] top = RadixSelect.top(keys, k);
+        double[] result = new double[k];
+        FloatKeys.toDoubles(top, 0, k, result, 0);
+        return result;
+    }
+
+    /**
+     * Finds the quantiles of a given double array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered the same way as {@link Double#compare(double, double)}
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static double[] quantiles(double[] array, double... quantiles) {
+        long[] keys = new long[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        long[] found = RadixSelect.select(keys, RadixSelect.ranks(quantiles, array.length));
+        double[] result = new double[found.length];
+        FloatKeys.toDoubles(found, 0, found.length, result, 0);
+        return result;
+    }
+
+    /**
+     * Finds the element of a given float array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered the same way as {@link Float#compare(float, float)}
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static float select(float[] array, int k) {
+        int[] keys = new int[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        return FloatKeys.toFloat(RadixSelect.select(keys, new int[]{k})[0]);
+    }
+
+    /**
+     * Finds the k largest elements of a given float array without sorting the whole array
+     * The values are ordered the same way as {@link Float#compare(float, float)}
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static float[] topK(float[] array, int k) {
+        int[] keys = new int[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        int[] top = RadixSelect.top(keys, k);
+        float[] result = new float[k];
+        FloatKeys.toFloats(top, 0, k, result, 0);
+        return result;
+    }
+
+    /**
+     * Finds the quantiles of a given float array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered the same way as {@link Float#compare(float, float)}
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static float[] quantiles(float[] array, double... quantiles) {
+        int[] keys = new int[array.length];
+        FloatKeys.toKeys(array, 0, array.length, keys, 0);
+        int[] found = RadixSelect.select(keys, RadixSelect.ranks(quantiles, array.length));
+        float[] result = new float[found.length];
+        FloatKeys.toFloats(found, 0, found.length, result, 0);
+        return result;
+    }
+
+    /**
+     * Finds the element of a given short array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static short select(short[] array, int k) {
+        return (short) (RadixSelect.selectBuckets(counts(array), new int[]{k})[0] + Short.MIN_VALUE);
+    }
+
+    /**
+     * Finds the k largest elements of a given short array without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static short[] topK(short[] array, int k) {
+        RadixSelect.checkCount(k, array.length);
+        int[] top = RadixSelect.topBuckets(counts(array), k);
+        short[] result = new short[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = (short) (top[i] + Short.MIN_VALUE);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the quantiles of a given short array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static short[] quantiles(short[] array, double... quantiles) {
+        int[] found = RadixSelect.selectBuckets(counts(array), RadixSelect.ranks(quantiles, array.length));
+        short[] result = new short[found.length];
+        for (int i = 0; i < found.length; i++) {
+            result[i] = (short) (found[i] + Short.MIN_VALUE);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the element of a given char array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered as unsigned numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static char select(char[] array, int k) {
+        return (char) (RadixSelect.selectBuckets(counts(array), new int[]{k})[0]);
+    }
+
+    /**
+     * Finds the k largest elements of a given char array without sorting the whole array
+     * The values are ordered as unsigned numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static char[] topK(char[] array, int k) {
+        RadixSelect.checkCount(k, array.length);
+        int[] top = RadixSelect.topBuckets(counts(array), k);
+        char[] result = new char[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = (char) (top[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the quantiles of a given char array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered as unsigned numbers
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static char[] quantiles(char[] array, double... quantiles) {
+        int[] found = RadixSelect.selectBuckets(counts(array), RadixSelect.ranks(quantiles, array.length));
+        char[] result = new char[found.length];
+        for (int i = 0; i < found.length; i++) {
+            result[i] = (char) (found[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the element of a given byte array that would be at the given index if the array was sorted,
+     * without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     The index in sorted order, where 0 is the smallest element
+     * @return The k-th smallest element
+     */
+    public static byte select(byte[] array, int k) {
+        return (byte) (RadixSelect.selectBuckets(counts(array), new int[]{k})[0] + Byte.MIN_VALUE);
+    }
+
+    /**
+     * Finds the k largest elements of a given byte array without sorting the whole array
+     * The values are ordered as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many elements to find
+     * @return The k largest elements in descending order
+     */
+    public static byte[] topK(byte[] array, int k) {
+        RadixSelect.checkCount(k, array.length);
+        int[] top = RadixSelect.topBuckets(counts(array), k);
+        byte[] result = new byte[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = (byte) (top[i] + Byte.MIN_VALUE);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the quantiles of a given byte array without sorting the whole array
+     * A quantile q is the smallest element of which at least q times the length of the array are smaller or equal,
+     * so 0.5 gives the median and 0.99 the 99th percentile
+     * The values are ordered as signed numbers
+     *
+     * @param array     The array to search, which doesn't get modified
+     * @param quantiles The quantiles between 0 and 1
+     * @return The element at every quantile in the same order as the quantiles
+     */
+    public static byte[] quantiles(byte[] array, double... quantiles) {
+        int[] found = RadixSelect.selectBuckets(counts(array), RadixSelect.ranks(quantiles, array.length));
+        byte[] result = new byte[found.length];
+        for (int i = 0; i < found.length; i++) {
+            result[i] = (byte) (found[i] + Byte.MIN_VALUE);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the object of a given array that would be at the given index if the array was stably sorted,
+     * without sorting the whole array
+     *
+     * @param array      The array to search, which doesn't get modified
+     * @param k          The index in sorted order, where 0 is the object with the smallest value
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of object to search
+     * @return The k-th smallest object
+     */
+    public static <E> E select(E[] array, int k, ObjectValue<E> calculator) {
+        return array[RadixSelect.selectIndices(values(array, calculator), new int[]{k})[0]];
+    }
+
+    /**
+     * Finds the k objects with the largest values without sorting the whole array
+     * Of objects with equal values, the ones appearing first in the array are taken first and come first in the result
+     *
+     * @param array      The array to search, which doesn't get modified
+     * @param k          How many objects to find
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of object to search
+     * @return The k objects with the largest values in descending order
+     */
+    public static <E> E[] topK(E[] array, int k, ObjectValue<E> calculator) {
+        int[] indices = RadixSelect.topIndices(values(array, calculator), k);
+        E[] result = Arrays.copyOf(array, k);
+        for (int i = 0; i < k; i++) {
+            result[i] = array[indices[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Finds the objects at the given quantiles of a given array without sorting the whole array
+     * See {@link #quantiles(long[], double...)} for how the quantiles are defined
+     *
+     * @param array      The array to search, which doesn't get modified
+     * @param calculator How to determine the absolute value of an object
+     * @param quantiles  The quantiles between 0 and 1
+     * @param <E>        The type of object to search
+     * @return The object at every quantile in the same order as the quantiles
+     */
+    public static <E> E[] quantiles(E[] array, ObjectValue<E> calculator, double... quantiles) {
+        int[] indices = RadixSelect.selectIndices(values(array, calculator), RadixSelect.ranks(quantiles, array.length));
+        E[] result = Arrays.copyOf(array, indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = array[indices[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the value of every object once, so the selection doesn't need to call the calculator again
+     *
+     * @param array      The objects
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of the objects
+     * @return The value of every object at the same index
+     */
+    private static <E> long[] values(E[] array, ObjectValue<E> calculator) {
+        long[] values = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            values[i] = calculator.value(array[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Counts how often every short occurs, so a selection only needs to walk the histogram
+     *
+     * @param array The array to count
+     * @return How often every value occurs, indexed by the value minus {@link Short#MIN_VALUE}
+     */
+    private static int[] counts(short[] array) {
+        int[] counts = new int[1 << 16];
+        for (short element : array) {
+            counts[element - Short.MIN_VALUE]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Counts how often every char occurs, so a selection only needs to walk the histogram
+     *
+     * @param array The array to count
+     * @return How often every value occurs, indexed by the value
+     */
+    private static int[] counts(char[] array) {
+        int[] counts = new int[1 << 16];
+        for (char element : array) {
+            counts[element]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Counts how often every byte occurs, so a selection only needs to walk the histogram
+     *
+     * @param array The array to count
+     * @return How often every value occurs, indexed by the value minus {@link Byte#MIN_VALUE}
+     */
+    private static int[] counts(byte[] array) {
+        int[] counts = new int[1 << 8];
+        for (byte element : array) {
+            counts[element - Byte.MIN_VALUE]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns up to how many elements an input, or a bucket during most significant digit sorts,
+     * is sorted using insertion sort or a sorting network instead of counting digits.
+     * The threshold is 32, unless the system property de.tgx03.radix.smallThreshold says otherwise.
+     * A {@link RadixSorter} can use a threshold of its own
+     *
+     * @return Up to how many elements an input is sorted without counting digits
+     */
+    public static int getSmallThreshold() {
+        return SmallSort.THRESHOLD;
+    }
+
+    /**
+     * Sets a listener that gets told how every following sort went, like which strategy it used,
+     * how many passes it executed or skipped and how long the individual phases took.
+     * The same statistics are also recorded as de.tgx03.Sort events whenever the Flight Recorder records them.
+     * As long as there is no listener and no such recording, no statistics are collected at all
+     * The listener is called on the thread that started the sort
+     *
+     * @param listener The listener, or null to stop telling anyone
+     */
+    public static void setListener(SortListener listener) {
+        Probe.listener(listener);
+    }
+
+    /**
+     * Makes sure a scratch array given by the caller is large enough
+     *
+     * @param length   The length of the scratch array
+     * @param required How many elements it needs to hold
+     */
+    private static void checkBuffer(int length, long required) {
+        if (length < required) {
+            throw new IllegalArgumentException("The buffer holds " + length + " elements, but " + required + " are required");
+        }
+    }
+
+
+    /**
+     * How many bits of a number are sorted in a single pass.
+     * Wider digits need fewer passes, but a larger histogram
+     */
+    public enum DigitWidth {
+        BITS_8(8), BITS_11(11), BITS_16(16);
+
+        private final int bits;
+
+        DigitWidth(int bits) {
+            this.bits = bits;
+        }
+
+        /**
+         * @return How many bits this digit width spans
+         */
+        public int bits() {
+            return bits;
+        }
+    }
+
+    /**
+     * This interface is used to determine the absolute value of an object,
+     * as comparisons often don't work for radix sort
+     *
+     * @param <E> The type of object to determine the value of
+     */
+    @FunctionalInterface
+    public interface ObjectValue<E> {
+
+        /**
+         * Determines the absolute value of an object
+         *
+         * @param object The object to determine the value of
+         * @return The value of the object
+         */
+        long value(E object);
+
+    }
+
+    /**
+     * This interface is used to determine the absolute value of an object,
+     * if the value doesn't fit into a single long.
+     * The value is split into multiple words, where word 0 is the most significant one
+     *
+     * @param <E> The type of object to determine the value of
+     */
+    @FunctionalInterface
+    public interface WideObjectValue<E> {
+
+        /**
+         * Determines one word of the absolute value of an object
+         *
+         * @param object The object to determine the value of
+         * @param word   Which word of the value to determine
+         * @return The requested word of the value of the object
+         */
+        long value(E object, int word);
+
     }
 }
@@ -0,0 +1,268 @@
+package de.tgx03;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Collectors and stream helpers which sort the elements of a stream using radix sort.
+ * Elements are accumulated into primitive arrays without boxing them again, and get sorted once all of them arrived.
+ * When a parallel stream combines the accumulations of its threads, they only get linked to each other,
+ * and the finisher copies all of them into the result once before sorting it.
+ * If there is only a single accumulation, as in a sequential stream, it gets sorted in place and trimmed to its size.
+ */
+public final class RadixCollectors {
+
+    private RadixCollectors() {
+    }
+
+    /**
+     * Creates a collector which collects longs into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @return The collector
+     */
+    public static Collector<Long, ?, long[]> toSortedLongArray() {
+        return toSortedLongArray(Long::longValue);
+    }
+
+    /**
+     * Creates a collector which maps elements to longs and collects them into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @param mapper How to turn an element into a long
+     * @param <T>    The type of the elements
+     * @return The collector
+     */
+    public static <T> Collector<T, ?, long[]> toSortedLongArray(ToLongFunction<? super T> mapper) {
+        return Collector.of(Longs::new,
+                (longs, element) -> longs.add(mapper.applyAsLong(element)),
+                Longs::combine,
+                Longs::sort,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector which collects ints into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @return The collector
+     */
+    public static Collector<Integer, ?, int[]> toSortedIntArray() {
+        return toSortedIntArray(Integer::intValue);
+    }
+
+    /**
+     * Creates a collector which maps elements to ints and collects them into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @param mapper How to turn an element into an int
+     * @param <T>    The type of the elements
+     * @return The collector
+     */
+    public static <T> Collector<T, ?, int[]> toSortedIntArray(ToIntFunction<? super T> mapper) {
+        return Collector.of(Ints::new,
+                (ints, element) -> ints.add(mapper.applyAsInt(element)),
+                Ints::combine,
+                Ints::sort,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a collector which collects objects into a list sorted by their values
+     * The value of every object is only calculated once, while it gets accumulated
+     * The sort is stable, so objects with equal values keep the order in which they were encountered
+     *
+     * @param calculator How to determine the value of an object
+     * @param <E>        The type of the objects
+     * @return The collector
+     */
+    public static <E> Collector<E, ?, List<E>> toSortedList(Radix.ObjectValue<? super E> calculator) {
+        return Collector.of(Keyed<E>::new,
+                (keyed, element) -> keyed.add(element, calculator.value(element)),
+                Keyed::combine,
+                Keyed::sort);
+    }
+
+    /**
+     * Collects a stream of longs into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @param stream The stream to sort
+     * @return The sorted values
+     */
+    public static long[] toSortedArray(LongStream stream) {
+        return stream.collect(Longs::new, Longs::add, Longs::combine).sort();
+    }
+
+    /**
+     * Collects a stream of ints into a sorted array
+     * The values are ordered as signed numbers
+     *
+     * @param stream The stream to sort
+     * @return The sorted values
+     */
+    public static int[] toSortedArray(IntStream stream) {
+        return stream.collect(Ints::new, Ints::add, Ints::combine).sort();
+    }
+
+    /**
+     * The longs accumulated by one thread, to which the accumulations of other threads get linked when combining
+     */
+    private static final class Longs {
+
+        private long[] values = new long[16];
+        private int size;
+        private List<Longs> others;
+
+        private void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size + (size >> 1));
+            values[size++] = value;
+        }
+
+        /**
+         * Links the accumulation of another thread to this one without copying its elements
+         *
+         * @param other The other accumulation
+         * @return This accumulation
+         */
+        private Longs combine(Longs other) {
+            if (others == null) others = new ArrayList<>();
+            others.add(other);
+            if (other.others != null) others.addAll(other.others);
+            return this;
+        }
+
+        private long[] sort() {
+            if (others == null) {
+                Radix.sort(values, 0, size);
+                return size == values.length ? values : Arrays.copyOf(values, size);
+            }
+            int length = size;
+            for (Longs other : others) {
+                length = Math.addExact(length, other.size);
+            }
+            long[] sorted = new long[length];
+            System.arraycopy(values, 0, sorted, 0, size);
+            int offset = size;
+            for (Longs other : others) {
+                System.arraycopy(other.values, 0, sorted, offset, other.size);
+                offset += other.size;
+            }
+            Radix.sort(sorted, 0, length);
+            return sorted;
+        }
+    }
+
+    /**
+     * The ints accumulated by one thread, to which the accumulations of other threads get linked when combining
+     */
+    private static final class Ints {
+
+        private int[] values = new int[16];
+        private int size;
+        private List<Ints> others;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size + (size >> 1));
+            values[size++] = value;
+        }
+
+        /**
+         * Links the accumulation of another thread to this one without copying its elements
+         *
+         * @param other The other accumulation
+         * @return This accumulation
+         */
+        private Ints combine(Ints other) {
+            if (others == null) others = new ArrayList<>();
+            others.add(other);
+            if (other.others != null) others.addAll(other.others);
+            return this;
+        }
+
+        private int[] sort() {
+            if (others == null) {
+                Radix.sort(values, 0, size);
+                return size == values.length ? values : Arrays.copyOf(values, size);
+            }
+            int length = size;
+            for (Ints other : others) {
+                length = Math.addExact(length, other.size);
+            }
+            int[] sorted = new int[length];
+            System.arraycopy(values, 0, sorted, 0, size);
+            int offset = size;
+            for (Ints other : others) {
+                System.arraycopy(other.values, 0, sorted, offset, other.size);
+                offset += other.size;
+            }
+            Radix.sort(sorted, 0, length);
+            return sorted;
+        }
+    }
+
+    /**
+     * The objects accumulated by {@link #toSortedList(Radix.ObjectValue)} together with their values
+     *
+     * @param <E> The type of the objects
+     */
+    private static final class Keyed<E> {
+
+        private final ArrayList<E> objects = new ArrayList<>();
+        private long[] keys = new long[16];
+        private List<Keyed<E>> others;
+
+        private void add(E object, long key) {
+            int size = objects.size();
+            if (size == keys.length) keys = Arrays.copyOf(keys, size + (size >> 1));
+            keys[size] = key;
+            objects.add(object);
+        }
+
+        /**
+         * Links the accumulation of another thread to this one without copying its elements,
+         * the objects of the other one were encountered after the ones of this one
+         *
+         * @param other The other accumulation
+         * @return This accumulation
+         */
+        private Keyed<E> combine(Keyed<E> other) {
+            if (others == null) others = new ArrayList<>();
+            others.add(other);
+            if (other.others != null) others.addAll(other.others);
+            return this;
+        }
+
+        private List<E> sort() {
+            List<E> objects = this.objects;
+            long[] keys = this.keys;
+            int length = objects.size();
+            if (others != null) {
+                for (Keyed<E> other : others) {
+                    length = Math.addExact(length, other.objects.size());
+                }
+                objects = new ArrayList<>(length);
+                objects.addAll(this.objects);
+                keys = Arrays.copyOf(this.keys, length);
+                int offset = this.objects.size();
+                for (Keyed<E> other : others) {
+                    objects.addAll(other.objects);
+                    System.arraycopy(other.keys, 0, keys, offset, other.objects.size());
+                    offset += other.objects.size();
+                }
+            }
+            int[] order = Radix.argsort(length == keys.length ? keys : Arrays.copyOf(keys, length));
+            List<E> sorted = new ArrayList<>(length);
+            for (int index : order) {
+                sorted.add(objects.get(index));
+            }
+            return sorted;
+        }
+    }
+}
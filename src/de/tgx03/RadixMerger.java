@@ -0,0 +1,661 @@
+package de.tgx03;
+
+import java.lang.reflect.Array;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Merges shards which are already sorted into a single sorted sequence.
+ * A loser tree holds the current element of every shard, so each merged element costs log2(shards) comparisons,
+ * no matter how many shards there are.
+ * Equal elements of different shards are taken from the shard that was given first,
+ * so the merge is stable if the shards are given in their original order.
+ * The merged elements can be taken in portions of any size into a buffer of the caller,
+ * so shards much larger than the buffer can be merged into a file or socket without ever holding the result.
+ * The shards must be sorted in the order of {@link Radix}, so integers as signed numbers apart from chars,
+ * floats and doubles like {@link Float#compare(float, float)} and {@link Double#compare(double, double)},
+ * and objects by their values as signed numbers. The shards aren't checked for this.
+ * As a merger remembers how far it got, it must not be used by multiple threads at once.
+ *
+ * @param <A> The type of the arrays holding the shards and receiving the merged elements
+ */
+public abstract class RadixMerger<A> {
+
+    final LoserTree tree;
+    final int[] positions;
+    final int[] ends;
+    private long remaining;
+
+    /**
+     * Creates a merger of ranges of the shards, which only gets started once the subclass knows its shards
+     *
+     * @param from The first index of every shard to merge (inclusive)
+     * @param to   The last index of every shard to merge (exclusive)
+     */
+    RadixMerger(int[] from, int[] to) {
+        this.tree = new LoserTree(Math.max(1, from.length));
+        this.positions = from;
+        this.ends = to;
+        for (int shard = 0; shard < from.length; shard++) {
+            remaining += to[shard] - from[shard];
+        }
+    }
+
+    /**
+     * Creates a merger of sorted long shards
+     *
+     * @param shards The shards, each sorted as signed numbers
+     * @return The merger
+     */
+    public static RadixMerger<long[]> of(long[]... shards) {
+        return new LongMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted int shards
+     *
+     * @param shards The shards, each sorted as signed numbers
+     * @return The merger
+     */
+    public static RadixMerger<int[]> of(int[]... shards) {
+        return new IntMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted short shards
+     *
+     * @param shards The shards, each sorted as signed numbers
+     * @return The merger
+     */
+    public static RadixMerger<short[]> of(short[]... shards) {
+        return new ShortMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted char shards
+     *
+     * @param shards The shards, each sorted as unsigned numbers
+     * @return The merger
+     */
+    public static RadixMerger<char[]> of(char[]... shards) {
+        return new CharMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted byte shards
+     *
+     * @param shards The shards, each sorted as signed numbers
+     * @return The merger
+     */
+    public static RadixMerger<byte[]> of(byte[]... shards) {
+        return new ByteMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted float shards
+     *
+     * @param shards The shards, each sorted like {@link Float#compare(float, float)}
+     * @return The merger
+     */
+    public static RadixMerger<float[]> of(float[]... shards) {
+        return new FloatMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of sorted double shards
+     *
+     * @param shards The shards, each sorted like {@link Double#compare(double, double)}
+     * @return The merger
+     */
+    public static RadixMerger<double[]> of(double[]... shards) {
+        return new DoubleMerger(shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Creates a merger of shards of objects sorted by their values
+     *
+     * @param calculator How to determine the value of an object
+     * @param shards     The shards, each sorted by the values of the objects as signed numbers
+     * @param <E>        The type of the objects
+     * @return The merger
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <E> RadixMerger<E[]> of(Radix.ObjectValue<? super E> calculator, E[]... shards) {
+        Objects.requireNonNull(calculator);
+        return new ObjectMerger<>(calculator, shards.clone(), new int[shards.length], lengths(shards));
+    }
+
+    /**
+     * Merges the next elements into a buffer
+     *
+     * @param buffer Where to write the merged elements
+     * @return How many elements were written, which is less than the length of the buffer only once all shards are exhausted
+     */
+    public int next(A buffer) {
+        return next(buffer, 0, Array.getLength(buffer));
+    }
+
+    /**
+     * Merges the next elements into a range of a buffer
+     *
+     * @param buffer Where to write the merged elements
+     * @param offset The first index to write to
+     * @param length How many elements to write at most
+     * @return How many elements were written, which is less than the length only once all shards are exhausted
+     */
+    public int next(A buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, Array.getLength(buffer));
+        int merged = merge(buffer, offset, length);
+        remaining -= merged;
+        return merged;
+    }
+
+    /**
+     * @return How many elements haven't been merged yet
+     */
+    public long remaining() {
+        return remaining;
+    }
+
+    /**
+     * Merges all remaining elements into a target, using multiple threads if there are enough elements.
+     * The output gets split into equal parts, and for every part the splitter search determines
+     * which range of every shard ends up in it, so all parts get merged independently
+     *
+     * @param target     Where to write the merged elements
+     * @param targetFrom The first index to write to
+     * @param pool       The pool to merge on, or null to merge on the current thread
+     */
+    void mergeAll(A target, int targetFrom, ForkJoinPool pool) {
+        int length = Math.toIntExact(remaining);
+        Objects.checkFromIndexSize(targetFrom, length, Array.getLength(target));
+        Probe probe = Probe.start(SortStatistics.Strategy.MERGE, length);
+        long time = probe.time();
+        int parts = pool == null ? 1 : ParallelLSDSort.chunks(length, pool);
+        if (parts <= 1) {
+            merge(target, targetFrom, length);
+        } else {
+            probe.threads(parts);
+            int[][] splits = new int[parts + 1][];
+            splits[0] = positions;
+            splits[parts] = ends;
+            for (int part = 1; part < parts; part++) {
+                splits[part] = split(ParallelLSDSort.start(length, part, parts));
+            }
+            time = probe.histogram(time);
+            ParallelLSDSort.run(parts, pool, part -> {
+                int start = ParallelLSDSort.start(length, part, parts);
+                int end = ParallelLSDSort.start(length, part + 1, parts);
+                part(splits[part].clone(), splits[part + 1]).merge(target, targetFrom + start, end - start);
+            });
+            for (int shard = 0; shard < positions.length; shard++) {
+                positions[shard] = ends[shard];
+                tree.finish(shard);
+            }
+        }
+        remaining = 0;
+        probe.merge(time);
+        probe.pass();
+        probe.finish();
+    }
+
+    /**
+     * Finds where every shard has to be split, so that the elements before the splits
+     * are exactly the given number of first elements of the merge.
+     * A binary search over the keys finds the smallest key of which there are enough smaller or equal elements,
+     * then all elements with smaller keys go before the splits,
+     * and the missing elements are taken from those with exactly that key in the order of the shards, like the merge does
+     *
+     * @param rank How many elements lie before the splits
+     * @return The index of the split in every shard
+     */
+    int[] split(long rank) {
+        int shards = positions.length;
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        for (int shard = 0; shard < shards; shard++) {
+            if (positions[shard] < ends[shard]) {
+                low = Math.min(low, key(shard, positions[shard]));
+                high = Math.max(high, key(shard, ends[shard] - 1));
+            }
+        }
+        while (low < high) {
+            long middle = (low & high) + ((low ^ high) >> 1);
+            long count = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                count += bound(shard, middle, true) - positions[shard];
+            }
+            if (count >= rank) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int[] split = new int[shards];
+        long taken = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            split[shard] = bound(shard, low, false);
+            taken += split[shard] - positions[shard];
+        }
+        for (int shard = 0; shard < shards && taken < rank; shard++) {
+            int equal = (int) Math.min(bound(shard, low, true) - split[shard], rank - taken);
+            split[shard] += equal;
+            taken += equal;
+        }
+        return split;
+    }
+
+    /**
+     * Finds the first element of the remaining range of a shard whose key is larger than a given one
+     *
+     * @param shard     The shard to search
+     * @param key       The key to compare with
+     * @param inclusive Whether elements with the same key count as smaller
+     * @return The index of the first larger element, or the end of the range if there is none
+     */
+    private int bound(int shard, long key, boolean inclusive) {
+        int low = positions[shard];
+        int high = ends[shard];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long current = key(shard, middle);
+            if (current < key || (inclusive && current == key)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sets the first elements of all shards as the keys of the tree
+     */
+    void start() {
+        for (int shard = 0; shard < positions.length; shard++) {
+            if (positions[shard] < ends[shard]) {
+                tree.set(shard, key(shard, positions[shard]));
+            } else {
+                tree.finish(shard);
+            }
+        }
+        tree.build();
+    }
+
+    /**
+     * @param shard The shard holding the element
+     * @param index The index of the element within the shard
+     * @return The key of an element, which orders it as a signed number
+     */
+    abstract long key(int shard, int index);
+
+    /**
+     * Writes the next elements into a target without checking its bounds
+     *
+     * @param target Where to write the merged elements
+     * @param offset The first index to write to
+     * @param length How many elements to write at most
+     * @return How many elements were written
+     */
+    abstract int merge(A target, int offset, int length);
+
+    /**
+     * Creates a merger of ranges of the same shards
+     *
+     * @param from The first index of every shard to merge (inclusive)
+     * @param to   The last index of every shard to merge (exclusive)
+     * @return The merger
+     */
+    abstract RadixMerger<A> part(int[] from, int[] to);
+
+    /**
+     * @param shards The shards
+     * @return The length of every shard
+     */
+    private static int[] lengths(Object[] shards) {
+        int[] lengths = new int[shards.length];
+        for (int shard = 0; shard < shards.length; shard++) {
+            lengths[shard] = Array.getLength(shards[shard]);
+        }
+        return lengths;
+    }
+
+    private static final class LongMerger extends RadixMerger<long[]> {
+
+        private final long[][] shards;
+
+        private LongMerger(long[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return shards[shard][index];
+        }
+
+        @Override
+        int merge(long[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                long[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, source[index]);
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<long[]> part(int[] from, int[] to) {
+            return new LongMerger(shards, from, to);
+        }
+    }
+
+    private static final class IntMerger extends RadixMerger<int[]> {
+
+        private final int[][] shards;
+
+        private IntMerger(int[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return shards[shard][index];
+        }
+
+        @Override
+        int merge(int[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                int[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, source[index]);
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<int[]> part(int[] from, int[] to) {
+            return new IntMerger(shards, from, to);
+        }
+    }
+
+    private static final class ShortMerger extends RadixMerger<short[]> {
+
+        private final short[][] shards;
+
+        private ShortMerger(short[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return shards[shard][index];
+        }
+
+        @Override
+        int merge(short[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                short[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, source[index]);
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<short[]> part(int[] from, int[] to) {
+            return new ShortMerger(shards, from, to);
+        }
+    }
+
+    private static final class CharMerger extends RadixMerger<char[]> {
+
+        private final char[][] shards;
+
+        private CharMerger(char[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return shards[shard][index];
+        }
+
+        @Override
+        int merge(char[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                char[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, source[index]);
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<char[]> part(int[] from, int[] to) {
+            return new CharMerger(shards, from, to);
+        }
+    }
+
+    private static final class ByteMerger extends RadixMerger<byte[]> {
+
+        private final byte[][] shards;
+
+        private ByteMerger(byte[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return shards[shard][index];
+        }
+
+        @Override
+        int merge(byte[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                byte[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, source[index]);
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<byte[]> part(int[] from, int[] to) {
+            return new ByteMerger(shards, from, to);
+        }
+    }
+
+    private static final class FloatMerger extends RadixMerger<float[]> {
+
+        private final float[][] shards;
+
+        private FloatMerger(float[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return FloatKeys.toKey(shards[shard][index]);
+        }
+
+        @Override
+        int merge(float[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                float[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, FloatKeys.toKey(source[index]));
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<float[]> part(int[] from, int[] to) {
+            return new FloatMerger(shards, from, to);
+        }
+    }
+
+    private static final class DoubleMerger extends RadixMerger<double[]> {
+
+        private final double[][] shards;
+
+        private DoubleMerger(double[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return FloatKeys.toKey(shards[shard][index]);
+        }
+
+        @Override
+        int merge(double[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                double[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, FloatKeys.toKey(source[index]));
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<double[]> part(int[] from, int[] to) {
+            return new DoubleMerger(shards, from, to);
+        }
+    }
+
+    private static final class ObjectMerger<E> extends RadixMerger<E[]> {
+
+        private final Radix.ObjectValue<? super E> calculator;
+        private final E[][] shards;
+
+        private ObjectMerger(Radix.ObjectValue<? super E> calculator, E[][] shards, int[] from, int[] to) {
+            super(from, to);
+            this.calculator = calculator;
+            this.shards = shards;
+            start();
+        }
+
+        @Override
+        long key(int shard, int index) {
+            return calculator.value(shards[shard][index]);
+        }
+
+        @Override
+        int merge(E[] target, int offset, int length) {
+            LoserTree tree = this.tree;
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !tree.done()) {
+                int shard = tree.winner();
+                E[] source = shards[shard];
+                int index = positions[shard];
+                target[position++] = source[index++];
+                positions[shard] = index;
+                if (index < ends[shard]) {
+                    tree.set(shard, calculator.value(source[index]));
+                } else {
+                    tree.finish(shard);
+                }
+                tree.replay();
+            }
+            return position - offset;
+        }
+
+        @Override
+        RadixMerger<E[]> part(int[] from, int[] to) {
+            return new ObjectMerger<>(calculator, shards, from, to);
+        }
+    }
+}
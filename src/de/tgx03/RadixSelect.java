@@ -0,0 +1,478 @@
+package de.tgx03;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Finds the elements at given ranks of the sorted order without sorting the whole input.
+ * Every level builds a histogram of the most significant digit of the range between the smallest and the largest element,
+ * which tells the bucket every requested rank falls into.
+ * Only the elements of those buckets get copied into new arrays and the next level continues on them,
+ * so the amount of work shrinks with every level.
+ * Once a bucket is small enough, it's sorted and the ranks are read directly.
+ * Types with at most 16 bits are simply counted, which answers every rank from a single histogram.
+ */
+final class RadixSelect {
+
+    /**
+     * How many bits a digit spans
+     */
+    private static final int DIGIT_BITS = 11;
+    /**
+     * Buckets of up to this many elements get sorted instead of narrowed down further
+     */
+    private static final int CUTOFF = 1 << 10;
+
+    private RadixSelect() {
+    }
+
+    /**
+     * Turns a quantile into a rank using the nearest rank method,
+     * so the result is the smallest element of which at least the given share of all elements is smaller or equal
+     *
+     * @param quantile The quantile between 0 and 1
+     * @param length   How many elements there are
+     * @return The rank of the quantile
+     */
+    static int rank(double quantile, int length) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("A quantile must lie between 0 and 1, but was " + quantile);
+        }
+        if (length == 0) throw new IllegalArgumentException("There are no quantiles of an empty array");
+        return (int) Math.max(0, Math.ceil(quantile * length) - 1);
+    }
+
+    /**
+     * Turns quantiles into ranks
+     *
+     * @param quantiles The quantiles between 0 and 1
+     * @param length    How many elements there are
+     * @return The ranks in the same order as the quantiles
+     * @see #rank(double, int)
+     */
+    static int[] ranks(double[] quantiles, int length) {
+        int[] ranks = new int[quantiles.length];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = rank(quantiles[i], length);
+        }
+        return ranks;
+    }
+
+    /**
+     * Makes sure the number of requested largest elements fits into the input
+     *
+     * @param k      How many elements are requested
+     * @param length How many elements there are
+     */
+    static void checkCount(int k, int length) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("Can't take the " + k + " largest of " + length + " elements");
+        }
+    }
+
+    /**
+     * Finds the ints at the given ranks of the sorted order, treating them as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param ranks The ranks to find in any order
+     * @return The ints at the ranks in the same order as the ranks
+     */
+    static int[] select(int[] array, int[] ranks) {
+        for (int rank : ranks) {
+            Objects.checkIndex(rank, array.length);
+        }
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        int[] found = new int[sorted.length];
+        select(array, array.length, false, sorted, 0, sorted.length, 0, found);
+        int[] results = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            results[i] = found[Arrays.binarySearch(sorted, ranks[i])];
+        }
+        return results;
+    }
+
+    /**
+     * Finds the ints at a sorted range of ranks within the first elements of an array
+     *
+     * @param array    The array to search
+     * @param length   How many elements of the array are part of the search
+     * @param owned    Whether the array may be modified
+     * @param ranks    The ranks to find in ascending order
+     * @param rankFrom The first rank to find (inclusive)
+     * @param rankTo   The last rank to find (exclusive)
+     * @param offset   How many elements of the whole input are smaller than the ones in this array
+     * @param results  Where to store the ints, at the same index as their rank
+     */
+    private static void select(int[] array, int length, boolean owned, int[] ranks, int rankFrom, int rankTo, int offset, int[] results) {
+        if (length <= CUTOFF) {
+            int[] sorted = owned ? array : Arrays.copyOf(array, length);
+            LSDSort.sort(sorted, 0, length, new int[length], 32, DIGIT_BITS);
+            for (int i = rankFrom; i < rankTo; i++) {
+                results[i] = sorted[ranks[i] - offset];
+            }
+            return;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+        if (min == max) {
+            Arrays.fill(results, rankFrom, rankTo, min);
+            return;
+        }
+        long range = (long) max - min;
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(range) - DIGIT_BITS);
+        int[] counts = new int[(int) (range >>> shift) + 1];
+        for (int i = 0; i < length; i++) {
+            counts[(int) (((long) array[i] - min) >>> shift)]++;
+        }
+        int[][] targets = new int[counts.length][];
+        int[] starts = new int[counts.length];
+        int start = offset;
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (ranks[rank] < start + counts[digit]) {
+                targets[digit] = new int[counts[digit]];
+                starts[digit] = start;
+                while (rank < rankTo && ranks[rank] < start + counts[digit]) rank++;
+            }
+            start += counts[digit];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < length; i++) {
+            int element = array[i];
+            int digit = (int) (((long) element - min) >>> shift);
+            if (targets[digit] != null) targets[digit][counts[digit]++] = element;
+        }
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (targets[digit] == null) continue;
+            int end = starts[digit] + counts[digit];
+            int first = rank;
+            while (rank < rankTo && ranks[rank] < end) rank++;
+            select(targets[digit], counts[digit], true, ranks, first, rank, starts[digit], results);
+        }
+    }
+
+    /**
+     * Finds the k largest ints, treating them as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many ints to find
+     * @return The k largest ints in descending order
+     */
+    static int[] top(int[] array, int k) {
+        checkCount(k, array.length);
+        if (k == 0) return new int[0];
+        int threshold = select(array, new int[]{array.length - k})[0];
+        int[] result = new int[k];
+        int found = 0;
+        for (int element : array) {
+            if (element > threshold) result[found++] = element;
+        }
+        Arrays.fill(result, found, k, threshold);
+        LSDSort.sort(result, 0, k, new int[k], 32, DIGIT_BITS);
+        for (int i = 0, j = k - 1; i < j; i++, j--) {
+            int swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the longs at the given ranks of the sorted order, treating them as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param ranks The ranks to find in any order
+     * @return The longs at the ranks in the same order as the ranks
+     */
+    static long[] select(long[] array, int[] ranks) {
+        for (int rank : ranks) {
+            Objects.checkIndex(rank, array.length);
+        }
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        long[] found = new long[sorted.length];
+        select(array, array.length, false, sorted, 0, sorted.length, 0, found);
+        long[] results = new long[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            results[i] = found[Arrays.binarySearch(sorted, ranks[i])];
+        }
+        return results;
+    }
+
+    /**
+     * Finds the longs at a sorted range of ranks within the first elements of an array
+     *
+     * @param array    The array to search
+     * @param length   How many elements of the array are part of the search
+     * @param owned    Whether the array may be modified
+     * @param ranks    The ranks to find in ascending order
+     * @param rankFrom The first rank to find (inclusive)
+     * @param rankTo   The last rank to find (exclusive)
+     * @param offset   How many elements of the whole input are smaller than the ones in this array
+     * @param results  Where to store the longs, at the same index as their rank
+     */
+    private static void select(long[] array, int length, boolean owned, int[] ranks, int rankFrom, int rankTo, int offset, long[] results) {
+        if (length <= CUTOFF) {
+            long[] sorted = owned ? array : Arrays.copyOf(array, length);
+            LSDSort.sort(sorted, 0, length, new long[length], 64, DIGIT_BITS);
+            for (int i = rankFrom; i < rankTo; i++) {
+                results[i] = sorted[ranks[i] - offset];
+            }
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+        if (min == max) {
+            Arrays.fill(results, rankFrom, rankTo, min);
+            return;
+        }
+        long range = max - min;
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(range) - DIGIT_BITS);
+        int[] counts = new int[(int) (range >>> shift) + 1];
+        for (int i = 0; i < length; i++) {
+            counts[(int) ((array[i] - min) >>> shift)]++;
+        }
+        long[][] targets = new long[counts.length][];
+        int[] starts = new int[counts.length];
+        int start = offset;
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (ranks[rank] < start + counts[digit]) {
+                targets[digit] = new long[counts[digit]];
+                starts[digit] = start;
+                while (rank < rankTo && ranks[rank] < start + counts[digit]) rank++;
+            }
+            start += counts[digit];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < length; i++) {
+            long element = array[i];
+            int digit = (int) ((element - min) >>> shift);
+            if (targets[digit] != null) targets[digit][counts[digit]++] = element;
+        }
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (targets[digit] == null) continue;
+            int end = starts[digit] + counts[digit];
+            int first = rank;
+            while (rank < rankTo && ranks[rank] < end) rank++;
+            select(targets[digit], counts[digit], true, ranks, first, rank, starts[digit], results);
+        }
+    }
+
+    /**
+     * Finds the k largest longs, treating them as signed numbers
+     *
+     * @param array The array to search, which doesn't get modified
+     * @param k     How many longs to find
+     * @return The k largest longs in descending order
+     */
+    static long[] top(long[] array, int k) {
+        checkCount(k, array.length);
+        if (k == 0) return new long[0];
+        long threshold = select(array, new int[]{array.length - k})[0];
+        long[] result = new long[k];
+        int found = 0;
+        for (long element : array) {
+            if (element > threshold) result[found++] = element;
+        }
+        Arrays.fill(result, found, k, threshold);
+        LSDSort.sort(result, 0, k, new long[k], 64, DIGIT_BITS);
+        for (int i = 0, j = k - 1; i < j; i++, j--) {
+            long swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the objects at the given ranks of the stably sorted order.
+     * The indices of the objects get narrowed down along with their values,
+     * so only the elements of the selected buckets are ever touched again after the first level
+     *
+     * @param values The values of the objects
+     * @param ranks  The ranks to find in any order
+     * @return The indices of the objects at the ranks in the same order as the ranks
+     */
+    static int[] selectIndices(long[] values, int[] ranks) {
+        for (int rank : ranks) {
+            Objects.checkIndex(rank, values.length);
+        }
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        int[] found = new int[sorted.length];
+        select(values, null, values.length, false, sorted, 0, sorted.length, 0, found);
+        int[] indices = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            indices[i] = found[Arrays.binarySearch(sorted, ranks[i])];
+        }
+        return indices;
+    }
+
+    /**
+     * Finds the indices of the objects at a sorted range of ranks within the first values of an array.
+     * As the values keep their order when they get narrowed down and the final sort is stable,
+     * objects with the same value are taken in the order of their indices
+     *
+     * @param values   The values to search
+     * @param indices  The index of every value, or null if the values are the whole input at their original indices
+     * @param length   How many values are part of the search
+     * @param owned    Whether the values may be modified
+     * @param ranks    The ranks to find in ascending order
+     * @param rankFrom The first rank to find (inclusive)
+     * @param rankTo   The last rank to find (exclusive)
+     * @param offset   How many values of the whole input are smaller than the ones in this array
+     * @param results  Where to store the indices, at the same index as their rank
+     */
+    private static void select(long[] values, int[] indices, int length, boolean owned, int[] ranks, int rankFrom, int rankTo, int offset, int[] results) {
+        if (length <= CUTOFF) {
+            long[] sorted = owned ? values : Arrays.copyOf(values, length);
+            int[] sortedIndices = indices;
+            if (sortedIndices == null) {
+                sortedIndices = new int[length];
+                for (int i = 0; i < length; i++) {
+                    sortedIndices[i] = i;
+                }
+            }
+            LSDSort.sort(sorted, sortedIndices, 0, length, new long[length], new int[length], 64, DIGIT_BITS);
+            for (int i = rankFrom; i < rankTo; i++) {
+                results[i] = sortedIndices[ranks[i] - offset];
+            }
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        if (min == max) {
+            for (int i = rankFrom; i < rankTo; i++) {
+                results[i] = indices == null ? ranks[i] - offset : indices[ranks[i] - offset];
+            }
+            return;
+        }
+        long range = max - min;
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(range) - DIGIT_BITS);
+        int[] counts = new int[(int) (range >>> shift) + 1];
+        for (int i = 0; i < length; i++) {
+            counts[(int) ((values[i] - min) >>> shift)]++;
+        }
+        long[][] targets = new long[counts.length][];
+        int[][] targetIndices = new int[counts.length][];
+        int[] starts = new int[counts.length];
+        int start = offset;
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (ranks[rank] < start + counts[digit]) {
+                targets[digit] = new long[counts[digit]];
+                targetIndices[digit] = new int[counts[digit]];
+                starts[digit] = start;
+                while (rank < rankTo && ranks[rank] < start + counts[digit]) rank++;
+            }
+            start += counts[digit];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < length; i++) {
+            long value = values[i];
+            int digit = (int) ((value - min) >>> shift);
+            if (targets[digit] != null) {
+                targetIndices[digit][counts[digit]] = indices == null ? i : indices[i];
+                targets[digit][counts[digit]++] = value;
+            }
+        }
+        for (int digit = 0, rank = rankFrom; digit < counts.length && rank < rankTo; digit++) {
+            if (targets[digit] == null) continue;
+            int end = starts[digit] + counts[digit];
+            int first = rank;
+            while (rank < rankTo && ranks[rank] < end) rank++;
+            select(targets[digit], targetIndices[digit], counts[digit], true, ranks, first, rank, starts[digit], results);
+        }
+    }
+
+    /**
+     * Finds the k objects with the largest values.
+     * Of multiple objects with the same value, the ones appearing first are taken first
+     *
+     * @param values The values of the objects
+     * @param k      How many objects to find
+     * @return The indices of the objects in descending order of their values
+     */
+    static int[] topIndices(long[] values, int k) {
+        checkCount(k, values.length);
+        if (k == 0) return new int[0];
+        long threshold = select(values, new int[]{values.length - k})[0];
+        long[] keys = new long[k];
+        int[] indices = new int[k];
+        int larger = 0;
+        for (long value : values) {
+            if (value > threshold) larger++;
+        }
+        int equal = k - larger;
+        int found = 0;
+        for (int i = 0; i < values.length && found < k; i++) {
+            if (values[i] > threshold || (values[i] == threshold && equal-- > 0)) {
+                keys[found] = ~values[i];
+                indices[found++] = i;
+            }
+        }
+        LSDSort.sort(keys, indices, 0, k, new long[k], new int[k], 64, DIGIT_BITS);
+        return indices;
+    }
+
+    /**
+     * Finds the buckets of a histogram holding the given ranks
+     *
+     * @param counts How many elements every bucket holds
+     * @param ranks  The ranks to find in any order
+     * @return The buckets in the same order as the ranks
+     */
+    static int[] selectBuckets(int[] counts, int[] ranks) {
+        long[] ends = new long[counts.length];
+        long end = 0;
+        for (int i = 0; i < counts.length; i++) {
+            end += counts[i];
+            ends[i] = end;
+        }
+        int[] buckets = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            Objects.checkIndex(ranks[i], (int) end);
+            int low = 0;
+            int high = counts.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle] > ranks[i]) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            buckets[i] = low;
+        }
+        return buckets;
+    }
+
+    /**
+     * Takes the k largest elements from a histogram
+     *
+     * @param counts How many elements every bucket holds
+     * @param k      How many elements to take
+     * @return The bucket of every taken element in descending order
+     */
+    static int[] topBuckets(int[] counts, int k) {
+        int[] buckets = new int[k];
+        int found = 0;
+        for (int bucket = counts.length - 1; bucket >= 0 && found < k; bucket--) {
+            int take = Math.min(counts[bucket], k - found);
+            Arrays.fill(buckets, found, found + take, bucket);
+            found += take;
+        }
+        return buckets;
+    }
+}
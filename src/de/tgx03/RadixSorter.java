@@ -0,0 +1,421 @@
+package de.tgx03;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A radix sorter that gets configured once and is then reused for many sorts.
+ * Unlike the methods of {@link Radix}, a sorter sorts the given arrays in place
+ * and keeps its histograms and scratch arrays between calls, only growing them when a larger input arrives.
+ * This means that after warming up, sorting doesn't allocate anymore.
+ * As the scratch arrays are shared between calls, a sorter must not be used by multiple threads at once.
+ * Use {@link #local()} to get a separate sorter for every thread.
+ * A parallel sorter with a parallelism other than the one of the common pool starts a pool of its own,
+ * which gets shut down by {@link #close()}, while a pool given by the caller is left to the caller.
+ */
+public final class RadixSorter implements AutoCloseable {
+
+    private static final ThreadLocal<RadixSorter> LOCAL = ThreadLocal.withInitial(RadixSorter::new);
+
+    private final Radix.DigitWidth digitWidth;
+    private final ForkJoinPool pool;
+    /**
+     * Whether the pool was started by this sorter and therefore has to be shut down by it
+     */
+    private final boolean ownsPool;
+    private final boolean signed;
+    /**
+     * Up to how many elements an input, or a bucket of a short or char array, is sorted without counting digits
+     */
+    private int smallThreshold = SmallSort.THRESHOLD;
+
+    private int[][] counts = new int[0][];
+    private int[] intKeys = new int[0];
+    private int[] intBuffer = new int[0];
+    private long[] longKeys = new long[0];
+    private long[] longBuffer = new long[0];
+    private int[] indices = new int[0];
+    private int[] indexBuffer = new int[0];
+    private Object[] objects = new Object[0];
+
+    /**
+     * Creates a new single threaded sorter that treats all values as signed
+     * and uses the default digit width for every type
+     */
+    public RadixSorter() {
+        this(null, 1, true);
+    }
+
+    /**
+     * Creates a new sorter
+     *
+     * @param digitWidth  How many bits are sorted per pass, or null to use the default for every type
+     * @param parallelism How many threads sort int, long, float and double arrays, where 1 means the calling thread only
+     * @param signed      Whether ints, longs and the values of objects get ordered as signed or unsigned numbers
+     */
+    public RadixSorter(Radix.DigitWidth digitWidth, int parallelism, boolean signed) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        this.digitWidth = digitWidth;
+        this.signed = signed;
+        if (parallelism == 1) {
+            this.pool = null;
+        } else if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+            this.pool = ForkJoinPool.commonPool();
+        } else {
+            this.pool = new ForkJoinPool(parallelism);
+        }
+        this.ownsPool = pool != null && pool != ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Creates a new sorter that sorts int, long, float and double arrays on a pool given by the caller,
+     * which stays running when the sorter gets closed
+     *
+     * @param digitWidth How many bits are sorted per pass, or null to use the default for every type
+     * @param pool       The pool to sort on, or null to sort on the calling thread only
+     * @param signed     Whether ints, longs and the values of objects get ordered as signed or unsigned numbers
+     */
+    public RadixSorter(Radix.DigitWidth digitWidth, ForkJoinPool pool, boolean signed) {
+        this.digitWidth = digitWidth;
+        this.signed = signed;
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    /**
+     * Shuts down the pool this sorter started, if it started one.
+     * Sorting large int, long, float or double arrays fails with a {@link java.util.concurrent.RejectedExecutionException} afterwards,
+     * while all other sorts keep working
+     */
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    /**
+     * Returns the sorter belonging to the current thread.
+     * It's created using {@link #RadixSorter()} on first access
+     *
+     * @return The sorter of the current thread
+     */
+    public static RadixSorter local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Sets up to how many elements an input, or a bucket of a short or char array,
+     * is sorted by this sorter using insertion sort or a sorting network instead of counting digits
+     * The initial threshold is the one of {@link Radix#getSmallThreshold()}
+     *
+     * @param threshold The new threshold, where 0 always counts digits
+     */
+    public void setSmallThreshold(int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("The threshold must not be negative, but was " + threshold);
+        this.smallThreshold = threshold;
+    }
+
+    /**
+     * @return Up to how many elements an input is sorted by this sorter without counting digits
+     */
+    public int getSmallThreshold() {
+        return smallThreshold;
+    }
+
+    /**
+     * Sorts a given int array in place
+     *
+     * @param array The array to sort
+     */
+    public void sort(int[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given int array in place
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(int[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        sortKeys(array, from, to, signed);
+    }
+
+    /**
+     * Sorts a given long array in place
+     *
+     * @param array The array to sort
+     */
+    public void sort(long[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given long array in place
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(long[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        sortKeys(array, from, to, signed);
+    }
+
+    /**
+     * Sorts a given float array in place
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     *
+     * @param array The array to sort
+     */
+    public void sort(float[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given float array in place
+     * The order is the same as the one of {@link Float#compare(float, float)}
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(float[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        int[] keys = intKeys(to - from);
+        FloatKeys.toKeys(array, from, to, keys, 0);
+        sortKeys(keys, 0, to - from, true);
+        FloatKeys.toFloats(keys, 0, to - from, array, from);
+    }
+
+    /**
+     * Sorts a given double array in place
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     *
+     * @param array The array to sort
+     */
+    public void sort(double[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given double array in place
+     * The order is the same as the one of {@link Double#compare(double, double)}
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(double[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        long[] keys = longKeys(to - from);
+        FloatKeys.toKeys(array, from, to, keys, 0);
+        sortKeys(keys, 0, to - from, true);
+        FloatKeys.toDoubles(keys, 0, to - from, array, from);
+    }
+
+    /**
+     * Sorts a given short array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     */
+    public void sort(short[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given short array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(short[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        MSDSort.sort(array, from, to, smallThreshold);
+    }
+
+    /**
+     * Sorts a given char array in place
+     *
+     * @param array The array to sort
+     */
+    public void sort(char[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given char array in place
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(char[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        MSDSort.sort(array, from, to, smallThreshold);
+    }
+
+    /**
+     * Sorts a given byte array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     */
+    public void sort(byte[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of a given byte array in place, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    public void sort(byte[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+        MSDSort.sort(array, from, to, smallThreshold);
+    }
+
+    /**
+     * Sorts a given object array in place
+     * The sort is stable, so objects with the same value keep their order
+     *
+     * @param array      The array to sort
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of object to sort
+     */
+    public <E> void sort(E[] array, Radix.ObjectValue<E> calculator) {
+        sort(array, 0, array.length, calculator);
+    }
+
+    /**
+     * Sorts a range of a given object array in place
+     * The sort is stable, so objects with the same value keep their order
+     *
+     * @param array      The array to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param calculator How to determine the absolute value of an object
+     * @param <E>        The type of object to sort
+     */
+    public <E> void sort(E[] array, int from, int to, Radix.ObjectValue<E> calculator) {
+        Objects.checkFromToIndex(from, to, array.length);
+        int length = to - from;
+        long[] keys = longKeys(length);
+        int[] indices = indices(length);
+        for (int i = 0; i < length; i++) {
+            keys[i] = calculator.value(array[from + i]);
+            indices[i] = from + i;
+        }
+        int digitBits = digitBits(Radix.DigitWidth.BITS_11);
+        LSDSort.sort(keys, indices, 0, length, longBuffer(length), indexBuffer, counts(1, digitBits)[0], 64, signed, digitBits, smallThreshold);
+        Object[] objects = objects(length);
+        for (int i = 0; i < length; i++) {
+            objects[i] = array[indices[i]];
+        }
+        System.arraycopy(objects, 0, array, from, length);
+        Arrays.fill(objects, 0, length, null);
+    }
+
+    /**
+     * Drops all scratch arrays, so their memory can be reclaimed.
+     * They get allocated again by the next sort
+     */
+    public void clear() {
+        counts = new int[0][];
+        intKeys = new int[0];
+        intBuffer = new int[0];
+        longKeys = new long[0];
+        longBuffer = new long[0];
+        indices = new int[0];
+        indexBuffer = new int[0];
+        objects = new Object[0];
+    }
+
+    private void sortKeys(int[] array, int from, int to, boolean signed) {
+        int digitBits = digitBits(Radix.DigitWidth.BITS_8);
+        int[] buffer = intBuffer(to - from);
+        if (pool == null) {
+            LSDSort.sort(array, from, to, buffer, 0, counts(1, digitBits)[0], 32, signed, digitBits, smallThreshold);
+        } else {
+            int[][] counts = counts(ParallelLSDSort.chunks(to - from, pool), digitBits);
+            ParallelLSDSort.sort(array, from, to, buffer, counts, 32, signed, digitBits, smallThreshold, pool);
+        }
+    }
+
+    private void sortKeys(long[] array, int from, int to, boolean signed) {
+        int digitBits = digitBits(Radix.DigitWidth.BITS_11);
+        long[] buffer = longBuffer(to - from);
+        if (pool == null) {
+            LSDSort.sort(array, from, to, buffer, 0, counts(1, digitBits)[0], 64, signed, digitBits, smallThreshold);
+        } else {
+            int[][] counts = counts(ParallelLSDSort.chunks(to - from, pool), digitBits);
+            ParallelLSDSort.sort(array, from, to, buffer, counts, 64, signed, digitBits, smallThreshold, pool);
+        }
+    }
+
+    private int digitBits(Radix.DigitWidth fallback) {
+        return digitWidth == null ? fallback.bits() : digitWidth.bits();
+    }
+
+    private int[][] counts(int chunks, int digitBits) {
+        if (counts.length < chunks) {
+            int[][] grown = new int[chunks][];
+            System.arraycopy(counts, 0, grown, 0, counts.length);
+            counts = grown;
+        }
+        for (int i = 0; i < chunks; i++) {
+            if (counts[i] == null || counts[i].length < 1 << digitBits) {
+                counts[i] = new int[1 << digitBits];
+            }
+        }
+        return counts;
+    }
+
+    private int[] intKeys(int length) {
+        if (intKeys.length < length) intKeys = new int[grow(length)];
+        return intKeys;
+    }
+
+    private int[] intBuffer(int length) {
+        if (intBuffer.length < length) intBuffer = new int[grow(length)];
+        return intBuffer;
+    }
+
+    private long[] longKeys(int length) {
+        if (longKeys.length < length) longKeys = new long[grow(length)];
+        return longKeys;
+    }
+
+    private long[] longBuffer(int length) {
+        if (longBuffer.length < length) longBuffer = new long[grow(length)];
+        return longBuffer;
+    }
+
+    private int[] indices(int length) {
+        if (indices.length < length) {
+            indices = new int[grow(length)];
+            indexBuffer = new int[indices.length];
+        }
+        return indices;
+    }
+
+    private Object[] objects(int length) {
+        if (objects.length < length) objects = new Object[grow(length)];
+        return objects;
+    }
+
+    /**
+     * If a scratch array has less space than requested, it's replaced by one with 150% of the requested size,
+     * so slowly growing inputs don't cause a new array every time
+     *
+     * @param length The requested minimum length
+     * @return The length of the new array
+     */
+    private static int grow(int length) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, length + (long) (length >> 1));
+    }
+}
@@ -0,0 +1,319 @@
+package de.tgx03;
+
+/**
+ * Detects ranges which are already sorted, sorted in reverse or made up of only a few sorted runs,
+ * as they occur for example when sorted segments get appended to each other.
+ * A single scan splits the range into runs of ascending keys and runs of strictly descending keys,
+ * where the latter get reversed right away, which keeps equal keys in their order.
+ * If the range consists of a single run it's sorted afterwards, otherwise up to {@link #MAX_RUNS} runs
+ * get merged pairwise, so the range is sorted in log2(runs) passes instead of a radix sort.
+ * As soon as the scan finds more runs than that, it gives up, which for random input happens after a few elements.
+ * That first scan only counts the runs, so giving up neither allocates nor reports anything,
+ * and only once the range is known to be presorted it's scanned again to reverse the descending runs.
+ * The keys are the same as the ones of {@link LSDSort}, so the result is the same as if it had been radix sorted.
+ */
+final class Runs {
+
+    /**
+     * Ranges with more runs than this get radix sorted
+     */
+    static final int MAX_RUNS = 8;
+
+    private Runs() {
+    }
+
+    /**
+     * Sorts a range of an int array if it consists of only a few runs.
+     * Ordering the keys as signed numbers after flipping their sign bit is the same as ordering them as unsigned numbers
+     *
+     * @param array      The array to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param buffer     A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom The first index of the scratch range, which holds to - from elements
+     * @param flip       What the values get xored with to turn them into unsigned keys
+     * @param bits       Which bits of the values are relevant
+     * @return Whether the range got sorted
+     */
+    static boolean sort(int[] array, int from, int to, int[] buffer, int bufferFrom, int flip, int bits) {
+        if (runs(array, from, to, flip, bits) > MAX_RUNS) return false;
+        Probe probe = Probe.start(SortStatistics.Strategy.RUNS, to - from);
+        long time = probe.time();
+        int[] ends = new int[MAX_RUNS + 1];
+        int runs = 0;
+        for (int start = from; start < to; start = ends[runs] + from) {
+            int end = end(array, start, to, flip, bits);
+            if (end < 0) {
+                end = ~end;
+                reverse(array, start, end);
+            }
+            ends[++runs] = end - from;
+        }
+        time = probe.histogram(time);
+        int[] source = array;
+        int sourceStart = from;
+        int[] target = buffer;
+        int targetStart = bufferFrom;
+        while (runs > 1) {
+            int merged = 0;
+            for (int run = 0; run < runs; run += 2) {
+                int start = ends[run];
+                int middle = ends[run + 1];
+                int end = run + 2 <= runs ? ends[run + 2] : middle;
+                merge(source, sourceStart + start, sourceStart + middle, sourceStart + end, target, targetStart + start, flip, bits);
+                ends[++merged] = end;
+            }
+            runs = merged;
+            time = probe.merge(time);
+            probe.pass();
+            int[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != array || sourceStart != from) {
+            System.arraycopy(source, sourceStart, array, from, to - from);
+        }
+        probe.merge(time);
+        probe.finish();
+        return true;
+    }
+
+    /**
+     * Sorts a range of a long array if it consists of only a few runs.
+     * Ordering the keys as signed numbers after flipping their sign bit is the same as ordering them as unsigned numbers
+     *
+     * @param array      The array to sort
+     * @param from       The first index to sort (inclusive)
+     * @param to         The last index to sort (exclusive)
+     * @param buffer     A scratch array, which may be the array itself as long as the ranges don't overlap
+     * @param bufferFrom The first index of the scratch range, which holds to - from elements
+     * @param flip       What the values get xored with to turn them into unsigned keys
+     * @param bits       Which bits of the values are relevant
+     * @return Whether the range got sorted
+     */
+    static boolean sort(long[] array, int from, int to, long[] buffer, int bufferFrom, long flip, long bits) {
+        if (runs(array, from, to, flip, bits) > MAX_RUNS) return false;
+        Probe probe = Probe.start(SortStatistics.Strategy.RUNS, to - from);
+        long time = probe.time();
+        int[] ends = new int[MAX_RUNS + 1];
+        int runs = 0;
+        for (int start = from; start < to; start = ends[runs] + from) {
+            int end = end(array, start, to, flip, bits);
+            if (end < 0) {
+                end = ~end;
+                reverse(array, start, end);
+            }
+            ends[++runs] = end - from;
+        }
+        time = probe.histogram(time);
+        long[] source = array;
+        int sourceStart = from;
+        long[] target = buffer;
+        int targetStart = bufferFrom;
+        while (runs > 1) {
+            int merged = 0;
+            for (int run = 0; run < runs; run += 2) {
+                int start = ends[run];
+                int middle = ends[run + 1];
+                int end = run + 2 <= runs ? ends[run + 2] : middle;
+                merge(source, sourceStart + start, sourceStart + middle, sourceStart + end, target, targetStart + start, flip, bits);
+                ends[++merged] = end;
+            }
+            runs = merged;
+            time = probe.merge(time);
+            probe.pass();
+            long[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+        if (source != array || sourceStart != from) {
+            System.arraycopy(source, sourceStart, array, from, to - from);
+        }
+        probe.merge(time);
+        probe.finish();
+        return true;
+    }
+
+    /**
+     * Counts the runs of a range without changing it or allocating anything,
+     * so input that isn't presorted costs nothing but the few elements until the scan gives up
+     *
+     * @param array The array to scan
+     * @param from  The first index to scan (inclusive)
+     * @param to    The last index to scan (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     * @return How many runs the range consists of, or {@link #MAX_RUNS} + 1 if there are more
+     */
+    private static int runs(int[] array, int from, int to, int flip, int bits) {
+        int runs = 0;
+        for (int start = from; start < to; runs++) {
+            if (runs == MAX_RUNS) return MAX_RUNS + 1;
+            int end = end(array, start, to, flip, bits);
+            start = end < 0 ? ~end : end;
+        }
+        return runs;
+    }
+
+    /**
+     * Finds where the run starting at an index ends
+     *
+     * @param array The array to scan
+     * @param start The first index of the run
+     * @param to    The last index to scan (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     * @return The end of the run (exclusive), which is inverted if the run is strictly descending
+     */
+    private static int end(int[] array, int start, int to, int flip, int bits) {
+        int end = start + 1;
+        int previous = ((array[start] ^ flip) & bits) ^ Integer.MIN_VALUE;
+        if (end < to && (((array[end] ^ flip) & bits) ^ Integer.MIN_VALUE) < previous) {
+            for (; end < to; end++) {
+                int key = ((array[end] ^ flip) & bits) ^ Integer.MIN_VALUE;
+                if (key >= previous) break;
+                previous = key;
+            }
+            return ~end;
+        }
+        for (; end < to; end++) {
+            int key = ((array[end] ^ flip) & bits) ^ Integer.MIN_VALUE;
+            if (key < previous) break;
+            previous = key;
+        }
+        return end;
+    }
+
+    /**
+     * Counts the runs of a range of a long array, giving up as soon as there are too many
+     *
+     * @param array The array to scan
+     * @param from  The first index to scan (inclusive)
+     * @param to    The last index to scan (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     * @return How many runs the range consists of, or {@link #MAX_RUNS} + 1 if there are more
+     */
+    private static int runs(long[] array, int from, int to, long flip, long bits) {
+        int runs = 0;
+        for (int start = from; start < to; runs++) {
+            if (runs == MAX_RUNS) return MAX_RUNS + 1;
+            int end = end(array, start, to, flip, bits);
+            start = end < 0 ? ~end : end;
+        }
+        return runs;
+    }
+
+    /**
+     * Finds where the run of a long array starting at an index ends
+     *
+     * @param array The array to scan
+     * @param start The first index of the run
+     * @param to    The last index to scan (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     * @return The end of the run (exclusive), which is inverted if the run is strictly descending
+     */
+    private static int end(long[] array, int start, int to, long flip, long bits) {
+        int end = start + 1;
+        long previous = ((array[start] ^ flip) & bits) ^ Long.MIN_VALUE;
+        if (end < to && (((array[end] ^ flip) & bits) ^ Long.MIN_VALUE) < previous) {
+            for (; end < to; end++) {
+                long key = ((array[end] ^ flip) & bits) ^ Long.MIN_VALUE;
+                if (key >= previous) break;
+                previous = key;
+            }
+            return ~end;
+        }
+        for (; end < to; end++) {
+            long key = ((array[end] ^ flip) & bits) ^ Long.MIN_VALUE;
+            if (key < previous) break;
+            previous = key;
+        }
+        return end;
+    }
+
+    /**
+     * Merges two adjacent runs into a target, taking the element of the first run if the keys are equal
+     *
+     * @param source      The array holding the runs
+     * @param start       The first index of the first run (inclusive)
+     * @param middle      The first index of the second run, which is the end of the first one
+     * @param end         The last index of the second run (exclusive)
+     * @param target      Where to write the merged run
+     * @param targetStart The first index to write to
+     * @param flip        What the values get xored with to turn them into unsigned keys
+     * @param bits        Which bits of the values are relevant
+     */
+    private static void merge(int[] source, int start, int middle, int end, int[] target, int targetStart, int flip, int bits) {
+        int left = start;
+        int right = middle;
+        int position = targetStart;
+        while (left < middle && right < end) {
+            int first = source[left];
+            int second = source[right];
+            if ((((second ^ flip) & bits) ^ Integer.MIN_VALUE) < (((first ^ flip) & bits) ^ Integer.MIN_VALUE)) {
+                target[position++] = second;
+                right++;
+            } else {
+                target[position++] = first;
+                left++;
+            }
+        }
+        System.arraycopy(source, left, target, position, middle - left);
+        System.arraycopy(source, right, target, position + middle - left, end - right);
+    }
+
+    /**
+     * Merges two adjacent runs of a long array into a target, taking the element of the first run if the keys are equal
+     *
+     * @param source      The array holding the runs
+     * @param start       The first index of the first run (inclusive)
+     * @param middle      The first index of the second run, which is the end of the first one
+     * @param end         The last index of the second run (exclusive)
+     * @param target      Where to write the merged run
+     * @param targetStart The first index to write to
+     * @param flip        What the values get xored with to turn them into unsigned keys
+     * @param bits        Which bits of the values are relevant
+     */
+    private static void merge(long[] source, int start, int middle, int end, long[] target, int targetStart, long flip, long bits) {
+        int left = start;
+        int right = middle;
+        int position = targetStart;
+        while (left < middle && right < end) {
+            long first = source[left];
+            long second = source[right];
+            if ((((second ^ flip) & bits) ^ Long.MIN_VALUE) < (((first ^ flip) & bits) ^ Long.MIN_VALUE)) {
+                target[position++] = second;
+                right++;
+            } else {
+                target[position++] = first;
+                left++;
+            }
+        }
+        System.arraycopy(source, left, target, position, middle - left);
+        System.arraycopy(source, right, target, position + middle - left, end - right);
+    }
+
+    private static void reverse(int[] array, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+
+    private static void reverse(long[] array, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package de.tgx03;
+
+import java.util.Arrays;
+
+/**
+ * Sorts for inputs and buckets so small that counting digits costs more than comparing the elements directly.
+ * Up to 16 ints or longs compared by their full width are put through a sorting network,
+ * which consists of a fixed sequence of compare-exchanges that only use min and max and therefore don't branch.
+ * Everything else is sorted using insertion sort, which unlike the networks is stable,
+ * so it's also used whenever elements with equal keys may still be distinguishable.
+ * The threshold below which the radix sorts hand over to these sorts defaults to the system property {@value #PROPERTY}
+ * and can be changed for the sorts of a single sorter using {@link RadixSorter#setSmallThreshold(int)}.
+ */
+final class SmallSort {
+
+    /**
+     * The system property holding the initial threshold
+     */
+    static final String PROPERTY = "de.tgx03.radix.smallThreshold";
+    /**
+     * The threshold used if the system property isn't set
+     */
+    static final int DEFAULT_THRESHOLD = 32;
+    /**
+     * Up to how many elements an input or bucket gets sorted without counting digits, unless a sorter says otherwise
+     */
+    static final int THRESHOLD = Math.max(0, Integer.getInteger(PROPERTY, DEFAULT_THRESHOLD));
+    /**
+     * Inputs of up to this many elements are sorted using a sorting network
+     */
+    private static final int NETWORK_LIMIT = 16;
+    /**
+     * The comparators of the network for every size, as pairs of the lower and the upper index
+     */
+    private static final int[][] NETWORKS = new int[NETWORK_LIMIT + 1][];
+
+    static {
+        for (int n = 0; n <= NETWORK_LIMIT; n++) {
+            NETWORKS[n] = network(n);
+        }
+    }
+
+    private SmallSort() {
+    }
+
+    /**
+     * Creates Batcher's odd-even merge sort network for a given size.
+     * The network for the next power of 2 is created and all comparators touching an index of n or above are dropped,
+     * which is the same as padding the input with elements larger than all others
+     *
+     * @param n How many elements the network sorts
+     * @return The comparators as pairs of indices
+     */
+    private static int[] network(int n) {
+        int[] pairs = new int[2 * n * n];
+        int size = 0;
+        for (int p = 1; p < n; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < n; j += 2 * k) {
+                    for (int i = 0; i < Math.min(k, n - j - k); i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[size++] = i + j;
+                            pairs[size++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(pairs, size);
+    }
+
+    /**
+     * Sorts a range of an int array, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(int[] array, int from, int to) {
+        if (to - from <= NETWORK_LIMIT) {
+            int[] network = NETWORKS[to - from];
+            for (int i = 0; i < network.length; i += 2) {
+                int first = array[from + network[i]];
+                int second = array[from + network[i + 1]];
+                array[from + network[i]] = Math.min(first, second);
+                array[from + network[i + 1]] = Math.max(first, second);
+            }
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            int element = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > element) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Sorts a range of an int array by the same keys as {@link LSDSort}
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     */
+    static void sort(int[] array, int from, int to, int flip, int bits) {
+        if (bits == -1) {
+            int signedFlip = flip ^ Integer.MIN_VALUE;
+            if (signedFlip != 0) flip(array, from, to, signedFlip);
+            sort(array, from, to);
+            if (signedFlip != 0) flip(array, from, to, signedFlip);
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            int element = array[i];
+            int key = element & bits;
+            int j = i - 1;
+            while (j >= from && (array[j] & bits) > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    private static void flip(int[] array, int from, int to, int flip) {
+        for (int i = from; i < to; i++) {
+            array[i] ^= flip;
+        }
+    }
+
+    /**
+     * Sorts a range of a long array, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(long[] array, int from, int to) {
+        if (to - from <= NETWORK_LIMIT) {
+            int[] network = NETWORKS[to - from];
+            for (int i = 0; i < network.length; i += 2) {
+                long first = array[from + network[i]];
+                long second = array[from + network[i + 1]];
+                array[from + network[i]] = Math.min(first, second);
+                array[from + network[i + 1]] = Math.max(first, second);
+            }
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            long element = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > element) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Sorts a range of a long array by the same keys as {@link LSDSort}
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     * @param flip  What the values get xored with to turn them into unsigned keys
+     * @param bits  Which bits of the values are relevant
+     */
+    static void sort(long[] array, int from, int to, long flip, long bits) {
+        if (bits == -1) {
+            long signedFlip = flip ^ Long.MIN_VALUE;
+            if (signedFlip != 0) flip(array, from, to, signedFlip);
+            sort(array, from, to);
+            if (signedFlip != 0) flip(array, from, to, signedFlip);
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            long element = array[i];
+            long key = element & bits;
+            int j = i - 1;
+            while (j >= from && (array[j] & bits) > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    private static void flip(long[] array, int from, int to, long flip) {
+        for (int i = from; i < to; i++) {
+            array[i] ^= flip;
+        }
+    }
+
+    /**
+     * Stably sorts a range of long keys by the same keys as {@link LSDSort} and moves the int values along
+     *
+     * @param keys   The keys to sort
+     * @param values The values belonging to the keys
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param flip   What the keys get xored with to turn them into unsigned keys
+     * @param bits   Which bits of the keys are relevant
+     */
+    static void sort(long[] keys, int[] values, int from, int to, long flip, long bits) {
+        for (int i = from + 1; i < to; i++) {
+            long element = keys[i];
+            int value = values[i];
+            long key = (element ^ flip) & bits;
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned((keys[j] ^ flip) & bits, key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = element;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Stably sorts a range of long keys by the same keys as {@link LSDSort} and moves the long values along
+     *
+     * @param keys   The keys to sort
+     * @param values The values belonging to the keys
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param flip   What the keys get xored with to turn them into unsigned keys
+     * @param bits   Which bits of the keys are relevant
+     */
+    static void sort(long[] keys, long[] values, int from, int to, long flip, long bits) {
+        for (int i = from + 1; i < to; i++) {
+            long element = keys[i];
+            long value = values[i];
+            long key = (element ^ flip) & bits;
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned((keys[j] ^ flip) & bits, key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = element;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Sorts a range of a short array, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(short[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            short element = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > element) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Sorts a range of a char array
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(char[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            char element = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > element) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Sorts a range of a byte array, treating the values as signed numbers
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(byte[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            byte element = array[i];
+            int j = i - 1;
+            while (j >= from && array[j] > element) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+}
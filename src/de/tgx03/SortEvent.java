@@ -0,0 +1,37 @@
+package de.tgx03;
+
+import jdk.jfr.*;
+
+/**
+ * The Flight Recorder event of a sort, holding the same data as {@link SortStatistics}
+ */
+@Name("de.tgx03.Sort")
+@Label("Radix Sort")
+@Category("Radix")
+@Description("A sort by the radix library")
+@StackTrace(false)
+final class SortEvent extends Event {
+
+    @Label("Strategy")
+    String strategy;
+    @Label("Size")
+    long size;
+    @Label("Passes")
+    int passes;
+    @Label("Skipped Passes")
+    int skippedPasses;
+    @Label("Scratch Space")
+    @DataAmount
+    long scratchBytes;
+    @Label("Histogram Time")
+    @Timespan
+    long histogramNanos;
+    @Label("Scatter Time")
+    @Timespan
+    long scatterNanos;
+    @Label("Merge Time")
+    @Timespan
+    long mergeNanos;
+    @Label("Threads")
+    int threads;
+}
@@ -0,0 +1,18 @@
+package de.tgx03;
+
+/**
+ * Gets told about every sort once it's finished, which helps finding out why a sort took as long as it did.
+ * A listener gets registered using {@link Radix#setListener(SortListener)}
+ * and is called on the thread that ran the sort, so it should return quickly.
+ * Sorts made up of multiple sorts, like an external sort of its chunks, report the inner sorts as well.
+ */
+@FunctionalInterface
+public interface SortListener {
+
+    /**
+     * Called after a sort is finished
+     *
+     * @param statistics What the sort did
+     */
+    void sorted(SortStatistics statistics);
+}
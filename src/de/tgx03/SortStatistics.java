@@ -0,0 +1,78 @@
+package de.tgx03;
+
+/**
+ * What a single sort did, as reported to a {@link SortListener}.
+ * A pass means counting and moving all elements by one digit,
+ * while a skipped pass is a digit that wasn't sorted by because it was the same for all elements.
+ * For most significant digit sorts every partitioned bucket counts as a pass,
+ * and every digit a bucket skipped because it was the same for the whole bucket as a skipped pass.
+ *
+ * @param strategy       How the elements got sorted
+ * @param size           How many elements got sorted
+ * @param passes         How many passes were executed
+ * @param skippedPasses  How many passes were skipped
+ * @param scratchBytes   How many bytes of scratch space the sort used besides the input
+ * @param histogramNanos How many nanoseconds were spent scanning the input and counting digits
+ * @param scatterNanos   How many nanoseconds were spent moving elements into their buckets
+ * @param mergeNanos     How many nanoseconds were spent merging sorted runs
+ * @param totalNanos     How many nanoseconds the whole sort took
+ * @param threads        How many threads sorted at once
+ */
+public record SortStatistics(Strategy strategy, long size, int passes, int skippedPasses, long scratchBytes,
+                             long histogramNanos, long scatterNanos, long mergeNanos, long totalNanos, int threads) {
+
+    /**
+     * The ways the library sorts elements
+     */
+    public enum Strategy {
+        /**
+         * Insertion sort or a sorting network for inputs below {@link Radix#getSmallThreshold()}
+         */
+        SMALL,
+        /**
+         * Input made of at most 8 ascending or descending runs, which got reversed and merged
+         * instead of radix sorted, including input which was already sorted
+         */
+        RUNS,
+        /**
+         * Least significant digit radix sort on the current thread
+         */
+        LSD,
+        /**
+         * Least significant digit radix sort split into chunks that are sorted by multiple threads
+         */
+        PARALLEL_LSD,
+        /**
+         * In-place most significant digit radix sort
+         */
+        MSD,
+        /**
+         * Counting sort of bytes, shorts and chars, with a counter for every possible value
+         */
+        COUNTING,
+        /**
+         * Three-way radix quicksort of strings and byte arrays
+         */
+        STRING,
+        /**
+         * Least significant digit radix sort of an NIO buffer
+         */
+        BUFFER,
+        /**
+         * In-place sort of a memory mapped file
+         */
+        MAPPED,
+        /**
+         * A single pass that moves elements into buckets by one digit
+         */
+        PARTITION,
+        /**
+         * Merge of shards which were already sorted through a loser tree
+         */
+        MERGE,
+        /**
+         * Sort of a file through sorted runs in temporary files that get merged
+         */
+        EXTERNAL
+    }
+}
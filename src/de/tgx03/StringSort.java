@@ -0,0 +1,223 @@
+package de.tgx03;
+
+/**
+ * Most significant digit radix sort for variable length keys, implemented as three-way radix quicksort.
+ * A range gets partitioned around the character of a pivot at the current depth into smaller, equal and larger keys.
+ * The smaller and larger parts continue at the same depth, while the equal part moves on to the next character.
+ * The characters at the current depth get cached in an int array and are moved along with the keys,
+ * so every key only needs to be read once per depth instead of once per comparison.
+ * Keys that end at the current depth get the character -1, which places them in front of all longer keys.
+ */
+final class StringSort {
+
+    /**
+     * Ranges smaller than this are sorted using insertion sort
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private StringSort() {
+    }
+
+    /**
+     * Sorts a range of character sequences in lexicographic order of their chars,
+     * which is the same order as the one of {@link String#compareTo(String)}
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(CharSequence[] array, int from, int to) {
+        Probe probe = Probe.start(SortStatistics.Strategy.STRING, to - from);
+        probe.scratch((long) Integer.BYTES * array.length);
+        sort(array, new int[array.length], from, to, 0, false);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of character sequences of which all share the first depth characters
+     *
+     * @param array  The array to sort
+     * @param cache  The characters at the current depth
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param depth  The index of the current character
+     * @param cached Whether the cache already holds the characters at the current depth
+     */
+    private static void sort(CharSequence[] array, int[] cache, int from, int to, int depth, boolean cached) {
+        while (to - from >= INSERTION_THRESHOLD) {
+            if (!cached) {
+                for (int i = from; i < to; i++) {
+                    cache[i] = charAt(array[i], depth);
+                }
+            }
+            int pivot = median(cache[from], cache[(from + to) >>> 1], cache[to - 1]);
+            int less = from;
+            int greater = to - 1;
+            int i = from;
+            while (i <= greater) {
+                int current = cache[i];
+                if (current < pivot) {
+                    swap(array, cache, less++, i++);
+                } else if (current > pivot) {
+                    swap(array, cache, i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            sort(array, cache, from, less, depth, true);
+            sort(array, cache, greater + 1, to, depth, true);
+            if (pivot < 0) return;
+            from = less;
+            to = greater + 1;
+            depth++;
+            cached = false;
+        }
+        insertionSort(array, from, to, depth);
+    }
+
+    private static int charAt(CharSequence sequence, int index) {
+        return index < sequence.length() ? sequence.charAt(index) : -1;
+    }
+
+    private static void swap(CharSequence[] array, int[] cache, int first, int second) {
+        CharSequence element = array[first];
+        array[first] = array[second];
+        array[second] = element;
+        int character = cache[first];
+        cache[first] = cache[second];
+        cache[second] = character;
+    }
+
+    private static void insertionSort(CharSequence[] array, int from, int to, int depth) {
+        for (int i = from + 1; i < to; i++) {
+            CharSequence element = array[i];
+            int j = i - 1;
+            while (j >= from && compare(array[j], element, depth) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Compares two character sequences starting at the given depth
+     *
+     * @param first  The first character sequence
+     * @param second The second character sequence
+     * @param depth  The index of the first character that may differ
+     * @return A negative number, zero or a positive number if the first sequence is smaller, equal or larger
+     */
+    private static int compare(CharSequence first, CharSequence second, int depth) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = depth; i < length; i++) {
+            int difference = first.charAt(i) - second.charAt(i);
+            if (difference != 0) return difference;
+        }
+        return first.length() - second.length();
+    }
+
+    /**
+     * Sorts a range of byte arrays in lexicographic order, treating the bytes as unsigned numbers.
+     * This is the same order as the one of {@link java.util.Arrays#compareUnsigned(byte[], byte[])}
+     * and for UTF-8 encoded strings the same as the order of their code points
+     *
+     * @param array The array to sort
+     * @param from  The first index to sort (inclusive)
+     * @param to    The last index to sort (exclusive)
+     */
+    static void sort(byte[][] array, int from, int to) {
+        Probe probe = Probe.start(SortStatistics.Strategy.STRING, to - from);
+        probe.scratch((long) Integer.BYTES * array.length);
+        sort(array, new int[array.length], from, to, 0, false);
+        probe.finish();
+    }
+
+    /**
+     * Sorts a range of byte arrays of which all share the first depth bytes
+     *
+     * @param array  The array to sort
+     * @param cache  The bytes at the current depth
+     * @param from   The first index to sort (inclusive)
+     * @param to     The last index to sort (exclusive)
+     * @param depth  The index of the current byte
+     * @param cached Whether the cache already holds the bytes at the current depth
+     */
+    private static void sort(byte[][] array, int[] cache, int from, int to, int depth, boolean cached) {
+        while (to - from >= INSERTION_THRESHOLD) {
+            if (!cached) {
+                for (int i = from; i < to; i++) {
+                    cache[i] = byteAt(array[i], depth);
+                }
+            }
+            int pivot = median(cache[from], cache[(from + to) >>> 1], cache[to - 1]);
+            int less = from;
+            int greater = to - 1;
+            int i = from;
+            while (i <= greater) {
+                int current = cache[i];
+                if (current < pivot) {
+                    swap(array, cache, less++, i++);
+                } else if (current > pivot) {
+                    swap(array, cache, i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            sort(array, cache, from, less, depth, true);
+            sort(array, cache, greater + 1, to, depth, true);
+            if (pivot < 0) return;
+            from = less;
+            to = greater + 1;
+            depth++;
+            cached = false;
+        }
+        insertionSort(array, from, to, depth);
+    }
+
+    private static int byteAt(byte[] bytes, int index) {
+        return index < bytes.length ? bytes[index] & 0xFF : -1;
+    }
+
+    private static void swap(byte[][] array, int[] cache, int first, int second) {
+        byte[] element = array[first];
+        array[first] = array[second];
+        array[second] = element;
+        int character = cache[first];
+        cache[first] = cache[second];
+        cache[second] = character;
+    }
+
+    private static void insertionSort(byte[][] array, int from, int to, int depth) {
+        for (int i = from + 1; i < to; i++) {
+            byte[] element = array[i];
+            int j = i - 1;
+            while (j >= from && compare(array[j], element, depth) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Compares two byte arrays starting at the given depth
+     *
+     * @param first  The first byte array
+     * @param second The second byte array
+     * @param depth  The index of the first byte that may differ
+     * @return A negative number, zero or a positive number if the first array is smaller, equal or larger
+     */
+    private static int compare(byte[] first, byte[] second, int depth) {
+        int length = Math.min(first.length, second.length);
+        for (int i = depth; i < length; i++) {
+            int difference = (first[i] & 0xFF) - (second[i] & 0xFF);
+            if (difference != 0) return difference;
+        }
+        return first.length - second.length;
+    }
+
+    private static int median(int first, int second, int third) {
+        return Math.max(Math.min(first, second), Math.min(Math.max(first, second), third));
+    }
+}
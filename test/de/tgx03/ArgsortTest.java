@@ -0,0 +1,81 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ArgsortTest {
+
+    /**
+     * @param length     How many indices there are
+     * @param comparator How to order two indices
+     * @return The indices in the order of a stable sort
+     */
+    private static int[] stable(int length, Comparator<Integer> comparator) {
+        return IntStream.range(0, length).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void argsortsIntsStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] duplicates = Inputs.duplicates(length, 20, length);
+            int[] keys = new int[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = (int) (duplicates[i] >> 32);
+            }
+            int[] expected = stable(length, Comparator.comparingInt(i -> keys[i]));
+            assertArrayEquals(expected, Radix.argsort(keys), length + " ints");
+            assertArrayEquals(expected, Radix.parallelArgsort(keys), length + " ints in parallel");
+        }
+    }
+
+    @Test
+    void argsortsLongsStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] keys = Inputs.duplicates(length, 20, length);
+            long[] copy = keys.clone();
+            int[] expected = stable(length, Comparator.comparingLong(i -> keys[i]));
+            assertArrayEquals(expected, Radix.argsort(keys), length + " longs");
+            assertArrayEquals(expected, Radix.parallelArgsort(keys), length + " longs in parallel");
+            assertArrayEquals(copy, keys, "keys must not change");
+        }
+    }
+
+    @Test
+    void argsortsDoublesStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] duplicates = Inputs.duplicates(length, 20, length);
+            double[] keys = new double[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = i % 11 == 0 ? Double.NaN : i % 13 == 0 ? -0.0 : duplicates[i] % 7 * 0.5;
+            }
+            int[] expected = stable(length, (first, second) -> Double.compare(keys[first], keys[second]));
+            assertArrayEquals(expected, Radix.argsort(keys), length + " doubles");
+            assertArrayEquals(expected, Radix.parallelArgsort(keys), length + " doubles in parallel");
+        }
+    }
+
+    @Test
+    void keepsIndicesStableAcrossChunks() {
+        int length = ParallelLSDSort.MIN_CHUNK * 4 + 1;
+        long[] keys = Inputs.duplicates(length, 3, 8);
+        int[] expected = stable(length, Comparator.comparingLong(i -> keys[i]));
+        long[] sorted = keys.clone();
+        int[] indices = IntStream.range(0, length).toArray();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelLSDSort.sort(sorted, indices, 0, length, new long[length], new int[length], new int[4][1 << 11], 64, true, 11, SmallSort.THRESHOLD, pool);
+        } finally {
+            pool.shutdown();
+        }
+        long[] expectedKeys = keys.clone();
+        Arrays.sort(expectedKeys);
+        assertArrayEquals(expectedKeys, sorted);
+        assertArrayEquals(expected, indices);
+    }
+}
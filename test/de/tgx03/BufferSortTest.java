@@ -0,0 +1,96 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferSortTest {
+
+    private static final ByteOrder[] ORDERS = {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN};
+
+    @Test
+    void sortsLongsBetweenPositionAndLimit() {
+        for (ByteOrder order : ORDERS) {
+            for (int length : Inputs.LENGTHS) {
+                long[] values = Inputs.longs(length + 4, length);
+                LongBuffer buffer = ByteBuffer.allocateDirect(values.length * Long.BYTES).order(order).asLongBuffer().put(values);
+                buffer.position(2).limit(length + 2);
+                Radix.sort(buffer);
+                assertEquals(2, buffer.position());
+                Arrays.sort(values, 2, length + 2);
+                long[] sorted = new long[values.length];
+                buffer.clear().get(sorted);
+                assertArrayEquals(values, sorted, length + " longs in " + order);
+            }
+        }
+    }
+
+    @Test
+    void sortsIntsBetweenPositionAndLimit() {
+        for (ByteOrder order : ORDERS) {
+            for (int length : Inputs.LENGTHS) {
+                int[] values = Inputs.ints(length + 4, length);
+                IntBuffer buffer = ByteBuffer.allocateDirect(values.length * Integer.BYTES).order(order).asIntBuffer().put(values);
+                buffer.position(2).limit(length + 2);
+                Radix.sort(buffer);
+                Arrays.sort(values, 2, length + 2);
+                int[] sorted = new int[values.length];
+                buffer.clear().get(sorted);
+                assertArrayEquals(values, sorted, length + " ints in " + order);
+            }
+        }
+    }
+
+    @Test
+    void sortsHeapBuffers() {
+        long[] values = Inputs.longs(1000, 1);
+        LongBuffer buffer = LongBuffer.wrap(values.clone());
+        Radix.sort(buffer);
+        Arrays.sort(values);
+        assertArrayEquals(values, buffer.array());
+    }
+
+    @Test
+    void sortsRecordsStably() {
+        for (ByteOrder order : ORDERS) {
+            for (int keyLength : new int[]{Integer.BYTES, Long.BYTES}) {
+                int recordSize = 13;
+                long[] keys = Inputs.duplicates(5000, 25, keyLength);
+                if (keyLength == Integer.BYTES) {
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = (int) keys[i];
+                    }
+                }
+                ByteBuffer buffer = ByteBuffer.allocateDirect(keys.length * recordSize).order(order);
+                for (int i = 0; i < keys.length; i++) {
+                    buffer.putInt(i * recordSize, i);
+                    if (keyLength == Long.BYTES) buffer.putLong(i * recordSize + 4, keys[i]);
+                    else buffer.putInt(i * recordSize + 4, (int) keys[i]);
+                }
+                Item[] expected = Item.of(keys);
+                Arrays.sort(expected, Item.ORDER);
+                Radix.sort(buffer, recordSize, 4, keyLength);
+                for (int i = 0; i < keys.length; i++) {
+                    long key = keyLength == Long.BYTES ? buffer.getLong(i * recordSize + 4) : buffer.getInt(i * recordSize + 4);
+                    assertEquals(expected[i], new Item(key, buffer.getInt(i * recordSize)), keyLength + " byte keys in " + order);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidRecords() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(buffer, 16, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(buffer, 16, 12, 8));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(buffer, 24, 0, 8));
+    }
+}
@@ -0,0 +1,66 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoSortTest {
+
+    @Test
+    void movesIntValuesStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] keys = Inputs.duplicates(length, 15, length);
+            int[] values = IntStream.range(0, length).toArray();
+            Item[] expected = Item.of(keys);
+            Arrays.sort(expected, Item.ORDER);
+            Radix.sort(keys, values);
+            for (int i = 0; i < length; i++) {
+                assertArrayEquals(new long[]{expected[i].key(), expected[i].id()}, new long[]{keys[i], values[i]}, length + " keys at " + i);
+            }
+        }
+    }
+
+    @Test
+    void movesLongValuesStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] keys = Inputs.duplicates(length, 15, length);
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = i | (long) ~i << 32;
+            }
+            Item[] expected = Item.of(keys);
+            Arrays.sort(expected, Item.ORDER);
+            Radix.sort(keys, values);
+            for (int i = 0; i < length; i++) {
+                int id = expected[i].id();
+                assertArrayEquals(new long[]{expected[i].key(), id | (long) ~id << 32}, new long[]{keys[i], values[i]}, length + " keys at " + i);
+            }
+        }
+    }
+
+    @Test
+    void movesObjectsStably() {
+        for (int length : Inputs.LENGTHS) {
+            long[] keys = Inputs.duplicates(length, 15, length);
+            Item[] values = Item.of(keys);
+            Item[] expected = values.clone();
+            Arrays.sort(expected, Item.ORDER);
+            long[] expectedKeys = keys.clone();
+            Arrays.sort(expectedKeys);
+            Radix.sort(keys, values);
+            assertArrayEquals(expectedKeys, keys, length + " keys");
+            assertArrayEquals(expected, values, length + " objects");
+        }
+    }
+
+    @Test
+    void rejectsMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new long[3], new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new long[3], new long[4]));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new long[3], new Object[2]));
+    }
+}
@@ -0,0 +1,96 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingSortTest {
+
+    private static final int[] LENGTHS = {0, 1, 2, 100, 10_000, ParallelLSDSort.MIN_CHUNK * 4 + 7};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void sortsBytes() {
+        for (int length : LENGTHS) {
+            byte[] source = new byte[length];
+            new Random(length).nextBytes(source);
+            byte[] expected = source.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, Radix.sort(source), length + " bytes");
+            assertArrayEquals(expected, Radix.parallelSort(source), length + " bytes in parallel");
+            byte[] target = new byte[length + 3];
+            CountingSort.sort(source, 0, length, target, 3, pool);
+            assertArrayEquals(expected, Arrays.copyOfRange(target, 3, length + 3), length + " bytes on own pool");
+        }
+    }
+
+    @Test
+    void sortsShorts() {
+        for (int length : LENGTHS) {
+            int[] values = Inputs.ints(length, length);
+            short[] source = new short[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = (short) values[i];
+            }
+            short[] expected = source.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, Radix.sort(source), length + " shorts");
+            assertArrayEquals(expected, Radix.parallelSort(source), length + " shorts in parallel");
+            short[] target = source.clone();
+            CountingSort.sort(target, 0, length, target, 0, pool);
+            assertArrayEquals(expected, target, length + " shorts on own pool");
+        }
+    }
+
+    @Test
+    void sortsChars() {
+        for (int length : LENGTHS) {
+            int[] values = Inputs.ints(length, length);
+            char[] source = new char[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = (char) values[i];
+            }
+            char[] expected = source.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, Radix.sort(source), length + " chars");
+            assertArrayEquals(expected, Radix.parallelSort(source), length + " chars in parallel");
+            char[] target = source.clone();
+            CountingSort.sort(target, 0, length, target, 0, pool);
+            assertArrayEquals(expected, target, length + " chars on own pool");
+        }
+    }
+
+    @Test
+    void sortsLowBitsStably() {
+        short[] source = new short[1000];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (short) (i << 4 | (i * 7 & 0xF));
+        }
+        short[] target = new short[source.length];
+        CountingSort.sort(source, 0, source.length, target, 0, 4);
+        for (int i = 1; i < target.length; i++) {
+            int previous = target[i - 1] & 0xF;
+            int current = target[i] & 0xF;
+            boolean ordered = previous < current || previous == current && (target[i - 1] & 0xFFFF) >>> 4 < (target[i] & 0xFFFF) >>> 4;
+            assertTrue(ordered, "index " + i);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExternalSorterTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] bytes(long[] values, ByteOrder order) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES).order(order);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        return buffer.array();
+    }
+
+    @Test
+    void sortsLongsInMemoryAndThroughRuns() throws IOException {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            for (long memory : new long[]{64, 4096, 1 << 20}) {
+                for (int length : new int[]{0, 1, 7, 2000}) {
+                    long[] values = Inputs.longs(length, length);
+                    Path source = Files.write(directory.resolve("source"), bytes(values, order));
+                    Path target = directory.resolve("target");
+                    new ExternalSorter(memory, directory).sort(source, target, order);
+                    Arrays.sort(values);
+                    assertArrayEquals(bytes(values, order), Files.readAllBytes(target), length + " longs with " + memory + " bytes in " + order);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "temporary runs must be deleted");
+        }
+    }
+
+    @Test
+    void sortsRecordsStablyInPlace() throws IOException {
+        int recordSize = 12;
+        long[] keys = Inputs.duplicates(3000, 17, 14);
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * recordSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putLong(keys[i]).putInt(i);
+        }
+        Path file = Files.write(directory.resolve("records"), buffer.array());
+        new ExternalSorter(1000, null).sort(file, file, recordSize, 0, Long.BYTES, ByteOrder.LITTLE_ENDIAN);
+        Item[] expected = Item.of(keys);
+        Arrays.sort(expected, Item.ORDER);
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        for (Item item : expected) {
+            assertEquals(item, new Item(sorted.getLong(), sorted.getInt()));
+        }
+    }
+
+    @Test
+    void rejectsTooSmallBudgets() throws IOException {
+        Path file = Files.write(directory.resolve("small"), new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(40, null).sort(file, file, 16, 0, 8, ByteOrder.BIG_ENDIAN));
+    }
+}
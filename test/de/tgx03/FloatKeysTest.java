@@ -0,0 +1,105 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloatKeysTest {
+
+    private static final float[] SPECIAL_FLOATS = {Float.NaN, Float.intBitsToFloat(0xFFC0_0001), Float.POSITIVE_INFINITY,
+            Float.MAX_VALUE, 1, Float.MIN_NORMAL, Float.MIN_VALUE, 0.0f, -0.0f, -Float.MIN_VALUE, -1, -Float.MAX_VALUE, Float.NEGATIVE_INFINITY};
+    private static final double[] SPECIAL_DOUBLES = {Double.NaN, Double.longBitsToDouble(0xFFF8_0000_0000_0001L), Double.POSITIVE_INFINITY,
+            Double.MAX_VALUE, 1, Double.MIN_NORMAL, Double.MIN_VALUE, 0.0, -0.0, -Double.MIN_VALUE, -1, -Double.MAX_VALUE, Double.NEGATIVE_INFINITY};
+
+    @Test
+    void floatKeysOrderLikeCompare() {
+        for (float first : SPECIAL_FLOATS) {
+            for (float second : SPECIAL_FLOATS) {
+                assertEquals(Integer.signum(Float.compare(first, second)), Integer.signum(Integer.compare(FloatKeys.toKey(first), FloatKeys.toKey(second))),
+                        first + " and " + second);
+            }
+        }
+    }
+
+    @Test
+    void doubleKeysOrderLikeCompare() {
+        for (double first : SPECIAL_DOUBLES) {
+            for (double second : SPECIAL_DOUBLES) {
+                assertEquals(Integer.signum(Double.compare(first, second)), Integer.signum(Long.compare(FloatKeys.toKey(first), FloatKeys.toKey(second))),
+                        first + " and " + second);
+            }
+        }
+    }
+
+    @Test
+    void negativeZeroComesBeforeZero() {
+        assertTrue(FloatKeys.toKey(-0.0f) < FloatKeys.toKey(0.0f));
+        assertTrue(FloatKeys.toKey(-0.0) < FloatKeys.toKey(0.0));
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(FloatKeys.toFloat(FloatKeys.toKey(-0.0f))));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(FloatKeys.toDouble(FloatKeys.toKey(-0.0))));
+    }
+
+    @Test
+    void rangeConversionMatchesSingleValues() {
+        Random random = new Random(3);
+        for (int length = 0; length < 70; length++) {
+            float[] floats = new float[length + 2];
+            double[] doubles = new double[length + 2];
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = i % 5 == 0 ? SPECIAL_FLOATS[random.nextInt(SPECIAL_FLOATS.length)] : Float.intBitsToFloat(random.nextInt());
+                doubles[i] = i % 5 == 0 ? SPECIAL_DOUBLES[random.nextInt(SPECIAL_DOUBLES.length)] : Double.longBitsToDouble(random.nextLong());
+            }
+            int[] intKeys = new int[length];
+            long[] longKeys = new long[length];
+            FloatKeys.toKeys(floats, 1, length + 1, intKeys, 0);
+            FloatKeys.toKeys(doubles, 1, length + 1, longKeys, 0);
+            for (int i = 0; i < length; i++) {
+                assertEquals(FloatKeys.toKey(floats[i + 1]), intKeys[i]);
+                assertEquals(FloatKeys.toKey(doubles[i + 1]), longKeys[i]);
+            }
+            float[] floatsBack = new float[length];
+            double[] doublesBack = new double[length];
+            FloatKeys.toFloats(intKeys, 0, length, floatsBack, 0);
+            FloatKeys.toDoubles(longKeys, 0, length, doublesBack, 0);
+            assertArrayEquals(Arrays.copyOfRange(floats, 1, length + 1), floatsBack);
+            assertArrayEquals(Arrays.copyOfRange(doubles, 1, length + 1), doublesBack);
+        }
+    }
+
+    @Test
+    void sortsFloatsLikeArraysSort() {
+        for (int length : Inputs.LENGTHS) {
+            Random random = new Random(length);
+            float[] source = new float[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = i % 7 == 0 ? SPECIAL_FLOATS[random.nextInt(SPECIAL_FLOATS.length)] : (float) random.nextGaussian();
+            }
+            float[] expected = source.clone();
+            Arrays.sort(expected);
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                assertArrayEquals(expected, Radix.sort(source, width), length + " floats with " + width);
+            }
+        }
+    }
+
+    @Test
+    void sortsDoublesLikeArraysSort() {
+        for (int length : Inputs.LENGTHS) {
+            Random random = new Random(length);
+            double[] source = new double[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = i % 7 == 0 ? SPECIAL_DOUBLES[random.nextInt(SPECIAL_DOUBLES.length)] : random.nextGaussian();
+            }
+            double[] expected = source.clone();
+            Arrays.sort(expected);
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                assertArrayEquals(expected, Radix.sort(source, width), length + " doubles with " + width);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package de.tgx03;
+
+import java.util.Random;
+
+/**
+ * Generates the arrays the tests sort, always including the extreme values of the type
+ */
+final class Inputs {
+
+    /**
+     * The lengths every sort gets tested with, from empty over single elements
+     * up to arrays large enough to take the parallel and multi pass paths
+     */
+    static final int[] LENGTHS = {0, 1, 2, 3, 17, 64, 65, 1000, 100_000};
+
+    private Inputs() {
+    }
+
+    /**
+     * @param length How many values to generate
+     * @param seed   The seed of the random generator
+     * @return Random ints of all magnitudes, with MIN_VALUE, MAX_VALUE, -1 and 0 mixed in
+     */
+    static int[] ints(int length, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt() >> random.nextInt(32);
+        }
+        mixIn(values, random, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0);
+        return values;
+    }
+
+    /**
+     * @param length How many values to generate
+     * @param seed   The seed of the random generator
+     * @return Random longs of all magnitudes, with MIN_VALUE, MAX_VALUE, -1 and 0 mixed in
+     */
+    static long[] longs(int length, long seed) {
+        Random random = new Random(seed);
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextLong() >> random.nextInt(64);
+        }
+        mixIn(values, random, Long.MIN_VALUE, Long.MAX_VALUE, -1, 0);
+        return values;
+    }
+
+    /**
+     * @param length   How many values to generate
+     * @param distinct How many different values there are at most
+     * @param seed     The seed of the random generator
+     * @return Random longs with many duplicates, as needed to test stability
+     */
+    static long[] duplicates(int length, int distinct, long seed) {
+        Random random = new Random(seed);
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (random.nextInt(distinct) - distinct / 2) * 0x0101_0101_0101L;
+        }
+        mixIn(values, random, Long.MIN_VALUE, Long.MAX_VALUE);
+        return values;
+    }
+
+    private static void mixIn(int[] values, Random random, int... extremes) {
+        if (values.length < 2 * extremes.length) return;
+        for (int extreme : extremes) {
+            values[random.nextInt(values.length)] = extreme;
+        }
+    }
+
+    private static void mixIn(long[] values, Random random, long... extremes) {
+        if (values.length < 2 * extremes.length) return;
+        for (long extreme : extremes) {
+            values[random.nextInt(values.length)] = extreme;
+        }
+    }
+}
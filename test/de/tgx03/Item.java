@@ -0,0 +1,29 @@
+package de.tgx03;
+
+import java.util.Comparator;
+
+/**
+ * An object sorted by its key, whose id tells apart objects with equal keys, so stability can be checked
+ *
+ * @param key The value the object gets sorted by
+ * @param id  Where the object was created
+ */
+record Item(long key, int id) {
+
+    /**
+     * The order a stable sort has to produce
+     */
+    static final Comparator<Item> ORDER = Comparator.comparingLong(Item::key);
+
+    /**
+     * @param keys The keys of the objects
+     * @return One object per key, numbered in the order of the keys
+     */
+    static Item[] of(long[] keys) {
+        Item[] items = new Item[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            items[i] = new Item(keys[i], i);
+        }
+        return items;
+    }
+}
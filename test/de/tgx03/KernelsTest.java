@@ -0,0 +1,63 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs once with and once without the incubator module, see the surefire executions in the pom
+ */
+class KernelsTest {
+
+    private static final Kernels SCALAR = new Kernels();
+
+    @Test
+    void usesVectorKernelsExactlyIfModuleIsPresent() {
+        boolean present = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                && Boolean.parseBoolean(System.getProperty(Kernels.PROPERTY, "true"));
+        assertEquals(present ? "de.tgx03.VectorKernels" : Kernels.class.getName(), Kernels.INSTANCE.getClass().getName());
+    }
+
+    @Test
+    void plansLikeScalarKernels() {
+        for (int length = 0; length < 100; length++) {
+            int[] ints = Inputs.ints(length + 3, length);
+            long[] longs = Inputs.longs(length + 3, length);
+            for (int bits : new int[]{-1, 0xFFFF, 0x0F0F_0F0F}) {
+                for (int flip : new int[]{0, Integer.MIN_VALUE}) {
+                    assertEquals(SCALAR.plan(ints, 1, length + 1, flip, bits, 8), Kernels.INSTANCE.plan(ints, 1, length + 1, flip, bits, 8),
+                            length + " ints");
+                    long longFlip = (long) flip << 32;
+                    long longBits = bits == -1 ? -1 : (long) bits << 20;
+                    assertEquals(SCALAR.plan(longs, 1, length + 1, longFlip, longBits, 11), Kernels.INSTANCE.plan(longs, 1, length + 1, longFlip, longBits, 11),
+                            length + " longs");
+                }
+            }
+        }
+    }
+
+    @Test
+    void countsLikeScalarKernels() {
+        Random random = new Random(5);
+        for (int length = 0; length < 300; length += 1 + length / 10) {
+            int[] ints = Inputs.ints(length + 2, length);
+            long[] longs = Inputs.longs(length + 2, length);
+            for (int shift : new int[]{0, 5, 24}) {
+                int base = random.nextInt(100);
+                int[] expected = new int[256];
+                int[] actual = new int[256];
+                SCALAR.count(ints, 1, length + 1, Integer.MIN_VALUE, -1, base, shift, 0xFF, expected);
+                Kernels.INSTANCE.count(ints, 1, length + 1, Integer.MIN_VALUE, -1, base, shift, 0xFF, actual);
+                assertArrayEquals(expected, actual, length + " ints by bit " + shift);
+                expected = new int[2048];
+                actual = new int[2048];
+                SCALAR.count(longs, 1, length + 1, Long.MIN_VALUE, -1, base, shift * 2, 0x7FF, expected);
+                Kernels.INSTANCE.count(longs, 1, length + 1, Long.MIN_VALUE, -1, base, shift * 2, 0x7FF, actual);
+                assertArrayEquals(expected, actual, length + " longs by bit " + shift * 2);
+            }
+        }
+    }
+}
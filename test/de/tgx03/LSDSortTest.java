@@ -0,0 +1,61 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class LSDSortTest {
+
+    @Test
+    void sortsIntsLikeArraysSort() {
+        for (int length : Inputs.LENGTHS) {
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                int[] source = Inputs.ints(length, length);
+                int[] expected = source.clone();
+                Arrays.sort(expected);
+                assertArrayEquals(expected, Radix.sort(source, 32, width), length + " ints with " + width);
+            }
+        }
+    }
+
+    @Test
+    void sortsLongsLikeArraysSort() {
+        for (int length : Inputs.LENGTHS) {
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                long[] source = Inputs.longs(length, length);
+                long[] expected = source.clone();
+                Arrays.sort(expected);
+                assertArrayEquals(expected, Radix.sort(source, 64, width), length + " longs with " + width);
+            }
+        }
+    }
+
+    @Test
+    void leavesSourceUntouched() {
+        long[] source = Inputs.longs(1000, 1);
+        long[] copy = source.clone();
+        Radix.sort(source);
+        assertArrayEquals(copy, source);
+    }
+
+    @Test
+    void sortsOnlyTheRelevantBits() {
+        int[] source = new int[1000];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (i * 7919) & 0xFFF;
+        }
+        int[] expected = source.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, Radix.sort(source, 12));
+    }
+
+    @Test
+    void sortsExtremesOnly() {
+        long[] source = {Long.MAX_VALUE, Long.MIN_VALUE, 0, Long.MAX_VALUE, Long.MIN_VALUE, -1};
+        assertArrayEquals(new long[]{Long.MIN_VALUE, Long.MIN_VALUE, -1, 0, Long.MAX_VALUE, Long.MAX_VALUE}, Radix.sort(source));
+        int[] ints = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE}, Radix.sort(ints));
+    }
+}
@@ -0,0 +1,68 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MSDSortTest {
+
+    @Test
+    void sortsIntsInPlace() {
+        for (int length : Inputs.LENGTHS) {
+            int[] array = Inputs.ints(length, length);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            Radix.sortInPlace(array);
+            assertArrayEquals(expected, array, length + " ints");
+        }
+    }
+
+    @Test
+    void sortsLongsInPlace() {
+        for (int length : Inputs.LENGTHS) {
+            long[] array = Inputs.longs(length, length);
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            Radix.sortInPlace(array);
+            assertArrayEquals(expected, array, length + " longs");
+        }
+    }
+
+    @Test
+    void sortsDuplicatesInPlace() {
+        long[] array = Inputs.duplicates(100_000, 5, 2);
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        Radix.sortInPlace(array);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void sortsNarrowTypesInPlace() {
+        for (int length : Inputs.LENGTHS) {
+            int[] source = Inputs.ints(length, length);
+            byte[] bytes = new byte[length];
+            char[] chars = new char[length];
+            short[] shorts = new short[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) source[i];
+                chars[i] = (char) source[i];
+                shorts[i] = (short) source[i];
+            }
+            byte[] expectedBytes = bytes.clone();
+            char[] expectedChars = chars.clone();
+            short[] expectedShorts = shorts.clone();
+            Arrays.sort(expectedBytes);
+            Arrays.sort(expectedChars);
+            Arrays.sort(expectedShorts);
+            Radix.sortInPlace(bytes);
+            Radix.sortInPlace(chars);
+            Radix.sortInPlace(shorts);
+            assertArrayEquals(expectedBytes, bytes, length + " bytes");
+            assertArrayEquals(expectedChars, chars, length + " chars");
+            assertArrayEquals(expectedShorts, shorts, length + " shorts");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedSortTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sortsLongAndIntFiles() throws IOException {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            for (int length : Inputs.LENGTHS) {
+                long[] longs = Inputs.longs(length, length);
+                int[] ints = Inputs.ints(length, length);
+                ByteBuffer longBuffer = ByteBuffer.allocate(length * Long.BYTES).order(order);
+                ByteBuffer intBuffer = ByteBuffer.allocate(length * Integer.BYTES).order(order);
+                longBuffer.asLongBuffer().put(longs);
+                intBuffer.asIntBuffer().put(ints);
+                Path longFile = Files.write(directory.resolve("longs"), longBuffer.array());
+                Path intFile = Files.write(directory.resolve("ints"), intBuffer.array());
+                Radix.sortLongFile(longFile, order);
+                Radix.sortIntFile(intFile, order);
+                Arrays.sort(longs);
+                Arrays.sort(ints);
+                long[] sortedLongs = new long[length];
+                int[] sortedInts = new int[length];
+                ByteBuffer.wrap(Files.readAllBytes(longFile)).order(order).asLongBuffer().get(sortedLongs);
+                ByteBuffer.wrap(Files.readAllBytes(intFile)).order(order).asIntBuffer().get(sortedInts);
+                assertArrayEquals(longs, sortedLongs, length + " longs in " + order);
+                assertArrayEquals(ints, sortedInts, length + " ints in " + order);
+            }
+        }
+    }
+
+    @Test
+    void sortsRecordsWithinOneLeafStably() throws IOException {
+        int recordSize = 20;
+        long[] keys = Inputs.duplicates(50_000, 40, 15);
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * recordSize);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putInt(i).putLong(keys[i]).putLong(~keys[i]);
+        }
+        Path file = Files.write(directory.resolve("records"), buffer.array());
+        Radix.sortRecordFile(file, recordSize, Integer.BYTES, Long.BYTES, ByteOrder.BIG_ENDIAN);
+        Item[] expected = Item.of(keys);
+        Arrays.sort(expected, Item.ORDER);
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(file));
+        for (Item item : expected) {
+            int id = sorted.getInt();
+            long key = sorted.getLong();
+            assertEquals(item, new Item(key, id));
+            assertEquals(~key, sorted.getLong());
+        }
+    }
+
+    @Test
+    void sortsFilesLargerThanOneLeaf() throws IOException {
+        int length = 9 << 20;
+        long[] values = Inputs.longs(length, 16);
+        Path file = directory.resolve("large");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(values);
+        }
+        Radix.sortLongFile(file, ByteOrder.LITTLE_ENDIAN);
+        Arrays.sort(values);
+        long[] sorted = new long[length];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(sorted);
+        }
+        assertArrayEquals(values, sorted);
+    }
+}
@@ -0,0 +1,48 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ObjectSortTest {
+
+    @Test
+    void sortsStably() {
+        for (int length : Inputs.LENGTHS) {
+            Item[] source = Item.of(Inputs.duplicates(length, 10, length));
+            Item[] expected = source.clone();
+            Arrays.sort(expected, Item.ORDER);
+            assertArrayEquals(expected, Radix.sort(source, Item::key), length + " objects");
+        }
+    }
+
+    @Test
+    void sortsRangeInPlaceStably() {
+        Item[] array = Item.of(Inputs.duplicates(1000, 7, 6));
+        Item[] expected = array.clone();
+        Arrays.sort(expected, 10, 990, Item.ORDER);
+        Radix.sort(array, 10, 990, Item::key);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void sortsByRelevantBitsOnly() {
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (i * 31L) & 0xFF;
+        }
+        Item[] source = Item.of(keys);
+        Item[] expected = source.clone();
+        Arrays.sort(expected, Item.ORDER);
+        assertArrayEquals(expected, Radix.sort(source, 8, Item::key));
+    }
+
+    @Test
+    void returnsEmptyArray() {
+        Item[] empty = new Item[0];
+        assertSame(empty, Radix.sort(empty, Item::key));
+    }
+}
@@ -0,0 +1,76 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ParallelLSDSortTest {
+
+    /**
+     * A pool of its own, so the chunked paths are taken even on machines with a single core
+     */
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void sortsIntsInChunks() {
+        for (int length : new int[]{0, 1, 1000, ParallelLSDSort.MIN_CHUNK * 4 + 3}) {
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                int[] array = Inputs.ints(length, length);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                ParallelLSDSort.sort(array, 0, length, new int[length], 32, width.bits(), pool);
+                assertArrayEquals(expected, array, length + " ints with " + width);
+            }
+        }
+    }
+
+    @Test
+    void sortsLongsInChunks() {
+        for (int length : new int[]{0, 1, 1000, ParallelLSDSort.MIN_CHUNK * 4 + 3}) {
+            for (Radix.DigitWidth width : Radix.DigitWidth.values()) {
+                long[] array = Inputs.longs(length, length);
+                long[] expected = array.clone();
+                Arrays.sort(expected);
+                ParallelLSDSort.sort(array, 0, length, new long[length], 64, width.bits(), pool);
+                assertArrayEquals(expected, array, length + " longs with " + width);
+            }
+        }
+    }
+
+    @Test
+    void sortsOnlyTheRange() {
+        int length = ParallelLSDSort.MIN_CHUNK * 3;
+        long[] array = Inputs.longs(length + 200, 4);
+        long[] expected = array.clone();
+        Arrays.sort(expected, 100, length + 100);
+        ParallelLSDSort.sort(array, 100, length + 100, new long[length], 64, 11, pool);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void sortsThroughTheFacade() {
+        int[] ints = Inputs.ints(ParallelLSDSort.MIN_CHUNK * 2, 5);
+        long[] longs = Inputs.longs(ParallelLSDSort.MIN_CHUNK * 2, 5);
+        int[] expectedInts = ints.clone();
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedInts);
+        Arrays.sort(expectedLongs);
+        assertArrayEquals(expectedInts, Radix.parallelSort(ints));
+        assertArrayEquals(expectedLongs, Radix.parallelSort(longs));
+    }
+}
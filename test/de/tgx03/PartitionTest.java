@@ -0,0 +1,127 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PartitionTest {
+
+    /**
+     * @param keys  The keys before partitioning
+     * @param bits  How many bits the digit spans
+     * @param shift The lowest bit of the digit
+     * @return Where every bucket has to start, followed by the number of keys
+     */
+    private static int[] expectedOffsets(long[] keys, int bits, int shift) {
+        int[] offsets = new int[(1 << bits) + 1];
+        for (long key : keys) {
+            offsets[bucket(key, bits, shift) + 1]++;
+        }
+        for (int bucket = 1; bucket < offsets.length; bucket++) {
+            offsets[bucket] += offsets[bucket - 1];
+        }
+        return offsets;
+    }
+
+    private static int bucket(long key, int bits, int shift) {
+        return (int) (key >>> shift) & ((1 << bits) - 1);
+    }
+
+    /**
+     * @param keys  The keys before partitioning
+     * @param bits  How many bits the digit spans
+     * @param shift The lowest bit of the digit
+     * @return Where every key has to end up, as a stable partition puts it
+     */
+    private static int[] expectedOrder(long[] keys, int bits, int shift) {
+        return IntStream.range(0, keys.length).boxed()
+                .sorted((first, second) -> Integer.compare(bucket(keys[first], bits, shift), bucket(keys[second], bits, shift)))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void partitionsKeysStably() {
+        for (int length : Inputs.LENGTHS) {
+            for (int[] digit : new int[][]{{1, 63}, {4, 0}, {8, 28}, {16, 48}}) {
+                long[] keys = Inputs.longs(length, length);
+                int[] offsets = expectedOffsets(keys, digit[0], digit[1]);
+                int[] order = expectedOrder(keys, digit[0], digit[1]);
+                long[] expected = new long[length];
+                for (int i = 0; i < length; i++) {
+                    expected[i] = keys[order[i]];
+                }
+                long[] parallel = keys.clone();
+                assertArrayEquals(offsets, Radix.partition(keys, digit[0], digit[1]), length + " keys by " + Arrays.toString(digit));
+                assertArrayEquals(offsets, Radix.parallelPartition(parallel, digit[0], digit[1]), length + " keys by " + Arrays.toString(digit));
+                assertArrayEquals(expected, keys, length + " keys by " + Arrays.toString(digit));
+                assertArrayEquals(expected, parallel, length + " keys by " + Arrays.toString(digit));
+            }
+        }
+    }
+
+    @Test
+    void movesEveryPayloadAlong() {
+        int length = ParallelLSDSort.MIN_CHUNK * 4 + 5;
+        long[] keys = Inputs.duplicates(length, 100, 9);
+        int[] offsets = expectedOffsets(keys, 6, 8);
+        int[] order = expectedOrder(keys, 6, 8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ForkJoinPool on : new ForkJoinPool[]{null, pool}) {
+                long[] intKeys = keys.clone();
+                int[] ints = IntStream.range(0, length).toArray();
+                assertArrayEquals(offsets, Partition.partition(intKeys, ints, 6, 8, on));
+                assertArrayEquals(order, ints);
+                long[] longKeys = keys.clone();
+                long[] identity = IntStream.range(0, length).mapToLong(index -> ~index).toArray();
+                assertArrayEquals(offsets, Partition.partition(longKeys, identity, 6, 8, on));
+                for (int i = 0; i < length; i++) {
+                    assertEquals(~order[i], identity[i]);
+                }
+                long[] objectKeys = keys.clone();
+                Item[] items = Item.of(keys);
+                assertArrayEquals(offsets, Partition.partition(objectKeys, items, 6, 8, on));
+                for (int i = 0; i < length; i++) {
+                    assertEquals(order[i], items[i].id());
+                    assertEquals(objectKeys[i], items[i].key());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void leavesConstantBucketUntouched() {
+        long[] keys = Inputs.longs(1000, 10);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] &= ~(0xFFL << 8);
+        }
+        long[] copy = keys.clone();
+        int[] offsets = Radix.partition(keys, 8, 8);
+        assertEquals(0, offsets[0]);
+        assertEquals(keys.length, offsets[1]);
+        assertEquals(keys.length, offsets[256]);
+        assertArrayEquals(copy, keys);
+    }
+
+    @Test
+    void partitionsEmptyInput() {
+        assertArrayEquals(new int[5], Radix.partition(new long[0], new Object[0], 2, 0));
+        assertArrayEquals(new int[5], Radix.parallelPartition(new long[0], 2, 0));
+    }
+
+    @Test
+    void rejectsInvalidDigits() {
+        assertThrows(IllegalArgumentException.class, () -> Radix.partition(new long[1], 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Radix.partition(new long[1], Partition.MAX_BITS + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Radix.partition(new long[1], 8, 57));
+        assertThrows(IllegalArgumentException.class, () -> Radix.partition(new long[1], new int[2], 8, 0));
+    }
+}
@@ -0,0 +1,61 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlanTest {
+
+    private final List<SortStatistics> statistics = new ArrayList<>();
+
+    @AfterEach
+    void removeListener() {
+        Radix.setListener(null);
+    }
+
+    @Test
+    void constantKeysNeedNoPass() {
+        assertEquals(0, LSDSort.Plan.of(0, 5, 5, 8).passes(8));
+    }
+
+    @Test
+    void sortsOnlyVaryingDigits() {
+        LSDSort.Plan plan = LSDSort.Plan.of(0xFFL << 40, 0, 0xFFL << 40, 8);
+        assertEquals(40, plan.low());
+        assertEquals(48, plan.high());
+        assertEquals(1, plan.passes(8));
+    }
+
+    @Test
+    void subtractsSmallestKeyIfThatSavesPasses() {
+        long min = 0x7FFF_FFF0L;
+        long max = 0x8000_0010L;
+        LSDSort.Plan plan = LSDSort.Plan.of(min ^ max | 0xFF, min, max, 8);
+        assertEquals(min, plan.base());
+        assertEquals(1, plan.passes(8));
+    }
+
+    @Test
+    void skipsConstantDigitsWhileSorting() {
+        Radix.setListener(statistics::add);
+        Random random = new Random(7);
+        long[] source = new long[10_000];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = 1_000_000_000_000L + random.nextInt(1 << 11);
+        }
+        long[] expected = source.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, Radix.sort(source, 64, Radix.DigitWidth.BITS_11));
+        SortStatistics last = statistics.get(statistics.size() - 1);
+        assertEquals(SortStatistics.Strategy.LSD, last.strategy());
+        assertEquals(1, last.passes());
+        assertEquals(5, last.skippedPasses());
+    }
+}
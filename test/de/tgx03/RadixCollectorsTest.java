@@ -0,0 +1,67 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RadixCollectorsTest {
+
+    @Test
+    void collectsSortedLongs() {
+        for (int length : Inputs.LENGTHS) {
+            long[] values = Inputs.longs(length, length);
+            long[] expected = values.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, RadixCollectors.toSortedArray(LongStream.of(values)), length + " longs");
+            assertArrayEquals(expected, RadixCollectors.toSortedArray(LongStream.of(values).parallel()), length + " longs in parallel");
+            assertArrayEquals(expected, LongStream.of(values).boxed().parallel().collect(RadixCollectors.toSortedLongArray()), length + " boxed longs");
+        }
+    }
+
+    @Test
+    void collectsSortedInts() {
+        for (int length : Inputs.LENGTHS) {
+            int[] values = Inputs.ints(length, length);
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, RadixCollectors.toSortedArray(IntStream.of(values)), length + " ints");
+            assertArrayEquals(expected, RadixCollectors.toSortedArray(IntStream.of(values).parallel()), length + " ints in parallel");
+            assertArrayEquals(expected, IntStream.of(values).boxed().parallel().collect(RadixCollectors.toSortedIntArray()), length + " boxed ints");
+        }
+    }
+
+    @Test
+    void collectsMappedValues() {
+        List<String> strings = List.of("ccc", "a", "", "bb", "dddd");
+        assertArrayEquals(new long[]{0, 1, 2, 3, 4}, strings.stream().collect(RadixCollectors.toSortedLongArray(String::length)));
+        assertArrayEquals(new int[]{-4, -3, -2, -1, 0}, strings.stream().collect(RadixCollectors.toSortedIntArray(string -> -string.length())));
+    }
+
+    @Test
+    void collectsSortedListsStably() {
+        for (int length : Inputs.LENGTHS) {
+            Item[] items = Item.of(Inputs.duplicates(length, 10, length));
+            Item[] expected = items.clone();
+            Arrays.sort(expected, Item.ORDER);
+            assertEquals(Arrays.asList(expected), Arrays.stream(items).collect(RadixCollectors.toSortedList(Item::key)), length + " objects");
+            assertEquals(Arrays.asList(expected), Arrays.stream(items).parallel().collect(RadixCollectors.toSortedList(Item::key)),
+                    length + " objects in parallel");
+        }
+    }
+
+    @Test
+    void collectsGroupsDownstream() {
+        Map<Long, long[]> grouped = LongStream.range(0, 1000).map(value -> 999 - value).boxed()
+                .collect(Collectors.groupingBy(value -> value % 2, RadixCollectors.toSortedLongArray()));
+        assertArrayEquals(LongStream.range(0, 500).map(value -> 2 * value).toArray(), grouped.get(0L));
+        assertArrayEquals(LongStream.range(0, 500).map(value -> 2 * value + 1).toArray(), grouped.get(1L));
+    }
+}
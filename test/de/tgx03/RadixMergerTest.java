@@ -0,0 +1,128 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RadixMergerTest {
+
+    /**
+     * @param lengths How long every shard is, where 0 gives an empty shard
+     * @param seed    The seed of the random generator
+     * @return Sorted shards sharing many values
+     */
+    private static long[][] shards(int[] lengths, long seed) {
+        long[][] shards = new long[lengths.length][];
+        for (int shard = 0; shard < lengths.length; shard++) {
+            shards[shard] = Inputs.duplicates(lengths[shard], 50, seed + shard);
+            Arrays.sort(shards[shard]);
+        }
+        return shards;
+    }
+
+    private static long[] concatenated(long[][] shards) {
+        return Arrays.stream(shards).flatMapToLong(Arrays::stream).toArray();
+    }
+
+    @Test
+    void mergesWithEmptyShards() {
+        int[][] layouts = {{}, {0}, {0, 0, 0}, {5}, {0, 100, 0}, {100, 0, 0, 37, 0}, {0, 1, 0, 1, 0, 1}, {1000, 1000, 0, 1000}};
+        for (int[] layout : layouts) {
+            long[][] shards = shards(layout, layout.length);
+            long[] expected = concatenated(shards);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, Radix.merge(shards), Arrays.toString(layout));
+            assertArrayEquals(expected, Radix.parallelMerge(shards), Arrays.toString(layout) + " in parallel");
+        }
+    }
+
+    @Test
+    void mergesEveryPrimitiveType() {
+        long[][] shards = shards(new int[]{300, 0, 200, 500}, 3);
+        int[][] ints = new int[shards.length][];
+        double[][] doubles = new double[shards.length][];
+        char[][] chars = new char[shards.length][];
+        for (int shard = 0; shard < shards.length; shard++) {
+            ints[shard] = Arrays.stream(shards[shard]).mapToInt(value -> (int) (value >> 32)).sorted().toArray();
+            doubles[shard] = Arrays.stream(shards[shard]).mapToDouble(value -> value % 7 == 0 ? -0.0 : value).sorted().toArray();
+            chars[shard] = new char[shards[shard].length];
+            for (int i = 0; i < chars[shard].length; i++) {
+                chars[shard][i] = (char) i;
+            }
+        }
+        int[] expectedInts = Arrays.stream(ints).flatMapToInt(Arrays::stream).sorted().toArray();
+        double[] expectedDoubles = Arrays.stream(doubles).flatMapToDouble(Arrays::stream).sorted().toArray();
+        char[] expectedChars = new char[expectedInts.length];
+        int position = 0;
+        for (char[] shard : chars) {
+            System.arraycopy(shard, 0, expectedChars, position, shard.length);
+            position += shard.length;
+        }
+        Arrays.sort(expectedChars);
+        assertArrayEquals(expectedInts, Radix.merge(ints));
+        assertArrayEquals(expectedDoubles, Radix.merge(doubles));
+        assertArrayEquals(expectedChars, Radix.merge(chars));
+    }
+
+    @Test
+    void mergesObjectsStably() {
+        Item[][] shards = new Item[4][];
+        Random random = new Random(5);
+        int id = 0;
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = new Item[shard == 2 ? 0 : 100_000];
+            for (int i = 0; i < shards[shard].length; i++) {
+                shards[shard][i] = new Item(random.nextInt(20), id++);
+            }
+            Arrays.sort(shards[shard], Item.ORDER);
+        }
+        Item[] expected = Arrays.stream(shards).flatMap(Arrays::stream).sorted(Item.ORDER).toArray(Item[]::new);
+        assertArrayEquals(expected, Radix.merge(Item::key, shards));
+        assertArrayEquals(expected, Radix.parallelMerge(Item::key, shards));
+        Item[] merged = new Item[expected.length];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            RadixMerger.of(Item::key, shards).mergeAll(merged, 0, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, merged);
+    }
+
+    @Test
+    void mergesInPortions() {
+        long[][] shards = shards(new int[]{0, 777, 0, 1234, 5}, 6);
+        long[] expected = concatenated(shards);
+        Arrays.sort(expected);
+        RadixMerger<long[]> merger = RadixMerger.of(shards);
+        long[] buffer = new long[100];
+        long[] merged = new long[expected.length];
+        int position = 0;
+        for (int count; (count = merger.next(buffer)) > 0; position += count) {
+            System.arraycopy(buffer, 0, merged, position, count);
+            assertEquals(expected.length - position - count, merger.remaining());
+        }
+        assertArrayEquals(expected, merged);
+        assertEquals(0, merger.next(buffer));
+    }
+
+    @Test
+    void mergesPartsIndependently() {
+        long[][] shards = shards(new int[]{0, 200_000, 0, 100_000, 50_000, 0}, 7);
+        long[] expected = concatenated(shards);
+        Arrays.sort(expected);
+        long[] merged = new long[expected.length];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            RadixMerger.of(shards).mergeAll(merged, 0, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, merged);
+    }
+}
@@ -0,0 +1,104 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RadixSelectTest {
+
+    private static final double[] QUANTILES = {0.99, 0, 0.5, 1, 0.25, 0.5, 0.001};
+
+    /**
+     * @param length How many elements there are
+     * @return Ranks spread over the whole array, including the first and the last one
+     */
+    private static int[] ranks(int length) {
+        return length == 1 ? new int[]{0} : new int[]{0, length - 1, length / 2, length / 3, 1, length - 2};
+    }
+
+    @Test
+    void selectsLongs() {
+        for (int length : Inputs.LENGTHS) {
+            if (length == 0) continue;
+            long[] array = Inputs.longs(length, length);
+            long[] copy = array.clone();
+            long[] sorted = array.clone();
+            Arrays.sort(sorted);
+            for (int k : ranks(length)) {
+                assertEquals(sorted[k], Radix.select(array, k), length + " longs, rank " + k);
+            }
+            for (int k : new int[]{0, 1, length / 2, length}) {
+                long[] expected = new long[k];
+                for (int i = 0; i < k; i++) {
+                    expected[i] = sorted[length - 1 - i];
+                }
+                assertArrayEquals(expected, Radix.topK(array, k), length + " longs, top " + k);
+            }
+            long[] quantiles = Radix.quantiles(array, QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                assertEquals(sorted[RadixSelect.rank(QUANTILES[i], length)], quantiles[i], length + " longs, quantile " + QUANTILES[i]);
+            }
+            assertArrayEquals(copy, array, "input must not change");
+        }
+    }
+
+    @Test
+    void selectsInts() {
+        int[] array = Inputs.ints(100_000, 1);
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+        for (int k : ranks(array.length)) {
+            assertEquals(sorted[k], Radix.select(array, k), "rank " + k);
+        }
+        assertArrayEquals(new int[]{sorted[sorted.length - 1], sorted[sorted.length - 2]}, Radix.topK(array, 2));
+        assertEquals(sorted[RadixSelect.rank(0.5, array.length)], Radix.quantiles(array, 0.5)[0]);
+    }
+
+    @Test
+    void selectsFloatingPointLikeCompare() {
+        double[] doubles = {3, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, 1, -1, Double.NaN};
+        float[] floats = {3, Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, 1, -1, Float.NaN};
+        double[] sortedDoubles = doubles.clone();
+        float[] sortedFloats = floats.clone();
+        Arrays.sort(sortedDoubles);
+        Arrays.sort(sortedFloats);
+        for (int k = 0; k < doubles.length; k++) {
+            assertEquals(sortedDoubles[k], Radix.select(doubles, k), "rank " + k);
+            assertEquals(sortedFloats[k], Radix.select(floats, k), "rank " + k);
+        }
+        assertArrayEquals(new double[]{Double.NaN, Double.NaN, 3}, Radix.topK(doubles, 3));
+        assertArrayEquals(new float[]{-1, -0.0f}, Radix.quantiles(floats, 0.25, 0.375));
+    }
+
+    @Test
+    void selectsObjectsStably() {
+        Item[] array = Item.of(Inputs.duplicates(100_000, 12, 3));
+        Item[] sorted = array.clone();
+        Arrays.sort(sorted, Item.ORDER);
+        for (int k : ranks(array.length)) {
+            assertSame(sorted[k], Radix.select(array, k, Item::key), "rank " + k);
+        }
+        Item[] quantiles = Radix.quantiles(array, Item::key, QUANTILES);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            assertSame(sorted[RadixSelect.rank(QUANTILES[i], array.length)], quantiles[i], "quantile " + QUANTILES[i]);
+        }
+        Item[] descending = array.clone();
+        Arrays.sort(descending, Comparator.comparingLong(Item::key).reversed());
+        assertArrayEquals(Arrays.copyOf(descending, 5000), Radix.topK(array, 5000, Item::key));
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThrows(IndexOutOfBoundsException.class, () -> Radix.select(new long[3], 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> Radix.select(new int[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> Radix.topK(new long[3], 4));
+        assertThrows(IllegalArgumentException.class, () -> Radix.quantiles(new long[3], 1.5));
+        assertThrows(IllegalArgumentException.class, () -> Radix.quantiles(new long[0], 0.5));
+    }
+}
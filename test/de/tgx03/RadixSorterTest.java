@@ -0,0 +1,91 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RadixSorterTest {
+
+    @Test
+    void reusesScratchForGrowingAndShrinkingInputs() {
+        RadixSorter sorter = new RadixSorter();
+        for (int length : new int[]{1000, 10, 100_000, 0, 5000}) {
+            int[] ints = Inputs.ints(length, length);
+            long[] longs = Inputs.longs(length, length);
+            Item[] items = Item.of(Inputs.duplicates(length, 9, length));
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            Item[] expectedItems = items.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedItems, Item.ORDER);
+            sorter.sort(ints);
+            sorter.sort(longs);
+            sorter.sort(items, Item::key);
+            assertArrayEquals(expectedInts, ints, length + " ints");
+            assertArrayEquals(expectedLongs, longs, length + " longs");
+            assertArrayEquals(expectedItems, items, length + " objects");
+        }
+    }
+
+    @Test
+    void sortsAfterClear() {
+        RadixSorter sorter = new RadixSorter();
+        sorter.sort(Inputs.longs(1000, 1));
+        sorter.clear();
+        long[] array = Inputs.longs(1000, 2);
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        sorter.sort(array);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void ordersUnsigned() {
+        RadixSorter sorter = new RadixSorter(null, 1, false);
+        int[] array = Inputs.ints(1000, 3);
+        sorter.sort(array);
+        for (int i = 1; i < array.length; i++) {
+            assertFalse(Integer.compareUnsigned(array[i - 1], array[i]) > 0, "index " + i);
+        }
+    }
+
+    @Test
+    void sortsOnOwnPoolUntilClosed() {
+        long[] array = Inputs.longs(ParallelLSDSort.MIN_CHUNK * 4, 4);
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        RadixSorter sorter = new RadixSorter(Radix.DigitWidth.BITS_16, ForkJoinPool.getCommonPoolParallelism() + 2, true);
+        sorter.sort(array);
+        assertArrayEquals(expected, array);
+        sorter.close();
+        assertThrows(RejectedExecutionException.class, () -> sorter.sort(Inputs.longs(ParallelLSDSort.MIN_CHUNK * 4, 5)));
+        int[] small = {3, 1, 2};
+        sorter.sort(small);
+        assertArrayEquals(new int[]{1, 2, 3}, small);
+    }
+
+    @Test
+    void leavesCallersPoolRunning() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try (RadixSorter sorter = new RadixSorter(null, pool, true)) {
+            sorter.sort(Inputs.ints(ParallelLSDSort.MIN_CHUNK * 3, 6));
+        }
+        assertFalse(pool.isShutdown());
+        assertEquals(42, pool.submit(() -> 42).join());
+        pool.shutdown();
+    }
+
+    @Test
+    void keepsOneSorterPerThread() {
+        assertSame(RadixSorter.local(), RadixSorter.local());
+    }
+}
@@ -0,0 +1,109 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RangeSortTest {
+
+    private static final int[][] RANGES = {{0, 0}, {5, 5}, {3, 4}, {0, 1000}, {1, 999}, {100, 900}};
+
+    @Test
+    void sortsIntRanges() {
+        for (int[] range : RANGES) {
+            int[] array = Inputs.ints(1000, range[0]);
+            int[] expected = array.clone();
+            Arrays.sort(expected, range[0], range[1]);
+            int[] buffered = array.clone();
+            Radix.sort(array, range[0], range[1]);
+            Radix.sort(buffered, range[0], range[1], new int[range[1] - range[0]]);
+            assertArrayEquals(expected, array, Arrays.toString(range));
+            assertArrayEquals(expected, buffered, Arrays.toString(range));
+        }
+    }
+
+    @Test
+    void sortsLongRanges() {
+        for (int[] range : RANGES) {
+            long[] array = Inputs.longs(1000, range[0]);
+            long[] expected = array.clone();
+            Arrays.sort(expected, range[0], range[1]);
+            long[] buffered = array.clone();
+            Radix.sort(array, range[0], range[1]);
+            Radix.sort(buffered, range[0], range[1], new long[range[1] - range[0] + 10]);
+            assertArrayEquals(expected, array, Arrays.toString(range));
+            assertArrayEquals(expected, buffered, Arrays.toString(range));
+        }
+    }
+
+    @Test
+    void sortsFloatingPointRanges() {
+        for (int[] range : RANGES) {
+            long[] bits = Inputs.longs(1000, range[0]);
+            float[] floats = new float[bits.length];
+            double[] doubles = new double[bits.length];
+            for (int i = 0; i < bits.length; i++) {
+                floats[i] = bits[i] % 3 == 0 ? -0.0f : (float) bits[i];
+                doubles[i] = bits[i] % 3 == 0 ? Double.NaN : Double.longBitsToDouble(bits[i]);
+            }
+            float[] expectedFloats = floats.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedFloats, range[0], range[1]);
+            Arrays.sort(expectedDoubles, range[0], range[1]);
+            float[] bufferedFloats = floats.clone();
+            double[] bufferedDoubles = doubles.clone();
+            Radix.sort(floats, range[0], range[1]);
+            Radix.sort(doubles, range[0], range[1]);
+            Radix.sort(bufferedFloats, range[0], range[1], new int[2 * (range[1] - range[0])]);
+            Radix.sort(bufferedDoubles, range[0], range[1], new long[2 * (range[1] - range[0])]);
+            assertArrayEquals(expectedFloats, floats, Arrays.toString(range));
+            assertArrayEquals(expectedDoubles, doubles, Arrays.toString(range));
+            assertArrayEquals(expectedFloats, bufferedFloats, Arrays.toString(range));
+            assertArrayEquals(expectedDoubles, bufferedDoubles, Arrays.toString(range));
+        }
+    }
+
+    @Test
+    void sortsNarrowRanges() {
+        for (int[] range : RANGES) {
+            int[] source = Inputs.ints(1000, range[0]);
+            byte[] bytes = new byte[source.length];
+            char[] chars = new char[source.length];
+            short[] shorts = new short[source.length];
+            for (int i = 0; i < source.length; i++) {
+                bytes[i] = (byte) source[i];
+                chars[i] = (char) source[i];
+                shorts[i] = (short) source[i];
+            }
+            byte[] expectedBytes = bytes.clone();
+            char[] expectedChars = chars.clone();
+            short[] expectedShorts = shorts.clone();
+            Arrays.sort(expectedBytes, range[0], range[1]);
+            Arrays.sort(expectedChars, range[0], range[1]);
+            Arrays.sort(expectedShorts, range[0], range[1]);
+            Radix.sort(bytes, range[0], range[1]);
+            Radix.sort(chars, range[0], range[1]);
+            Radix.sort(shorts, range[0], range[1]);
+            assertArrayEquals(expectedBytes, bytes, Arrays.toString(range));
+            assertArrayEquals(expectedChars, chars, Arrays.toString(range));
+            assertArrayEquals(expectedShorts, shorts, Arrays.toString(range));
+        }
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThrows(IndexOutOfBoundsException.class, () -> Radix.sort(new int[10], 5, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> Radix.sort(new long[10], 6, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> Radix.sort(new float[10], -1, 5));
+    }
+
+    @Test
+    void rejectsSmallBuffers() {
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new int[10], 0, 10, new int[9]));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new long[10], 0, 10, new long[9]));
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new float[10], 0, 10, new int[19]));
+    }
+}
@@ -0,0 +1,91 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunsTest {
+
+    /**
+     * How long every run is, far longer than the small threshold and a single digit
+     */
+    private static final int RUN_LENGTH = 20_000;
+
+    private final List<SortStatistics> statistics = new ArrayList<>();
+
+    @AfterEach
+    void removeListener() {
+        Radix.setListener(null);
+    }
+
+    /**
+     * @param runs How many runs to create
+     * @return Long runs of distinct values spanning most of the range of a long, every second one strictly descending
+     */
+    private static long[] runs(int runs) {
+        long[] array = new long[runs * RUN_LENGTH];
+        long step = Long.MAX_VALUE / RUN_LENGTH;
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < RUN_LENGTH; i++) {
+                long value = Long.MIN_VALUE + run + (run % 2 == 0 ? i : RUN_LENGTH - 1 - i) * 2 * step;
+                array[run * RUN_LENGTH + i] = value;
+            }
+        }
+        return array;
+    }
+
+    private SortStatistics.Strategy sort(long[] array) {
+        statistics.clear();
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, Radix.sort(array), array.length / RUN_LENGTH + " runs");
+        return statistics.get(statistics.size() - 1).strategy();
+    }
+
+    @Test
+    void mergesUpToMaxRuns() {
+        Radix.setListener(statistics::add);
+        for (int runs = 1; runs <= Runs.MAX_RUNS; runs++) {
+            assertEquals(SortStatistics.Strategy.RUNS, sort(runs(runs)), runs + " runs");
+        }
+    }
+
+    @Test
+    void radixSortsBeyondMaxRuns() {
+        Radix.setListener(statistics::add);
+        assertEquals(SortStatistics.Strategy.LSD, sort(runs(Runs.MAX_RUNS + 1)));
+    }
+
+    @Test
+    void sortsConstantAndReversedInput() {
+        Radix.setListener(statistics::add);
+        long[] constant = new long[RUN_LENGTH];
+        Arrays.fill(constant, Long.MIN_VALUE);
+        assertEquals(SortStatistics.Strategy.RUNS, sort(constant));
+        long[] reversed = new long[RUN_LENGTH];
+        for (int i = 0; i < RUN_LENGTH; i++) {
+            reversed[i] = Long.MAX_VALUE - i;
+        }
+        assertEquals(SortStatistics.Strategy.RUNS, sort(reversed));
+    }
+
+    @Test
+    void keepsEqualKeysInOrder() {
+        Radix.setListener(statistics::add);
+        int[] array = new int[4 * RUN_LENGTH];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i << 8 | (i % RUN_LENGTH) * 256 / RUN_LENGTH;
+        }
+        int[] expected = IntStream.of(array).boxed().sorted(Comparator.comparingInt(value -> value & 0xFF)).mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, Radix.sort(array, 8));
+        assertEquals(SortStatistics.Strategy.RUNS, statistics.get(0).strategy());
+    }
+}
@@ -0,0 +1,127 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SmallSortTest {
+
+    @AfterEach
+    void removeListener() {
+        Radix.setListener(null);
+    }
+
+    @Test
+    void networksSortAllZeroOneInputs() {
+        for (int n = 0; n <= 16; n++) {
+            for (int pattern = 0; pattern < 1 << n; pattern++) {
+                int[] array = new int[n];
+                for (int i = 0; i < n; i++) {
+                    array[i] = pattern >>> i & 1;
+                }
+                SmallSort.sort(array, 0, n);
+                assertEquals(Integer.bitCount(pattern), n - firstOne(array), n + " elements, pattern " + pattern);
+                for (int i = firstOne(array); i < n; i++) {
+                    assertEquals(1, array[i], n + " elements, pattern " + pattern);
+                }
+            }
+        }
+    }
+
+    private static int firstOne(int[] array) {
+        int index = 0;
+        while (index < array.length && array[index] == 0) index++;
+        return index;
+    }
+
+    @Test
+    void sortsEveryLengthUpToThreshold() {
+        for (int n = 0; n <= 2 * SmallSort.DEFAULT_THRESHOLD; n++) {
+            int[] ints = Inputs.ints(n + 2, n);
+            long[] longs = Inputs.longs(n + 2, n);
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedInts, 1, n + 1);
+            Arrays.sort(expectedLongs, 1, n + 1);
+            SmallSort.sort(ints, 1, n + 1);
+            SmallSort.sort(longs, 1, n + 1);
+            assertArrayEquals(expectedInts, ints, n + " ints");
+            assertArrayEquals(expectedLongs, longs, n + " longs");
+        }
+    }
+
+    @Test
+    void reportsSmallInputs() {
+        List<SortStatistics> statistics = new ArrayList<>();
+        Radix.setListener(statistics::add);
+        RadixSorter sorter = new RadixSorter();
+        sorter.sort(Inputs.longs(SmallSort.THRESHOLD, 1));
+        assertEquals(SortStatistics.Strategy.SMALL, statistics.get(0).strategy());
+        sorter.setSmallThreshold(0);
+        statistics.clear();
+        long[] array = Inputs.longs(SmallSort.THRESHOLD, 1);
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        sorter.sort(array);
+        assertArrayEquals(expected, array);
+        assertEquals(SortStatistics.Strategy.LSD, statistics.get(0).strategy());
+    }
+
+    @Test
+    void sortsWithSorterThresholds() {
+        int[] ints = Inputs.ints(5000, 2);
+        long[] longs = Inputs.longs(5000, 2);
+        short[] shorts = new short[ints.length];
+        char[] chars = new char[ints.length];
+        byte[] bytes = new byte[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            shorts[i] = (short) ints[i];
+            chars[i] = (char) ints[i];
+            bytes[i] = (byte) ints[i];
+        }
+        for (int threshold : new int[]{0, 1, 1000, 10_000}) {
+            RadixSorter sorter = new RadixSorter();
+            sorter.setSmallThreshold(threshold);
+            assertEquals(threshold, sorter.getSmallThreshold());
+            int[] sortedInts = ints.clone();
+            long[] sortedLongs = longs.clone();
+            short[] sortedShorts = shorts.clone();
+            char[] sortedChars = chars.clone();
+            byte[] sortedBytes = bytes.clone();
+            sorter.sort(sortedInts);
+            sorter.sort(sortedLongs);
+            sorter.sort(sortedShorts);
+            sorter.sort(sortedChars);
+            sorter.sort(sortedBytes);
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            short[] expectedShorts = shorts.clone();
+            char[] expectedChars = chars.clone();
+            byte[] expectedBytes = bytes.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedShorts);
+            Arrays.sort(expectedChars);
+            Arrays.sort(expectedBytes);
+            assertArrayEquals(expectedInts, sortedInts, "threshold " + threshold);
+            assertArrayEquals(expectedLongs, sortedLongs, "threshold " + threshold);
+            assertArrayEquals(expectedShorts, sortedShorts, "threshold " + threshold);
+            assertArrayEquals(expectedChars, sortedChars, "threshold " + threshold);
+            assertArrayEquals(expectedBytes, sortedBytes, "threshold " + threshold);
+        }
+        assertEquals(SmallSort.THRESHOLD, Radix.getSmallThreshold());
+        assertEquals(SmallSort.THRESHOLD, new RadixSorter().getSmallThreshold());
+    }
+
+    @Test
+    void rejectsNegativeThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new RadixSorter().setSmallThreshold(-1));
+    }
+}
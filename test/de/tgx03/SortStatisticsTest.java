@@ -0,0 +1,96 @@
+package de.tgx03;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortStatisticsTest {
+
+    private final List<SortStatistics> statistics = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void removeListener() {
+        Radix.setListener(null);
+    }
+
+    @Test
+    void probesNothingWithoutListener() {
+        assertSame(Probe.NONE, Probe.start(SortStatistics.Strategy.LSD, 100));
+    }
+
+    @Test
+    void reportsLSDPasses() {
+        Radix.setListener(statistics::add);
+        int length = 10_000;
+        Radix.sort(Inputs.longs(length, 1), 64, Radix.DigitWidth.BITS_8);
+        assertEquals(1, statistics.size());
+        SortStatistics sort = statistics.get(0);
+        assertEquals(SortStatistics.Strategy.LSD, sort.strategy());
+        assertEquals(length, sort.size());
+        assertEquals(8, sort.passes() + sort.skippedPasses());
+        assertTrue(sort.passes() > 0);
+        assertEquals((long) length * Long.BYTES + (Integer.BYTES << 8), sort.scratchBytes());
+        assertEquals(1, sort.threads());
+        assertTrue(sort.histogramNanos() >= 0 && sort.scatterNanos() >= 0);
+        assertTrue(sort.totalNanos() >= sort.histogramNanos() + sort.scatterNanos());
+    }
+
+    @Test
+    void reportsThreadsOfParallelSorts() {
+        Radix.setListener(statistics::add);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int length = ParallelLSDSort.MIN_CHUNK * 4;
+            ParallelLSDSort.sort(Inputs.ints(length, 2), 0, length, new int[length], 32, 8, pool);
+        } finally {
+            pool.shutdown();
+        }
+        SortStatistics sort = statistics.get(statistics.size() - 1);
+        assertEquals(SortStatistics.Strategy.PARALLEL_LSD, sort.strategy());
+        assertEquals(4, sort.threads());
+    }
+
+    @Test
+    void reportsStrategies() {
+        Radix.setListener(statistics::add);
+        Radix.sortInPlace(Inputs.longs(10_000, 3));
+        Radix.sort(new byte[10_000]);
+        Radix.sort(new String[]{"b", "a", "c"});
+        assertEquals(List.of(SortStatistics.Strategy.MSD, SortStatistics.Strategy.COUNTING, SortStatistics.Strategy.STRING),
+                statistics.stream().map(SortStatistics::strategy).toList());
+    }
+
+    @Test
+    void recordsFlightRecorderEvents() throws IOException {
+        Path file = directory.resolve("sorts.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("de.tgx03.Sort");
+            recording.start();
+            Radix.sort(Inputs.ints(5000, 4));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("LSD", event.getString("strategy"));
+        assertEquals(5000, event.getLong("size"));
+        assertTrue(event.getInt("passes") > 0);
+    }
+}
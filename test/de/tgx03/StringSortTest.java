@@ -0,0 +1,78 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StringSortTest {
+
+    /**
+     * @param count How many strings to generate
+     * @param seed  The seed of the random generator
+     * @return Strings with long common prefixes, empty strings, duplicates and characters outside of ASCII
+     */
+    private static String[] strings(int count, long seed) {
+        Random random = new Random(seed);
+        String[] prefixes = {"", "a", "abc", "abcabcabcabcabcabc", "ä", "￿", "z"};
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder builder = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+            for (int j = random.nextInt(6); j > 0; j--) {
+                builder.append((char) (random.nextBoolean() ? 'a' + random.nextInt(3) : random.nextInt(Character.MAX_VALUE + 1)));
+            }
+            strings[i] = builder.toString();
+        }
+        return strings;
+    }
+
+    @Test
+    void sortsStringsLikeCompareTo() {
+        for (int length : Inputs.LENGTHS) {
+            String[] source = strings(length, length);
+            String[] expected = source.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, Radix.sort(source), length + " strings");
+        }
+    }
+
+    @Test
+    void sortsCharSequenceLists() {
+        String[] source = strings(5000, 13);
+        List<StringBuilder> list = new LinkedList<>();
+        for (String string : source) {
+            list.add(new StringBuilder(string));
+        }
+        Arrays.sort(source);
+        Radix.sort(list);
+        List<String> sorted = new ArrayList<>();
+        for (StringBuilder builder : list) {
+            sorted.add(builder.toString());
+        }
+        assertEquals(Arrays.asList(source), sorted);
+    }
+
+    @Test
+    void sortsByteArraysUnsigned() {
+        for (int length : Inputs.LENGTHS) {
+            String[] strings = strings(length, length + 1);
+            byte[][] source = new byte[length][];
+            for (int i = 0; i < length; i++) {
+                source[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            }
+            byte[][] expected = source.clone();
+            Arrays.sort(expected, Arrays::compareUnsigned);
+            byte[][] sorted = Radix.sort(source);
+            for (int i = 0; i < length; i++) {
+                assertArrayEquals(expected[i], sorted[i], length + " byte arrays at " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.tgx03;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WideKeyTest {
+
+    /**
+     * A 128 bit number, with the high word ordered as a signed and the low one as an unsigned number
+     */
+    private record Wide(long high, long low, int id) {
+
+        BigInteger value() {
+            return BigInteger.valueOf(high).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(low)));
+        }
+    }
+
+    @Test
+    void sortsByWordsStably() {
+        Random random = new Random(11);
+        long[] words = {Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE};
+        Wide[] source = new Wide[5000];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = new Wide(words[random.nextInt(words.length)], words[random.nextInt(words.length)], i);
+        }
+        Wide[] expected = source.clone();
+        Arrays.sort(expected, Comparator.comparing(Wide::value));
+        assertArrayEquals(expected, Radix.sort(source, 2, (wide, word) -> word == 0 ? wide.high() : wide.low() ^ Long.MIN_VALUE));
+    }
+
+    @Test
+    void sortsByCompositeKeysStably() {
+        Item[] source = Item.of(Inputs.duplicates(10_000, 30, 12));
+        Comparator<Item> order = Comparator.comparingLong((Item item) -> item.key() % 3).thenComparingLong(Item::key);
+        Item[] expected = source.clone();
+        Arrays.sort(expected, order);
+        assertArrayEquals(expected, Radix.sort(source, item -> item.key() % 3, Item::key));
+    }
+
+    @Test
+    void sortsEmptyArrays() {
+        assertArrayEquals(new Item[0], Radix.sort(new Item[0], 3, (item, word) -> item.key()));
+    }
+
+    @Test
+    void rejectsValuesWithoutWords() {
+        assertThrows(IllegalArgumentException.class, () -> Radix.sort(new Item[1], 0, (item, word) -> 0));
+    }
+}
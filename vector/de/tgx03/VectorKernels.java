@@ -0,0 +1,242 @@
+package de.tgx03;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The kernels of {@link Kernels} using the Vector API, which only gets loaded through reflection by {@link Kernels#INSTANCE}.
+ * Keys are transformed a whole vector at a time, without any branches.
+ * To count digits, the digits of a block of elements are extracted into a small array first,
+ * which then gets counted into two histograms alternately, so that runs of equal digits
+ * don't have to wait for the previous increment of the same counter to finish.
+ * Ranges that are too short for the vectors to pay off, as well as the tails of ranges, use the scalar loops.
+ * This class lives in its own source root, as it only compiles with --add-modules jdk.incubator.vector.
+ */
+final class VectorKernels extends Kernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    /**
+     * Ints with as many lanes as {@link #LONGS}, which the digits of longs get narrowed to
+     */
+    private static final VectorSpecies<Integer> LONG_DIGITS = VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    /**
+     * Ranges shorter than this are left to the scalar loops
+     */
+    private static final int MINIMUM = 256;
+    /**
+     * How many digits get extracted before they're counted
+     */
+    private static final int BLOCK = 256;
+    /**
+     * The bits of a float which is NaN if they're above those of infinity
+     */
+    private static final int FLOAT_INFINITY = 0x7F800000;
+    private static final long DOUBLE_INFINITY = 0x7FF0000000000000L;
+    private static final int FLOAT_NAN = Float.floatToIntBits(Float.NaN);
+    private static final long DOUBLE_NAN = Double.doubleToLongBits(Double.NaN);
+
+    VectorKernels() {
+    }
+
+    @Override
+    LSDSort.Plan plan(int[] array, int from, int to, int flip, int bits, int digitBits) {
+        if (to - from < MINIMUM) return super.plan(array, from, to, flip, bits, digitBits);
+        int upper = from + INTS.loopBound(to - from);
+        IntVector or = IntVector.zero(INTS);
+        IntVector and = IntVector.broadcast(INTS, -1);
+        IntVector min = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        IntVector max = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        for (int i = from; i < upper; i += INTS.length()) {
+            IntVector key = IntVector.fromArray(INTS, array, i).lanewise(VectorOperators.XOR, flip).and(bits);
+            or = or.or(key);
+            and = and.and(key);
+            IntVector signed = key.lanewise(VectorOperators.XOR, Integer.MIN_VALUE);
+            min = min.min(signed);
+            max = max.max(signed);
+        }
+        int orKeys = or.reduceLanes(VectorOperators.OR);
+        int andKeys = and.reduceLanes(VectorOperators.AND);
+        int minKey = min.reduceLanes(VectorOperators.MIN) ^ Integer.MIN_VALUE;
+        int maxKey = max.reduceLanes(VectorOperators.MAX) ^ Integer.MIN_VALUE;
+        for (int i = upper; i < to; i++) {
+            int key = (array[i] ^ flip) & bits;
+            orKeys |= key;
+            andKeys &= key;
+            if (Integer.compareUnsigned(key, minKey) < 0) minKey = key;
+            if (Integer.compareUnsigned(key, maxKey) > 0) maxKey = key;
+        }
+        return LSDSort.Plan.of((orKeys ^ andKeys) & 0xFFFFFFFFL, minKey & 0xFFFFFFFFL, maxKey & 0xFFFFFFFFL, digitBits);
+    }
+
+    @Override
+    LSDSort.Plan plan(long[] array, int from, int to, long flip, long bits, int digitBits) {
+        if (to - from < MINIMUM) return super.plan(array, from, to, flip, bits, digitBits);
+        int upper = from + LONGS.loopBound(to - from);
+        LongVector or = LongVector.zero(LONGS);
+        LongVector and = LongVector.broadcast(LONGS, -1);
+        LongVector min = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        LongVector max = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        for (int i = from; i < upper; i += LONGS.length()) {
+            LongVector key = LongVector.fromArray(LONGS, array, i).lanewise(VectorOperators.XOR, flip).and(bits);
+            or = or.or(key);
+            and = and.and(key);
+            LongVector signed = key.lanewise(VectorOperators.XOR, Long.MIN_VALUE);
+            min = min.min(signed);
+            max = max.max(signed);
+        }
+        long orKeys = or.reduceLanes(VectorOperators.OR);
+        long andKeys = and.reduceLanes(VectorOperators.AND);
+        long minKey = min.reduceLanes(VectorOperators.MIN) ^ Long.MIN_VALUE;
+        long maxKey = max.reduceLanes(VectorOperators.MAX) ^ Long.MIN_VALUE;
+        for (int i = upper; i < to; i++) {
+            long key = (array[i] ^ flip) & bits;
+            orKeys |= key;
+            andKeys &= key;
+            if (Long.compareUnsigned(key, minKey) < 0) minKey = key;
+            if (Long.compareUnsigned(key, maxKey) > 0) maxKey = key;
+        }
+        return LSDSort.Plan.of(orKeys ^ andKeys, minKey, maxKey, digitBits);
+    }
+
+    @Override
+    void count(int[] array, int from, int to, int flip, int bits, int base, int shift, int mask, int[] counts) {
+        if (to - from < MINIMUM) {
+            super.count(array, from, to, flip, bits, base, shift, mask, counts);
+            return;
+        }
+        int upper = from + INTS.loopBound(to - from);
+        int[] digits = new int[BLOCK];
+        int[] second = new int[mask + 1];
+        int i = from;
+        while (i < upper) {
+            int end = Math.min(upper, i + BLOCK);
+            int extracted = 0;
+            for (; i < end; i += INTS.length()) {
+                IntVector.fromArray(INTS, array, i)
+                        .lanewise(VectorOperators.XOR, flip)
+                        .and(bits)
+                        .sub(base)
+                        .lanewise(VectorOperators.LSHR, shift)
+                        .and(mask)
+                        .intoArray(digits, extracted);
+                extracted += INTS.length();
+            }
+            count(digits, extracted, counts, second);
+        }
+        super.count(array, upper, to, flip, bits, base, shift, mask, counts);
+        for (int digit = 0; digit <= mask; digit++) {
+            counts[digit] += second[digit];
+        }
+    }
+
+    @Override
+    void count(long[] array, int from, int to, long flip, long bits, long base, int shift, int mask, int[] counts) {
+        if (to - from < MINIMUM) {
+            super.count(array, from, to, flip, bits, base, shift, mask, counts);
+            return;
+        }
+        int upper = from + LONGS.loopBound(to - from);
+        int[] digits = new int[BLOCK];
+        int[] second = new int[mask + 1];
+        int i = from;
+        while (i < upper) {
+            int end = Math.min(upper, i + BLOCK);
+            int extracted = 0;
+            for (; i < end; i += LONGS.length()) {
+                LongVector.fromArray(LONGS, array, i)
+                        .lanewise(VectorOperators.XOR, flip)
+                        .and(bits)
+                        .sub(base)
+                        .lanewise(VectorOperators.LSHR, shift)
+                        .and(mask)
+                        .castShape(LONG_DIGITS, 0)
+                        .reinterpretAsInts()
+                        .intoArray(digits, extracted);
+                extracted += LONGS.length();
+            }
+            count(digits, extracted, counts, second);
+        }
+        super.count(array, upper, to, flip, bits, base, shift, mask, counts);
+        for (int digit = 0; digit <= mask; digit++) {
+            counts[digit] += second[digit];
+        }
+    }
+
+    /**
+     * Counts a block of extracted digits into two histograms alternately
+     *
+     * @param digits The digits
+     * @param length How many digits were extracted
+     * @param first  The histogram of the digits at even positions
+     * @param second The histogram of the digits at odd positions
+     */
+    private static void count(int[] digits, int length, int[] first, int[] second) {
+        int j = 0;
+        for (; j + 1 < length; j += 2) {
+            first[digits[j]]++;
+            second[digits[j + 1]]++;
+        }
+        if (j < length) first[digits[j]]++;
+    }
+
+    @Override
+    void toKeys(float[] source, int from, int to, int[] target, int targetFrom) {
+        int upper = from + FLOATS.loopBound(to - from);
+        int offset = targetFrom - from;
+        for (int i = from; i < upper; i += FLOATS.length()) {
+            IntVector bits = FloatVector.fromArray(FLOATS, source, i).reinterpretAsInts();
+            VectorMask<Integer> nan = bits.and(Integer.MAX_VALUE).compare(VectorOperators.GT, FLOAT_INFINITY);
+            bits = bits.blend(FLOAT_NAN, nan);
+            bits.lanewise(VectorOperators.XOR, bits.lanewise(VectorOperators.ASHR, 31).and(Integer.MAX_VALUE)).intoArray(target, i + offset);
+        }
+        super.toKeys(source, upper, to, target, upper + offset);
+    }
+
+    @Override
+    void toFloats(int[] source, int from, int to, float[] target, int targetFrom) {
+        int upper = from + INTS.loopBound(to - from);
+        int offset = targetFrom - from;
+        for (int i = from; i < upper; i += INTS.length()) {
+            IntVector key = IntVector.fromArray(INTS, source, i);
+            key.lanewise(VectorOperators.XOR, key.lanewise(VectorOperators.ASHR, 31).and(Integer.MAX_VALUE))
+                    .reinterpretAsFloats()
+                    .intoArray(target, i + offset);
+        }
+        super.toFloats(source, upper, to, target, upper + offset);
+    }
+
+    @Override
+    void toKeys(double[] source, int from, int to, long[] target, int targetFrom) {
+        int upper = from + DOUBLES.loopBound(to - from);
+        int offset = targetFrom - from;
+        for (int i = from; i < upper; i += DOUBLES.length()) {
+            LongVector bits = DoubleVector.fromArray(DOUBLES, source, i).reinterpretAsLongs();
+            VectorMask<Long> nan = bits.and(Long.MAX_VALUE).compare(VectorOperators.GT, DOUBLE_INFINITY);
+            bits = bits.blend(DOUBLE_NAN, nan);
+            bits.lanewise(VectorOperators.XOR, bits.lanewise(VectorOperators.ASHR, 63).and(Long.MAX_VALUE)).intoArray(target, i + offset);
+        }
+        super.toKeys(source, upper, to, target, upper + offset);
+    }
+
+    @Override
+    void toDoubles(long[] source, int from, int to, double[] target, int targetFrom) {
+        int upper = from + LONGS.loopBound(to - from);
+        int offset = targetFrom - from;
+        for (int i = from; i < upper; i += LONGS.length()) {
+            LongVector key = LongVector.fromArray(LONGS, source, i);
+            key.lanewise(VectorOperators.XOR, key.lanewise(VectorOperators.ASHR, 63).and(Long.MAX_VALUE))
+                    .reinterpretAsDoubles()
+                    .intoArray(target, i + offset);
+        }
+        super.toDoubles(source, upper, to, target, upper + offset);
+    }
+}